@@ -0,0 +1,69 @@
+package br.com.easypojo2sheet.benchmarks;
+
+import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara tempo e tamanho do arquivo para cada perfil de compressão.
+ * O tamanho gerado aparece na coluna "bytes" (contador auxiliar do JMH).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CompressaoBenchmark {
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"FASTEST", "BALANCED", "SMALLEST", "STORED"})
+    CompressionProfile profile;
+
+    @Param({"POI", "NATIVE"})
+    WriterEngine engine;
+
+    List<SampleData> data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = LocalDate.now().minusDays(i % 365);
+            data.add(new SampleData((long) i, "Item " + i, Math.random() * 1000, date));
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Tamanho {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Benchmark
+    public void exportar(Tamanho tamanho) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExporter.<SampleData>builder()
+                .data(data)
+                .outputStream(out)
+                .engine(engine)
+                .compressionProfile(profile)
+                .build()
+                .export();
+        tamanho.bytes += out.size();
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.easypojo2sheet.benchmarks;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+
+/**
+ * Lançamento financeiro com colunas primitivas, como nas planilhas de extrato e conciliação.
+ */
+@Spreadsheet(name = "Lancamentos", autoSizeColumns = false, freezeHeader = true)
+public record LancamentoData(
+        @SheetColumn(name = "ID", order = 1)
+        long id,
+
+        @SheetColumn(name = "Conta", order = 2)
+        int conta,
+
+        @SheetColumn(name = "Valor", order = 3, numberFormat = "#,##0.00")
+        double valor,
+
+        @SheetColumn(name = "Juros", order = 4, numberFormat = "#,##0.00")
+        double juros,
+
+        @SheetColumn(name = "Parcelas", order = 5)
+        int parcelas,
+
+        @SheetColumn(name = "Saldo", order = 6, numberFormat = "#,##0.00")
+        double saldo
+) {
+}
@@ -0,0 +1,83 @@
+package br.com.easypojo2sheet.benchmarks;
+
+import br.com.easypojo2sheet.api.BatchExportResult;
+import br.com.easypojo2sheet.api.BatchJob;
+import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Muitos workbooks pequenos (um por cliente). SEQUENCIAL_POI e SEQUENCIAL_NATIVE chamam o
+ * ExcelExporter uma vez por workbook; LOTE usa o BatchExporter com o número de threads informado.
+ * O tempo de cada operação cobre todos os workbooks; a vazão em workbooks/s é workbooks / tempo.
+ * Todos os modos escrevem no mesmo destino descartável, para que só a geração seja comparada.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LoteBenchmark {
+
+    @Param({"2000"})
+    int workbooks;
+
+    @Param({"100"})
+    int rowsPerWorkbook;
+
+    @Param({"SEQUENCIAL_POI", "SEQUENCIAL_NATIVE", "LOTE"})
+    String mode;
+
+    @Param({"4"})
+    int threads;
+
+    List<List<SampleData>> customers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        customers = new ArrayList<>(workbooks);
+        for (int c = 0; c < workbooks; c++) {
+            List<SampleData> rows = new ArrayList<>(rowsPerWorkbook);
+            for (int i = 0; i < rowsPerWorkbook; i++) {
+                rows.add(new SampleData((long) i, "Cliente " + c, Math.random() * 1000,
+                        LocalDate.now().minusDays(i % 365)));
+            }
+            customers.add(rows);
+        }
+    }
+
+    @Benchmark
+    public long exportar() {
+        if (mode.equals("LOTE")) {
+            List<BatchJob<SampleData>> jobs = new ArrayList<>(workbooks);
+            for (List<SampleData> rows : customers) {
+                jobs.add(BatchJob.of(OutputStream.nullOutputStream(), rows));
+            }
+            BatchExportResult result = ExcelExporter.batch(SampleData.class)
+                    .threads(threads)
+                    .build()
+                    .export(jobs);
+            return result.getWorkbookCount();
+        }
+
+        WriterEngine engine = mode.equals("SEQUENCIAL_POI") ? WriterEngine.POI : WriterEngine.NATIVE;
+        long exported = 0;
+        for (List<SampleData> rows : customers) {
+            ExcelExporter.<SampleData>builder()
+                    .data(rows)
+                    .outputStream(OutputStream.nullOutputStream())
+                    .engine(engine)
+                    .build()
+                    .export();
+            exported++;
+        }
+        return exported;
+    }
+}
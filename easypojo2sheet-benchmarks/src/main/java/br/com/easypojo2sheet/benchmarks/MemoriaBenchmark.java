@@ -1,6 +1,7 @@
 package br.com.easypojo2sheet.benchmarks;
 
 import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
 import com.alibaba.excel.EasyExcel;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -18,6 +19,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Mede alocação de memória e GC overhead.
+ * <p>
+ * Rodar com {@code -prof gc}: {@code gc.alloc.rate.norm} dividido por {@code rows} dá os bytes
+ * alocados por linha. Os cenários de lançamentos (colunas primitivas) mostram o caminho sem boxing.
  */
 @BenchmarkMode(Mode.SingleShotTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
@@ -31,11 +35,13 @@ public class MemoriaBenchmark {
 
     List<SampleData> data;
     List<AlibabaExcelData> alibabaData;
+    List<LancamentoData> lancamentos;
 
     @Setup(Level.Trial)
     public void setup() {
         data = new ArrayList<>(rows);
         alibabaData = new ArrayList<>(rows);
+        lancamentos = new ArrayList<>(rows);
 
         for (int i = 0; i < rows; i++) {
             LocalDate date = LocalDate.now().minusDays(i % 365);
@@ -44,6 +50,8 @@ public class MemoriaBenchmark {
 
             data.add(new SampleData((long) i, name, value, date));
             alibabaData.add(new AlibabaExcelData((long) i, name, value, date));
+            lancamentos.add(new LancamentoData(i, 1000 + i % 50, Math.round(value * 100) / 100.0,
+                    Math.round(value) / 100.0, 1 + i % 12, value * 10));
         }
     }
 
@@ -61,6 +69,29 @@ public class MemoriaBenchmark {
         return out.toByteArray();
     }
 
+    @Benchmark
+    public byte[] easyPojo2SheetLancamentos() {
+        return lancamentos(WriterEngine.POI);
+    }
+
+    @Benchmark
+    public byte[] easyPojo2SheetLancamentosNativo() {
+        return lancamentos(WriterEngine.NATIVE);
+    }
+
+    private byte[] lancamentos(WriterEngine engine) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExporter.<LancamentoData>builder()
+                .data(lancamentos)
+                .outputStream(out)
+                .engine(engine)
+                .streamingMode(true)
+                .rowAccessWindowSize(100)
+                .build()
+                .export();
+        return out.toByteArray();
+    }
+
     @Benchmark
     public byte[]  APachePOI() throws Exception {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
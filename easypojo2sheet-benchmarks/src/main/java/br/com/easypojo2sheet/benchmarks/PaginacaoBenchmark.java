@@ -0,0 +1,95 @@
+package br.com.easypojo2sheet.benchmarks;
+
+import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.api.ExcelExporterBuilder;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de dados paginados com latência artificial por página (simulando o banco).
+ * SEQUENCIAL busca cada página na thread de escrita; PREFETCH usa o pagedSource, que busca a
+ * próxima página em segundo plano enquanto a atual é escrita.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PaginacaoBenchmark {
+
+    @Param({"20"})
+    int pages;
+
+    @Param({"5000"})
+    int pageSize;
+
+    @Param({"20"})
+    int latencyMillis;
+
+    @Param({"SEQUENCIAL", "PREFETCH"})
+    String mode;
+
+    @Param({"POI", "NATIVE"})
+    WriterEngine engine;
+
+    List<List<SampleData>> data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new ArrayList<>(pages);
+        for (int page = 0; page < pages; page++) {
+            List<SampleData> rows = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                long id = (long) page * pageSize + i;
+                rows.add(new SampleData(id, "Item " + id, Math.random() * 1000, LocalDate.now().minusDays(id % 365)));
+            }
+            data.add(rows);
+        }
+    }
+
+    /**
+     * Página com a latência configurada; após a última, devolve uma página vazia.
+     */
+    private List<SampleData> fetchPage(int page) throws InterruptedException {
+        Thread.sleep(latencyMillis);
+        return page < pages ? data.get(page) : List.of();
+    }
+
+    @Benchmark
+    public int exportar() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExporterBuilder<SampleData> builder = ExcelExporter.<SampleData>builder()
+                .entityClass(SampleData.class)
+                .outputStream(out)
+                .engine(engine);
+
+        if (mode.equals("PREFETCH")) {
+            builder.pagedSource(this::fetchPage);
+        } else {
+            // Mesmas páginas, buscadas sob demanda na thread de escrita
+            builder.data(Stream.iterate(0, page -> page + 1)
+                    .map(this::fetchPageUnchecked)
+                    .takeWhile(rows -> !rows.isEmpty())
+                    .flatMap(List::stream));
+        }
+        builder.build().export();
+        return out.size();
+    }
+
+    private List<SampleData> fetchPageUnchecked(int page) {
+        try {
+            return fetchPage(page);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.easypojo2sheet.benchmarks;
+
+import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de exportações pequenas (relatórios de uma tela, anexos de e-mail). Neste volume o custo
+ * fixo do pacote domina: arquivo temporário do SXSSF, partes estáticas e zip. O modo SampleTime
+ * mostra a distribuição por operação; o p50 é a referência.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PequenaExportacaoBenchmark {
+
+    @Param({"100", "1000"})
+    int rows;
+
+    @Param({"POI", "NATIVE"})
+    WriterEngine engine;
+
+    List<SampleData> data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new SampleData((long) i, "Item " + i, Math.random() * 1000, LocalDate.now().minusDays(i % 365)));
+        }
+    }
+
+    @Benchmark
+    public void exportar(Blackhole bh) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExcelExporter.<SampleData>builder()
+                .data(data)
+                .outputStream(out)
+                .engine(engine)
+                .build()
+                .export();
+
+        bh.consume(out.toByteArray());
+    }
+}
@@ -2,6 +2,7 @@ package br.com.easypojo2sheet.annotation;
 
 import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
 import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import br.com.easypojo2sheet.model.enums.StringStorage;
 import br.com.easypojo2sheet.model.enums.VerticalAlignment;
 
 import java.lang.annotation.*;
@@ -86,4 +87,12 @@ public @interface SheetColumn {
      * @return estratégia de renderização
      */
     ListRenderStrategy listStrategy() default ListRenderStrategy.AGGREGATE;
+
+    /**
+     * Armazenamento dos textos da coluna (engine NATIVE).
+     * Use SHARED para colunas categóricas (ex: status) com poucos valores que se repetem muito.
+     *
+     * @return modo de armazenamento, AUTO para seguir a configuração do exportador
+     */
+    StringStorage stringStorage() default StringStorage.AUTO;
 }
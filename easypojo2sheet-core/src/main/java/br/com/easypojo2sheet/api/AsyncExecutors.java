@@ -0,0 +1,78 @@
+package br.com.easypojo2sheet.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executores usados pelas exportações assíncronas.
+ * <p>
+ * A biblioteca é compilada para o Java 17, então as virtual threads são obtidas por
+ * {@link java.lang.invoke.MethodHandle}: no Java 21+ cada exportação roda em uma virtual thread, e a
+ * espera por disco e pelo OutputStream libera a carrier thread. Em versões anteriores, as exportações
+ * rodam em um pool de threads daemon que cresce sob demanda.
+ */
+final class AsyncExecutors {
+
+    private static final ExecutorService DEFAULT = createDefault();
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * Executor padrão do {@code exportAsync()}: virtual threads quando disponíveis.
+     */
+    static Executor defaultExecutor() {
+        return DEFAULT;
+    }
+
+    /**
+     * Executor que roda cada tarefa em uma nova thread daemon.
+     */
+    static Executor dedicatedThread(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static ExecutorService createDefault() {
+        ExecutorService virtualThreads = virtualThreadExecutor();
+        if (virtualThreads != null) {
+            return virtualThreads;
+        }
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "easypojo2sheet-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, ou null se o JDK não tiver virtual threads.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        MethodHandle factory;
+        try {
+            factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (ReflectiveOperationException e) {
+            // Java < 19: o método não existe
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invokeExact();
+        } catch (UnsupportedOperationException e) {
+            // Java 19/20 sem --enable-preview
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Erro ao criar o executor de virtual threads", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resumo de um lote de exportações.
+ */
+public final class BatchExportResult {
+
+    private final long workbookCount;
+    private final long recordCount;
+    private final List<ExcelExportException> failures;
+    private final Duration elapsed;
+
+    BatchExportResult(long workbookCount, long recordCount, List<ExcelExportException> failures, Duration elapsed) {
+        this.workbookCount = workbookCount;
+        this.recordCount = recordCount;
+        this.failures = List.copyOf(failures);
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Workbooks gravados com sucesso.
+     */
+    public long getWorkbookCount() {
+        return workbookCount;
+    }
+
+    /**
+     * Objetos exportados somando todos os workbooks gravados.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Falhas dos workbooks que não puderam ser gravados; a mensagem identifica o job e a causa é o erro original.
+     * Uma falha não interrompe os demais workbooks.
+     */
+    public List<ExcelExportException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Tempo total do lote, do primeiro job à gravação do último workbook.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Vazão do lote: workbooks gravados por segundo de execução.
+     */
+    public double getWorkbooksPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : workbookCount * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchExportResult{workbookCount=" + workbookCount + ", recordCount=" + recordCount
+                + ", failures=" + failures.size() + ", elapsed=" + elapsed
+                + ", workbooksPerSecond=" + String.format(Locale.ROOT, "%.1f", getWorkbooksPerSecond()) + "}";
+    }
+}
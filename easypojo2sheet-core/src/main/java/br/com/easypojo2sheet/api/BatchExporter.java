@@ -0,0 +1,168 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.core.writer.excel.OoxmlWorkbookWriter;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Exporta muitos workbooks pequenos da mesma entidade (ex: um por cliente), um por {@link BatchJob}.
+ * <p>
+ * Em workbooks de poucas centenas de linhas o custo fixo domina, então o lote paga as partes fixas uma
+ * vez: os metadados são extraídos no build, os workbooks são gerados pelo engine NATIVE (sem
+ * arquivos temporários) e cada thread do pool reaproveita os buffers e os Deflaters entre os seus
+ * workbooks. Os jobs são lidos sob demanda, então o lote pode vir de um Stream com milhares de itens.
+ * <p>
+ * Crie com {@link ExcelExporter#batch(Class)}.
+ */
+public class BatchExporter<T> {
+
+    private final SheetMetadata metadata;
+    private final ExcelWriterOptions options;
+    private final int threads;
+
+    BatchExporter(SheetMetadata metadata, ExcelWriterOptions options, int threads) {
+        this.metadata = metadata;
+        this.options = options;
+        this.threads = threads;
+    }
+
+    /**
+     * Exporta os jobs do Stream, que não é fechado pelo exporter.
+     */
+    public BatchExportResult export(Stream<BatchJob<T>> jobs) throws ExcelExportException {
+        return export(jobs.iterator());
+    }
+
+    public BatchExportResult export(Iterable<BatchJob<T>> jobs) throws ExcelExportException {
+        return export(jobs.iterator());
+    }
+
+    /**
+     * Exporta os jobs nas threads do lote. Falhas de um workbook são registradas no resultado sem
+     * interromper os demais; um erro ao ler os próprios jobs encerra o lote com exceção.
+     *
+     * @return workbooks gravados, registros, falhas e vazão (workbooks por segundo)
+     */
+    public BatchExportResult export(Iterator<BatchJob<T>> jobs) throws ExcelExportException {
+        long start = System.nanoTime();
+        Jobs<T> queue = new Jobs<>(jobs);
+        LongAdder workbooks = new LongAdder();
+        LongAdder records = new LongAdder();
+        ConcurrentLinkedQueue<ExcelExportException> failures = new ConcurrentLinkedQueue<>();
+
+        ExecutorService workers = createWorkers();
+        try {
+            List<Future<?>> running = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                running.add(workers.submit(() -> {
+                    for (Jobs.Next<T> next = queue.next(); next != null; next = queue.next()) {
+                        try {
+                            records.add(exportJob(next.job()));
+                            workbooks.increment();
+                        } catch (IOException | RuntimeException e) {
+                            failures.add(new ExcelExportException(
+                                    "Erro ao exportar o workbook " + next.index() + " (" + next.job() + ")", e));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            // Falhas dos workbooks já viraram failures: sobram Errors e as falhas do iterador de jobs
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ExcelExportException("Erro ao ler os jobs do lote", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelExportException("Exportação do lote interrompida", e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return new BatchExportResult(workbooks.sum(), records.sum(), new ArrayList<>(failures),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Gera um workbook.
+     *
+     * @return objetos exportados
+     */
+    private long exportJob(BatchJob<T> job) throws IOException {
+        if (job == null || job.getData() == null) {
+            throw new ExcelExportException("Job sem dados");
+        }
+        if (job.getOutputFile() == null && job.getOutputStream() == null) {
+            throw new ExcelExportException("Deve especificar outputFile ou outputStream");
+        }
+        CountingIterator<T> rows = new CountingIterator<>(job.getData().iterator());
+        int size = job.getData() instanceof Collection<?> collection ? collection.size() : -1;
+        OoxmlWorkbookWriter workbook = new OoxmlWorkbookWriter(options).addSheet(metadata, rows, size);
+        if (job.getOutputFile() != null) {
+            workbook.saveToFile(job.getOutputFile());
+        } else {
+            workbook.saveToStream(job.getOutputStream());
+        }
+        return rows.getCount();
+    }
+
+    /**
+     * Pool do lote, criado por exportação: as threads (e os buffers que cada uma guarda) terminam com ele.
+     */
+    private ExecutorService createWorkers() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "easypojo2sheet-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Jobs compartilhados pelas threads do lote, numerados na ordem de leitura.
+     */
+    private static final class Jobs<T> {
+        private final Iterator<BatchJob<T>> iterator;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long index;
+
+        private Jobs(Iterator<BatchJob<T>> iterator) {
+            this.iterator = iterator;
+        }
+
+        /**
+         * Próximo job, ou null ao final.
+         */
+        Next<T> next() {
+            lock.lock();
+            try {
+                return iterator.hasNext() ? new Next<>(index++, iterator.next()) : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private record Next<T>(long index, BatchJob<T> job) {
+        }
+    }
+}
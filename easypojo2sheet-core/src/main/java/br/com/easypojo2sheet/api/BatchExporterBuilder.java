@@ -0,0 +1,96 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataRegistry;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+
+/**
+ * Builder para configurar e criar um {@link BatchExporter}.
+ */
+public class BatchExporterBuilder<T> {
+
+    private final Class<T> entityClass;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final ExportSettings settings = new ExportSettings();
+
+    BatchExporterBuilder(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Número de threads que geram os workbooks (padrão: processadores disponíveis).
+     */
+    public BatchExporterBuilder<T> threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Armazenamento dos textos para colunas sem {@code stringStorage} na anotação.
+     */
+    public BatchExporterBuilder<T> stringStorage(StringStorage stringStorage) {
+        settings.stringStorage = stringStorage;
+        return this;
+    }
+
+    /**
+     * Limite de textos distintos na tabela de shared strings de cada workbook.
+     */
+    public BatchExporterBuilder<T> sharedStringsLimit(int limit) {
+        settings.sharedStringsLimit = limit;
+        return this;
+    }
+
+    /**
+     * Perfil de compressão dos workbooks (padrão: BALANCED).
+     */
+    public BatchExporterBuilder<T> compressionProfile(CompressionProfile profile) {
+        settings.compressionProfile = profile;
+        return this;
+    }
+
+    /**
+     * Continua em novas planilhas ("Nome (2)"...) quando o limite de linhas é atingido.
+     */
+    public BatchExporterBuilder<T> sheetRollover(boolean enabled) {
+        settings.sheetRollover = enabled;
+        return this;
+    }
+
+    /**
+     * Limite de linhas por planilha, incluindo header e startRow (padrão: limite do Excel).
+     */
+    public BatchExporterBuilder<T> maxRowsPerSheet(int maxRows) {
+        settings.maxRowsPerSheet = maxRows;
+        return this;
+    }
+
+    /**
+     * Constrói o BatchExporter, extraindo os metadados da entidade uma única vez para todo o lote.
+     */
+    public BatchExporter<T> build() throws ExcelExportException {
+        validate();
+        SheetMetadata metadata = MetadataRegistry.getMetadata(entityClass);
+        ExcelWriterOptions options = settings.writerOptions()
+                // Cada thread do lote reaproveita buffers e Deflaters entre os seus workbooks
+                .reuseBuffers(true)
+                .build();
+        return new BatchExporter<>(metadata, options, threads);
+    }
+
+    /**
+     * Valida as configurações.
+     */
+    private void validate() throws ExcelExportException {
+        if (entityClass == null) {
+            throw new ExcelExportException("EntityClass não pode ser null");
+        }
+        if (threads < 1) {
+            throw new ExcelExportException("Número de threads deve ser maior que zero");
+        }
+        settings.validate();
+    }
+}
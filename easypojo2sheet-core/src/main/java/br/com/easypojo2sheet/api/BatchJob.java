@@ -0,0 +1,51 @@
+package br.com.easypojo2sheet.api;
+
+import java.io.OutputStream;
+
+/**
+ * Um workbook do lote: os dados e o destino (arquivo ou OutputStream).
+ * Um OutputStream informado é descarregado, mas não fechado.
+ */
+public final class BatchJob<T> {
+
+    private final Iterable<T> data;
+    private final String outputFile;
+    private final OutputStream outputStream;
+
+    private BatchJob(Iterable<T> data, String outputFile, OutputStream outputStream) {
+        this.data = data;
+        this.outputFile = outputFile;
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Workbook gravado no arquivo informado.
+     */
+    public static <T> BatchJob<T> of(String outputFile, Iterable<T> data) {
+        return new BatchJob<>(data, outputFile, null);
+    }
+
+    /**
+     * Workbook gravado no OutputStream informado.
+     */
+    public static <T> BatchJob<T> of(OutputStream outputStream, Iterable<T> data) {
+        return new BatchJob<>(data, null, outputStream);
+    }
+
+    public Iterable<T> getData() {
+        return data;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public String toString() {
+        return outputFile != null ? outputFile : "OutputStream";
+    }
+}
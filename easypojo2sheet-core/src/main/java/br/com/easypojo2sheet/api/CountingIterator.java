@@ -0,0 +1,31 @@
+package br.com.easypojo2sheet.api;
+
+import java.util.Iterator;
+
+/**
+ * Conta os objetos consumidos pelo writer.
+ */
+final class CountingIterator<T> implements Iterator<T> {
+    private final Iterator<T> delegate;
+    private long count;
+
+    CountingIterator(Iterator<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return delegate.hasNext();
+    }
+
+    @Override
+    public T next() {
+        T item = delegate.next();
+        count++;
+        return item;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
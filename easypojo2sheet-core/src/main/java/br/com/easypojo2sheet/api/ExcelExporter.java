@@ -1,13 +1,24 @@
 package br.com.easypojo2sheet.api;
 
+import br.com.easypojo2sheet.core.jdbc.ResultSetColumns;
+import br.com.easypojo2sheet.core.jdbc.ResultSetRows;
 import br.com.easypojo2sheet.core.metadata.SheetMetadata;
-import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import br.com.easypojo2sheet.core.processor.MetadataRegistry;
 import br.com.easypojo2sheet.core.writer.Writer;
 import br.com.easypojo2sheet.core.writer.excel.ExcelStreamingWriter;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.core.writer.excel.OoxmlStreamingWriter;
 import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
 
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Classe principal para exportar POJOs para Excel.
@@ -27,30 +38,102 @@ public class ExcelExporter<T> {
         return new ExcelExporterBuilder<>();
     }
 
+    /**
+     * Cria um builder para exportar várias entidades no mesmo arquivo, uma planilha por entidade.
+     */
+    public static WorkbookExporterBuilder workbook() {
+        return new WorkbookExporterBuilder();
+    }
+
+    /**
+     * Cria um builder para exportar muitos workbooks pequenos da entidade, um por {@link BatchJob}.
+     */
+    public static <T> BatchExporterBuilder<T> batch(Class<T> entityClass) {
+        return new BatchExporterBuilder<>(entityClass);
+    }
+
+    /**
+     * Cria um builder que exporta o ResultSet diretamente, sem materializar POJOs: as colunas vêm do
+     * {@link java.sql.ResultSetMetaData} e os valores são lidos com os getters tipados.
+     * O ResultSet é consumido durante o export e não é fechado.
+     */
+    public static ExcelExporterBuilder<Object[]> fromResultSet(ResultSet rs) throws ExcelExportException {
+        return fromResultSet(rs, null, ResultSetRows.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Como {@link #fromResultSet(ResultSet)}, usando a classe anotada com {@code @Spreadsheet} para
+     * sobrescrever nome da planilha e header, ordem e formato das colunas de mesmo nome.
+     */
+    public static ExcelExporterBuilder<Object[]> fromResultSet(ResultSet rs, Class<?> overrides)
+            throws ExcelExportException {
+        return fromResultSet(rs, overrides, ResultSetRows.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Como {@link #fromResultSet(ResultSet, Class)}, com a sugestão de linhas por ida ao banco
+     * ({@link ResultSet#setFetchSize(int)}; 0 mantém o padrão do driver).
+     */
+    public static ExcelExporterBuilder<Object[]> fromResultSet(ResultSet rs, Class<?> overrides, int fetchSize)
+            throws ExcelExportException {
+        if (rs == null) {
+            throw new ExcelExportException("ResultSet não pode ser null");
+        }
+        if (fetchSize < 0) {
+            throw new ExcelExportException("Fetch size não pode ser negativo");
+        }
+        try {
+            SheetMetadata metadata = ResultSetColumns.describe(rs.getMetaData(), overrides);
+            return new ExcelExporterBuilder<Object[]>()
+                    .metadata(metadata)
+                    .data(new ResultSetRows(rs, fetchSize));
+        } catch (SQLException e) {
+            throw new ExcelExportException("Erro ao ler os metadados do ResultSet", e);
+        }
+    }
+
     /**
      * Exporta os dados para Excel.
+     *
+     * @return resumo da exportação (registros, janela usada e tempo)
      */
-    public void export() throws ExcelExportException {
+    public ExportResult export() throws ExcelExportException {
+        long start = System.nanoTime();
+        Iterator<T> rows = config.getSource();
         try {
             List<T> data = config.getData();
-            
-            // Valida limite de linhas (524k)
-            if (data.size() > 1048576) {
+
+            // Obtém metadados da classe (extraídos uma única vez por classe), se não vieram prontos
+            SheetMetadata metadata = config.getMetadata();
+            if (metadata == null) {
+                Class<?> entityClass = config.getEntityClass() != null ? config.getEntityClass() : data.get(0).getClass();
+                metadata = MetadataRegistry.getMetadata(entityClass);
+            }
+
+            // Valida limite de linhas antes de escrever, com a mesma conta do writer: as linhas acima do
+            // header e o próprio header ocupam a planilha. Com rollover os dados continuam em novas
+            // planilhas; dados lidos sob demanda (e listas expandidas) são verificados pelo writer, linha a linha
+            int dataRowsPerSheet = config.getMaxRowsPerSheet() - metadata.getStartRow() - 1;
+            if (data != null && !config.isSheetRollover() && data.size() > dataRowsPerSheet) {
                 throw new ExcelExportException(
-                    "Limite de 1048576 linhas excedido (" + data.size() + " linhas). Considere usar modo streaming ou paginar os dados."
+                    "Limite de " + config.getMaxRowsPerSheet() + " linhas excedido (" + data.size()
+                            + " linhas de dados a partir da linha " + (metadata.getStartRow() + 2)
+                            + "). Considere usar sheetRollover ou paginar os dados."
                 );
             }
 
-            // Extrai metadados da classe
-            Class<?> entityClass = data.get(0).getClass();
-            SheetMetadata metadata = MetadataExtractor.extractMetadata(entityClass);
-
             // TODO: Aplicar override de sheetName se configurado
             // TODO: Aplicar locale para formatação
 
             // Cria writer e escreve
-            Writer writer = new ExcelStreamingWriter(metadata, config.getRowAccessWindowSize());
-            writer.write(data);
+            Writer writer = createWriter(metadata);
+            CountingIterator<T> source = new CountingIterator<>(rows);
+            if (data != null && writer instanceof OoxmlStreamingWriter nativeWriter) {
+                // Com o tamanho conhecido, exportações pequenas são montadas em memória
+                nativeWriter.write(source, data.size());
+            } else {
+                writer.write(source);
+            }
 
             // Salva em arquivo ou stream
             if (config.getOutputFile() != null) {
@@ -59,8 +142,54 @@ public class ExcelExporter<T> {
                 writer.saveToStream(config.getOutputStream());
             }
 
+            int windowSize = 0;
+            int sheetCount;
+            if (writer instanceof ExcelStreamingWriter poiWriter) {
+                windowSize = poiWriter.getWindowSize();
+                sheetCount = poiWriter.getSheetCount();
+            } else {
+                sheetCount = ((OoxmlStreamingWriter) writer).getSheetCount();
+            }
+            return new ExportResult(source.getCount(), windowSize, sheetCount, Duration.ofNanos(System.nanoTime() - start));
+
         } catch (IOException e) {
             throw new ExcelExportException("Erro ao salvar arquivo Excel", e);
+        } finally {
+            // Encerra a busca em segundo plano se a exportação terminou antes do fim das páginas
+            if (rows instanceof PrefetchingPageIterator<?> pages) {
+                pages.close();
+            }
+        }
+    }
+
+    /**
+     * Exporta em segundo plano, no executor padrão: virtual threads no Java 21+ ou, antes disso,
+     * um pool de threads daemon.
+     *
+     * @return future concluído com o resumo da exportação, ou com a {@link ExcelExportException}
+     */
+    public CompletableFuture<ExportResult> exportAsync() {
+        return exportAsync(AsyncExecutors.defaultExecutor());
+    }
+
+    /**
+     * Exporta em segundo plano no executor informado, sem bloquear a thread que chama.
+     *
+     * @return future concluído com o resumo da exportação, ou com a {@link ExcelExportException}
+     */
+    public CompletableFuture<ExportResult> exportAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::export, executor);
+    }
+
+    private Writer createWriter(SheetMetadata metadata) {
+        ExcelWriterOptions options = config.getWriterOptions()
+                // O serializador fundido é cacheado por metadados; os montados a cada exportação não se beneficiam
+                .fusedRowSerializer(config.isFusedRowSerializer() && config.getMetadata() == null)
+                .build();
+
+        if (config.getEngine() == WriterEngine.NATIVE) {
+            return new OoxmlStreamingWriter(metadata, options);
         }
+        return new ExcelStreamingWriter(metadata, options);
     }
 }
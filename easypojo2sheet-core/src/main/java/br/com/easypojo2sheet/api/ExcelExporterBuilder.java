@@ -1,10 +1,21 @@
 package br.com.easypojo2sheet.api;
 
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
 import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
 
 import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Builder para configurar e criar um ExcelExporter.
@@ -12,12 +23,15 @@ import java.util.Locale;
 public class ExcelExporterBuilder<T> {
     
     private List<T> data;
+    private Iterator<T> source;
+    private Class<T> entityClass;
+    private SheetMetadata metadata;
     private String outputFile;
     private OutputStream outputStream;
     private String sheetName;
     private Locale locale;
     private boolean streamingMode;
-    private int rowAccessWindowSize = 100;
+    private ExportSettings settings = new ExportSettings();
 
     ExcelExporterBuilder() {
     }
@@ -27,6 +41,75 @@ public class ExcelExporterBuilder<T> {
      */
     public ExcelExporterBuilder<T> data(List<T> data) {
         this.data = data;
+        this.source = null;
+        return this;
+    }
+
+    /**
+     * Define os dados como um Stream, consumido sob demanda durante a escrita (exige {@link #entityClass}).
+     * O Stream não é fechado pelo exporter.
+     */
+    public ExcelExporterBuilder<T> data(Stream<T> data) {
+        return data(data != null ? data.iterator() : null);
+    }
+
+    /**
+     * Define os dados como um Iterable, percorrido sob demanda durante a escrita (exige {@link #entityClass}
+     * quando não for uma List).
+     */
+    public ExcelExporterBuilder<T> data(Iterable<T> data) {
+        if (data instanceof List<T> list) {
+            return data(list);
+        }
+        return data(data != null ? data.iterator() : null);
+    }
+
+    /**
+     * Define os dados como um Iterator, consumido sob demanda durante a escrita (exige {@link #entityClass}).
+     */
+    public ExcelExporterBuilder<T> data(Iterator<T> data) {
+        this.source = data;
+        this.data = null;
+        return this;
+    }
+
+    /**
+     * Define os dados como um Spliterator, consumido sob demanda durante a escrita (exige {@link #entityClass}).
+     */
+    public ExcelExporterBuilder<T> data(Spliterator<T> data) {
+        return data(data != null ? Spliterators.iterator(data) : null);
+    }
+
+    /**
+     * Define os dados como páginas buscadas sob demanda (exige {@link #entityClass}). A página seguinte
+     * é buscada em uma thread própria enquanto a atual é escrita; no máximo duas ficam em memória.
+     */
+    public ExcelExporterBuilder<T> pagedSource(PageFetcher<T> fetcher) {
+        return pagedSource(fetcher, AsyncExecutors.dedicatedThread("easypojo2sheet-prefetch"));
+    }
+
+    /**
+     * Como {@link #pagedSource(PageFetcher)}, com a busca das páginas no executor informado.
+     */
+    public ExcelExporterBuilder<T> pagedSource(PageFetcher<T> fetcher, Executor executor) {
+        return data(fetcher != null && executor != null ? new PrefetchingPageIterator<>(fetcher, executor) : null);
+    }
+
+    /**
+     * Classe da entidade exportada. Obrigatória para Stream/Iterable/Iterator/Spliterator; com uma
+     * List, evita depender do primeiro elemento e permite exportar apenas o header.
+     */
+    public ExcelExporterBuilder<T> entityClass(Class<T> entityClass) {
+        this.entityClass = entityClass;
+        return this;
+    }
+
+    /**
+     * Metadados prontos da planilha, usados no lugar dos extraídos de {@link #entityClass}
+     * (ex: colunas montadas a partir de um ResultSet).
+     */
+    public ExcelExporterBuilder<T> metadata(SheetMetadata metadata) {
+        this.metadata = metadata;
         return this;
     }
 
@@ -74,7 +157,102 @@ public class ExcelExporterBuilder<T> {
      * Define o tamanho da janela de acesso em modo streaming.
      */
     public ExcelExporterBuilder<T> rowAccessWindowSize(int size) {
-        this.rowAccessWindowSize = size;
+        settings.rowAccessWindowSize = size;
+        return this;
+    }
+
+    /**
+     * Ajusta a janela de linhas em memória durante a escrita conforme a memória livre do heap;
+     * rowAccessWindowSize passa a ser o valor inicial. A janela escolhida é informada no {@link ExportResult}.
+     */
+    public ExcelExporterBuilder<T> adaptiveWindow(boolean enabled) {
+        settings.adaptiveWindow = enabled;
+        return this;
+    }
+
+    /**
+     * Gera um serializador de linha por classe (hidden class) com o tipo de cada coluna já resolvido.
+     * Se a JVM não permitir a geração, o caminho padrão é usado.
+     */
+    public ExcelExporterBuilder<T> fusedRowSerializer(boolean enabled) {
+        settings.fusedRowSerializer = enabled;
+        return this;
+    }
+
+    /**
+     * Define a implementação de escrita (POI por padrão).
+     */
+    public ExcelExporterBuilder<T> engine(WriterEngine engine) {
+        settings.engine = engine;
+        return this;
+    }
+
+    /**
+     * Armazenamento dos textos (engine NATIVE) para colunas sem {@code stringStorage} na anotação.
+     * AUTO usa shared strings nas colunas com muita repetição, detectadas por amostragem.
+     */
+    public ExcelExporterBuilder<T> stringStorage(StringStorage stringStorage) {
+        settings.stringStorage = stringStorage;
+        return this;
+    }
+
+    /**
+     * Limite de textos distintos na tabela de shared strings (engine NATIVE).
+     */
+    public ExcelExporterBuilder<T> sharedStringsLimit(int limit) {
+        settings.sharedStringsLimit = limit;
+        return this;
+    }
+
+    /**
+     * Número de threads para comprimir a planilha (engine NATIVE). Acima de 1, o XML é comprimido
+     * em blocos paralelos, no estilo do pigz.
+     */
+    public ExcelExporterBuilder<T> compressionThreads(int threads) {
+        settings.compressionThreads = threads;
+        return this;
+    }
+
+    /**
+     * Perfil de compressão do arquivo final e dos arquivos temporários (padrão: BALANCED).
+     */
+    public ExcelExporterBuilder<T> compressionProfile(CompressionProfile profile) {
+        settings.compressionProfile = profile;
+        return this;
+    }
+
+    /**
+     * Continua em novas planilhas ("Nome (2)", "Nome (3)"...) com o header repetido quando o
+     * limite de linhas é atingido, em vez de falhar.
+     */
+    public ExcelExporterBuilder<T> sheetRollover(boolean enabled) {
+        settings.sheetRollover = enabled;
+        return this;
+    }
+
+    /**
+     * Máximo de linhas por planilha, contando startRow, header e linhas expandidas
+     * (padrão e máximo: 1.048.576).
+     */
+    public ExcelExporterBuilder<T> maxRowsPerSheet(int maxRows) {
+        settings.maxRowsPerSheet = maxRows;
+        return this;
+    }
+
+    /**
+     * Usa o sistema de datas 1904 no workbook (padrão: 1900).
+     */
+    public ExcelExporterBuilder<T> date1904(boolean enabled) {
+        settings.date1904 = enabled;
+        return this;
+    }
+
+    /**
+     * Fuso em que Date, Instant, OffsetDateTime e ZonedDateTime são escritos. Sem fuso (padrão),
+     * Date e Instant usam o do sistema e OffsetDateTime/ZonedDateTime mantêm a própria hora local.
+     */
+    public ExcelExporterBuilder<T> zoneId(ZoneId zoneId) {
+        settings.zoneId = zoneId;
         return this;
     }
 
@@ -86,13 +264,57 @@ public class ExcelExporterBuilder<T> {
         return new ExcelExporter<>(this);
     }
 
+    /**
+     * Constrói um {@link ExportSubscriber} que exporta os itens de um {@link java.util.concurrent.Flow.Publisher},
+     * pedidos em lotes de {@code batchSize} (exige {@link #entityClass}). A escrita roda em uma thread própria.
+     */
+    public ExportSubscriber<T> buildSubscriber(int batchSize) throws ExcelExportException {
+        return buildSubscriber(batchSize, AsyncExecutors.dedicatedThread("easypojo2sheet-subscriber"));
+    }
+
+    /**
+     * Como {@link #buildSubscriber(int)}, com a escrita no executor informado.
+     */
+    public ExportSubscriber<T> buildSubscriber(int batchSize, Executor executor) throws ExcelExportException {
+        if (batchSize < 1 || batchSize > ExportSubscriber.MAX_BATCH_SIZE) {
+            throw new ExcelExportException("Tamanho do lote deve estar entre 1 e " + ExportSubscriber.MAX_BATCH_SIZE);
+        }
+        if (executor == null) {
+            throw new ExcelExportException("Executor não pode ser null");
+        }
+        // Cada assinante exporta a própria fila; o builder segue com os dados que tinha
+        return new ExportSubscriber<>(batchSize, executor, rows -> copy().data(rows).build());
+    }
+
+    /**
+     * Cópia das configurações, para exportadores que não devem alterar este builder.
+     */
+    private ExcelExporterBuilder<T> copy() {
+        ExcelExporterBuilder<T> copy = new ExcelExporterBuilder<>();
+        copy.data = data;
+        copy.source = source;
+        copy.entityClass = entityClass;
+        copy.metadata = metadata;
+        copy.outputFile = outputFile;
+        copy.outputStream = outputStream;
+        copy.sheetName = sheetName;
+        copy.locale = locale;
+        copy.streamingMode = streamingMode;
+        copy.settings = settings.copy();
+        return copy;
+    }
+
     /**
      * Valida as configurações.
      */
     private void validate() throws ExcelExportException {
-        if (data == null || data.isEmpty()) {
+        if (source == null && (data == null || data.isEmpty() && entityClass == null && metadata == null)) {
             throw new ExcelExportException("Data não pode ser null ou vazio");
         }
+        if (source != null && entityClass == null && metadata == null) {
+            throw new ExcelExportException("EntityClass é obrigatório para dados lidos sob demanda");
+        }
+        settings.validate();
         if (outputFile == null && outputStream == null) {
             throw new ExcelExportException("Deve especificar outputFile ou outputStream");
         }
@@ -103,6 +325,21 @@ public class ExcelExporterBuilder<T> {
         return data;
     }
 
+    /**
+     * Dados a escrever: o iterador informado ou o da List.
+     */
+    Iterator<T> getSource() {
+        return source != null ? source : data.iterator();
+    }
+
+    Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    SheetMetadata getMetadata() {
+        return metadata;
+    }
+
     String getOutputFile() {
         return outputFile;
     }
@@ -123,7 +360,26 @@ public class ExcelExporterBuilder<T> {
         return streamingMode;
     }
 
-    int getRowAccessWindowSize() {
-        return rowAccessWindowSize;
+    boolean isFusedRowSerializer() {
+        return settings.fusedRowSerializer;
+    }
+
+    WriterEngine getEngine() {
+        return settings.engine;
+    }
+
+    boolean isSheetRollover() {
+        return settings.sheetRollover;
+    }
+
+    int getMaxRowsPerSheet() {
+        return settings.maxRowsPerSheet;
+    }
+
+    /**
+     * Opções de escrita configuradas neste builder.
+     */
+    ExcelWriterOptions.Builder getWriterOptions() {
+        return settings.writerOptions();
     }
 }
@@ -0,0 +1,56 @@
+package br.com.easypojo2sheet.api;
+
+import java.time.Duration;
+
+/**
+ * Resumo de uma exportação concluída.
+ */
+public final class ExportResult {
+
+    private final long recordCount;
+    private final int windowSize;
+    private final int sheetCount;
+    private final Duration elapsed;
+
+    ExportResult(long recordCount, int windowSize, int sheetCount, Duration elapsed) {
+        this.recordCount = recordCount;
+        this.windowSize = windowSize;
+        this.sheetCount = sheetCount;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Quantidade de objetos exportados (antes da expansão de listas em linhas).
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Janela de linhas em memória usada pelo engine POI: a configurada ou, com
+     * {@code adaptiveWindow}, a escolhida no último ajuste. Zero no engine NATIVE, que não usa janela.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Planilhas geradas: 1, ou mais quando o {@code sheetRollover} dividiu os dados.
+     */
+    public int getSheetCount() {
+        return sheetCount;
+    }
+
+    /**
+     * Tempo total da exportação, incluindo a gravação do arquivo.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportResult{recordCount=" + recordCount + ", windowSize=" + windowSize
+                + ", sheetCount=" + sheetCount + ", elapsed=" + elapsed + "}";
+    }
+}
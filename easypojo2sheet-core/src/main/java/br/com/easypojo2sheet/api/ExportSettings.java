@@ -0,0 +1,95 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+
+/**
+ * Opções de escrita comuns aos builders de exportação ({@link ExcelExporterBuilder},
+ * {@link WorkbookExporterBuilder} e {@link BatchExporterBuilder}): cada builder expõe os setters
+ * que fazem sentido para ele, mas os valores padrão, a validação e a conversão para
+ * {@link ExcelWriterOptions} ficam em um único lugar.
+ */
+final class ExportSettings {
+
+    WriterEngine engine = WriterEngine.POI;
+    int rowAccessWindowSize = ExcelWriterOptions.DEFAULT_WINDOW_SIZE;
+    boolean adaptiveWindow;
+    boolean fusedRowSerializer;
+    StringStorage stringStorage = StringStorage.INLINE;
+    int sharedStringsLimit = ExcelWriterOptions.DEFAULT_SHARED_STRINGS_LIMIT;
+    Executor sheetExecutor;
+    int compressionThreads = 1;
+    CompressionProfile compressionProfile = CompressionProfile.BALANCED;
+    boolean sheetRollover;
+    int maxRowsPerSheet = ExcelWriterOptions.MAX_ROWS_PER_SHEET;
+    boolean date1904;
+    ZoneId zoneId;
+
+    ExportSettings copy() {
+        ExportSettings copy = new ExportSettings();
+        copy.engine = engine;
+        copy.rowAccessWindowSize = rowAccessWindowSize;
+        copy.adaptiveWindow = adaptiveWindow;
+        copy.fusedRowSerializer = fusedRowSerializer;
+        copy.stringStorage = stringStorage;
+        copy.sharedStringsLimit = sharedStringsLimit;
+        copy.sheetExecutor = sheetExecutor;
+        copy.compressionThreads = compressionThreads;
+        copy.compressionProfile = compressionProfile;
+        copy.sheetRollover = sheetRollover;
+        copy.maxRowsPerSheet = maxRowsPerSheet;
+        copy.date1904 = date1904;
+        copy.zoneId = zoneId;
+        return copy;
+    }
+
+    /**
+     * Valida as opções de escrita.
+     */
+    void validate() throws ExcelExportException {
+        if (engine == null) {
+            throw new ExcelExportException("Engine não pode ser null");
+        }
+        if (stringStorage == null) {
+            throw new ExcelExportException("StringStorage não pode ser null");
+        }
+        if (sharedStringsLimit < 0) {
+            throw new ExcelExportException("Limite de shared strings não pode ser negativo");
+        }
+        if (compressionProfile == null) {
+            throw new ExcelExportException("CompressionProfile não pode ser null");
+        }
+        if (compressionThreads < 1) {
+            throw new ExcelExportException("Número de threads de compressão deve ser maior que zero");
+        }
+        if (maxRowsPerSheet < 2 || maxRowsPerSheet > ExcelWriterOptions.MAX_ROWS_PER_SHEET) {
+            throw new ExcelExportException(
+                    "Máximo de linhas por planilha deve estar entre 2 e " + ExcelWriterOptions.MAX_ROWS_PER_SHEET);
+        }
+    }
+
+    /**
+     * Opções do writer com estes valores; quem chama ainda pode ajustar o builder antes do build.
+     */
+    ExcelWriterOptions.Builder writerOptions() {
+        return ExcelWriterOptions.builder()
+                .windowSize(rowAccessWindowSize)
+                .adaptiveWindow(adaptiveWindow)
+                .fusedRowSerializer(fusedRowSerializer)
+                .stringStorage(stringStorage)
+                .sharedStringsLimit(sharedStringsLimit)
+                .sheetExecutor(sheetExecutor)
+                .compressionThreads(compressionThreads)
+                .compressionProfile(compressionProfile)
+                .sheetRollover(sheetRollover)
+                .maxRowsPerSheet(maxRowsPerSheet)
+                .date1904(date1904)
+                .zoneId(zoneId);
+    }
+}
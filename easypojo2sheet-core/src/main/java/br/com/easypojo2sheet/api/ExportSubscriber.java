@@ -0,0 +1,176 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Exporta os itens recebidos de um {@link Flow.Publisher}, com backpressure.
+ * <p>
+ * A escrita roda no executor e lê os itens de uma fila limitada. A demanda começa com dois lotes e
+ * um novo lote é pedido a cada {@code batchSize} itens consumidos pelo writer, de modo que no máximo
+ * {@code 2 * batchSize} itens ficam em memória e a publicação acompanha o ritmo da escrita e da compressão.
+ * <p>
+ * {@link #getResult()} é concluído depois que o workbook foi gravado no destino; em caso de erro na
+ * escrita a assinatura é cancelada, e um erro do publisher conclui o resultado com exceção.
+ * Crie com {@link ExcelExporterBuilder#buildSubscriber(int)}.
+ */
+public final class ExportSubscriber<T> implements Flow.Subscriber<T> {
+
+    /** Maior lote cuja fila (dois lotes mais o sinal de término) cabe em um int. */
+    static final int MAX_BATCH_SIZE = (Integer.MAX_VALUE - 1) / 2;
+
+    private static final Object COMPLETE = new Object();
+
+    private final int batchSize;
+    private final Executor executor;
+    private final BlockingQueue<Object> queue;
+    private final ExcelExporter<T> exporter;
+    private final CompletableFuture<ExportResult> result = new CompletableFuture<>();
+    // Lock em vez de synchronized: request() executa código do publisher, que pode bloquear, e
+    // um monitor prenderia a carrier thread quando a escrita roda em virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private Flow.Subscription subscription;
+
+    ExportSubscriber(int batchSize, Executor executor, Function<Iterator<T>, ExcelExporter<T>> exporterFactory) {
+        this.batchSize = batchSize;
+        this.executor = executor;
+        // Espaço para a demanda máxima e o sinal de término
+        this.queue = new ArrayBlockingQueue<>(2 * batchSize + 1);
+        this.exporter = exporterFactory.apply(new Rows());
+    }
+
+    /**
+     * Resultado da exportação, concluído após a gravação do workbook.
+     */
+    public CompletableFuture<ExportResult> getResult() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        lock.lock();
+        try {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        } finally {
+            lock.unlock();
+        }
+        request(2L * batchSize);
+        try {
+            executor.execute(this::export);
+        } catch (RuntimeException e) {
+            fail(new ExcelExportException("Erro ao iniciar a exportação", e));
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (result.isDone()) {
+            return;
+        }
+        // A fila comporta toda a demanda pedida; item além dela é violação do protocolo
+        if (!queue.offer(item)) {
+            fail(new IllegalStateException("Publisher enviou mais itens do que a demanda pedida"));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.offer(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(COMPLETE);
+    }
+
+    private void export() {
+        try {
+            result.complete(exporter.export());
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (result.completeExceptionally(error)) {
+            cancel();
+            // Nada mais será enfileirado: acorda o writer, que pode estar esperando na fila,
+            // para que ele encerre e libere a thread e o destino
+            queue.clear();
+            queue.offer(new Failure(error));
+        }
+    }
+
+    private void request(long count) {
+        lock.lock();
+        try {
+            subscription.request(count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel() {
+        lock.lock();
+        try {
+            subscription.cancel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Failure(Throwable error) {
+    }
+
+    /**
+     * Itens na ordem de chegada, lidos pelo writer; pede um novo lote a cada lote consumido.
+     */
+    private final class Rows implements Iterator<T> {
+        private Object next;
+        private int consumed;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExcelExportException("Exportação interrompida", e);
+                }
+            }
+            if (next instanceof Failure failure) {
+                throw new ExcelExportException("Erro no publisher dos dados", failure.error());
+            }
+            return next != COMPLETE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = (T) next;
+            next = null;
+            if (++consumed == batchSize) {
+                consumed = 0;
+                request(batchSize);
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.easypojo2sheet.api;
+
+import java.util.List;
+
+/**
+ * Busca os dados em páginas, por exemplo {@code n -> repository.findPage(n, 5000)}.
+ * <p>
+ * As páginas são pedidas em ordem a partir de 0; uma página vazia (ou null) encerra os dados.
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    List<T> fetchPage(int pageNumber) throws Exception;
+}
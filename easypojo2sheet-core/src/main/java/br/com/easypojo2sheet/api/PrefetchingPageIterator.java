@@ -0,0 +1,146 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Percorre as páginas de um {@link PageFetcher} buscando a próxima página no executor enquanto a
+ * atual é escrita, sobrepondo a latência do banco com a geração do XML e do zip.
+ * <p>
+ * A entrega é feita por uma {@link SynchronousQueue}: a página N+1 só é buscada depois que a N foi
+ * entregue ao writer, então no máximo duas páginas ficam em memória. A busca começa na primeira
+ * leitura; {@link #close()} interrompe a busca quando a exportação termina antes do fim dos dados.
+ * Falhas da busca (inclusive a interrupção da thread do executor) ficam em um campo volatile que o
+ * writer consulta enquanto espera a próxima página, então ele nunca fica esperando uma entrega
+ * que não virá.
+ */
+final class PrefetchingPageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private static final Object END = new Object();
+    private static final long HANDOFF_POLL_MILLIS = 100;
+
+    private final PageFetcher<T> fetcher;
+    private final Executor executor;
+    private final SynchronousQueue<Object> handoff = new SynchronousQueue<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean started;
+    private boolean finished;
+    private volatile boolean closed;
+    private volatile Failure failure;
+
+    PrefetchingPageIterator(PageFetcher<T> fetcher, Executor executor) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                executor.execute(this::fetchPages);
+            }
+            Object page = take();
+            if (page == END) {
+                finished = true;
+                return false;
+            }
+            if (page instanceof Failure failure) {
+                finished = true;
+                throw new ExcelExportException("Erro ao buscar a página " + failure.page(), failure.error());
+            }
+            @SuppressWarnings("unchecked")
+            List<T> rows = (List<T>) page;
+            current = rows.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private Object take() {
+        try {
+            while (true) {
+                Object page = handoff.poll(HANDOFF_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (page != null) {
+                    return page;
+                }
+                if (failure != null) {
+                    return failure;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelExportException("Exportação interrompida", e);
+        }
+    }
+
+    private void fetchPages() {
+        int page = 0;
+        try {
+            for (; !closed; page++) {
+                List<T> rows = fetcher.fetchPage(page);
+                boolean last = rows == null || rows.isEmpty();
+                if (!hand(last ? END : rows)) {
+                    if (!closed) {
+                        failure = new Failure(page, new InterruptedException("Busca das páginas interrompida"));
+                    }
+                    return;
+                }
+                if (last) {
+                    return;
+                }
+            }
+        } catch (Throwable e) {
+            // Publicada no campo, para o writer não ficar esperando uma página que não virá
+            failure = new Failure(page, e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Entrega ao writer, desistindo se a exportação foi encerrada ou a thread foi interrompida.
+     *
+     * @return se o writer recebeu o valor
+     */
+    private boolean hand(Object value) {
+        try {
+            while (!handoff.offer(value, HANDOFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // writer ainda ocupado com a página anterior
+                if (closed) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Failure(int page, Throwable error) {
+    }
+}
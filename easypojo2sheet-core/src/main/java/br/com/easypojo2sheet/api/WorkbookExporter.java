@@ -0,0 +1,117 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.writer.excel.ExcelStreamingWriter;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.core.writer.excel.OoxmlWorkbookWriter;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Exporta várias entidades para o mesmo arquivo, uma planilha por entidade, em uma única escrita.
+ * <p>
+ * Os estilos são compartilhados entre as planilhas (um {@code CellStyleFactory} no engine POI, um
+ * styles.xml no NATIVE), então formatos iguais em entidades diferentes viram um único estilo.
+ * Os dados de cada planilha são consumidos em sequência, na ordem em que foram adicionados.
+ */
+public class WorkbookExporter {
+
+    private final WorkbookExporterBuilder config;
+    private final List<SheetMetadata> metadata;
+
+    WorkbookExporter(WorkbookExporterBuilder config, List<SheetMetadata> metadata) {
+        this.config = config;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Exporta as planilhas.
+     *
+     * @return resumo da exportação (registros de todas as planilhas, planilhas geradas e tempo)
+     */
+    public ExportResult export() throws ExcelExportException {
+        long start = System.nanoTime();
+        ExcelWriterOptions options = config.getWriterOptions();
+        List<SheetSource> sheets = config.getSheets();
+        List<CountingIterator<?>> sources = new ArrayList<>(sheets.size());
+        for (SheetSource sheet : sheets) {
+            sources.add(new CountingIterator<>(sheet.rows()));
+        }
+
+        try {
+            int windowSize = 0;
+            int sheetCount;
+            if (config.getEngine() == WriterEngine.NATIVE) {
+                OoxmlWorkbookWriter workbook = new OoxmlWorkbookWriter(options);
+                for (int i = 0; i < sources.size(); i++) {
+                    workbook.addSheet(metadata.get(i), sources.get(i));
+                }
+                if (config.getOutputFile() != null) {
+                    workbook.saveToFile(config.getOutputFile());
+                } else {
+                    workbook.saveToStream(config.getOutputStream());
+                }
+                sheetCount = workbook.getSheetCount();
+            } else {
+                ExcelStreamingWriter writer = new ExcelStreamingWriter(options);
+                List<String> sheetNames = new ArrayList<>(metadata.size());
+                for (SheetMetadata sheetMetadata : metadata) {
+                    sheetNames.add(sheetMetadata.getSheetName());
+                }
+                writer.reserveSheetNames(sheetNames);
+                try {
+                    for (int i = 0; i < sources.size(); i++) {
+                        writer.writeSheet(metadata.get(i), sources.get(i));
+                    }
+                } catch (ExcelExportException e) {
+                    writer.dispose();
+                    throw e;
+                }
+                if (config.getOutputFile() != null) {
+                    writer.saveToFile(config.getOutputFile());
+                } else {
+                    writer.saveToStream(config.getOutputStream());
+                }
+                windowSize = writer.getWindowSize();
+                sheetCount = writer.getSheetCount();
+            }
+
+            long recordCount = 0;
+            for (CountingIterator<?> source : sources) {
+                recordCount += source.getCount();
+            }
+            return new ExportResult(recordCount, windowSize, sheetCount, Duration.ofNanos(System.nanoTime() - start));
+
+        } catch (IOException e) {
+            throw new ExcelExportException("Erro ao salvar arquivo Excel", e);
+        }
+    }
+
+    /**
+     * Exporta em segundo plano, no executor padrão (virtual threads no Java 21+).
+     */
+    public CompletableFuture<ExportResult> exportAsync() {
+        return exportAsync(AsyncExecutors.defaultExecutor());
+    }
+
+    /**
+     * Exporta em segundo plano no executor informado, sem bloquear a thread que chama.
+     */
+    public CompletableFuture<ExportResult> exportAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::export, executor);
+    }
+
+    /**
+     * Entidade e dados de uma planilha, na ordem em que foram adicionados ao builder.
+     */
+    record SheetSource(Class<?> entityClass, Iterator<?> rows) {
+    }
+}
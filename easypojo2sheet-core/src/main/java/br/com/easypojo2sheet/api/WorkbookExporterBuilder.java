@@ -0,0 +1,248 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataRegistry;
+import br.com.easypojo2sheet.core.writer.excel.ExcelWriterOptions;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Builder para configurar e criar um {@link WorkbookExporter}: várias entidades, cada uma em sua
+ * planilha, no mesmo arquivo.
+ */
+public class WorkbookExporterBuilder {
+
+    private final List<WorkbookExporter.SheetSource> sheets = new ArrayList<>();
+    private String outputFile;
+    private OutputStream outputStream;
+    private final ExportSettings settings = new ExportSettings();
+
+    WorkbookExporterBuilder() {
+    }
+
+    /**
+     * Adiciona uma planilha com os dados da entidade, na ordem das chamadas.
+     */
+    public <T> WorkbookExporterBuilder sheet(Class<T> entityClass, List<T> data) {
+        return sheet(entityClass, data != null ? data.iterator() : null);
+    }
+
+    /**
+     * Adiciona uma planilha com um Stream consumido sob demanda durante a escrita (não é fechado pelo exporter).
+     */
+    public <T> WorkbookExporterBuilder sheet(Class<T> entityClass, Stream<T> data) {
+        return sheet(entityClass, data != null ? data.iterator() : null);
+    }
+
+    /**
+     * Adiciona uma planilha com um Iterable percorrido sob demanda durante a escrita.
+     */
+    public <T> WorkbookExporterBuilder sheet(Class<T> entityClass, Iterable<T> data) {
+        return sheet(entityClass, data != null ? data.iterator() : null);
+    }
+
+    /**
+     * Adiciona uma planilha com um Iterator consumido sob demanda durante a escrita.
+     */
+    public <T> WorkbookExporterBuilder sheet(Class<T> entityClass, Iterator<T> data) {
+        sheets.add(new WorkbookExporter.SheetSource(entityClass, data));
+        return this;
+    }
+
+    /**
+     * Define o caminho do arquivo de saída.
+     */
+    public WorkbookExporterBuilder outputFile(String filePath) {
+        this.outputFile = filePath;
+        return this;
+    }
+
+    /**
+     * Define o OutputStream de saída.
+     */
+    public WorkbookExporterBuilder outputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        return this;
+    }
+
+    /**
+     * Define o tamanho da janela de acesso do engine POI.
+     */
+    public WorkbookExporterBuilder rowAccessWindowSize(int size) {
+        settings.rowAccessWindowSize = size;
+        return this;
+    }
+
+    /**
+     * Ajusta a janela de linhas em memória do engine POI conforme a memória livre do heap;
+     * rowAccessWindowSize passa a ser o valor inicial.
+     */
+    public WorkbookExporterBuilder adaptiveWindow(boolean enabled) {
+        settings.adaptiveWindow = enabled;
+        return this;
+    }
+
+    /**
+     * Gera um serializador de linha por classe (hidden class), como no {@link ExcelExporterBuilder}.
+     */
+    public WorkbookExporterBuilder fusedRowSerializer(boolean enabled) {
+        settings.fusedRowSerializer = enabled;
+        return this;
+    }
+
+    /**
+     * Define a implementação de escrita (POI por padrão).
+     */
+    public WorkbookExporterBuilder engine(WriterEngine engine) {
+        settings.engine = engine;
+        return this;
+    }
+
+    /**
+     * Armazenamento dos textos (engine NATIVE) para colunas sem {@code stringStorage} na anotação.
+     */
+    public WorkbookExporterBuilder stringStorage(StringStorage stringStorage) {
+        settings.stringStorage = stringStorage;
+        return this;
+    }
+
+    /**
+     * Limite de textos distintos na tabela de shared strings (engine NATIVE), compartilhada pelas planilhas.
+     */
+    public WorkbookExporterBuilder sharedStringsLimit(int limit) {
+        settings.sharedStringsLimit = limit;
+        return this;
+    }
+
+    /**
+     * Gera as planilhas em paralelo nesse executor (engine NATIVE); o arquivo continua sendo montado
+     * na ordem em que foram adicionadas.
+     */
+    public WorkbookExporterBuilder sheetExecutor(Executor executor) {
+        settings.sheetExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Número de threads para comprimir cada planilha (engine NATIVE).
+     */
+    public WorkbookExporterBuilder compressionThreads(int threads) {
+        settings.compressionThreads = threads;
+        return this;
+    }
+
+    /**
+     * Perfil de compressão do arquivo final e dos arquivos temporários (padrão: BALANCED).
+     */
+    public WorkbookExporterBuilder compressionProfile(CompressionProfile profile) {
+        settings.compressionProfile = profile;
+        return this;
+    }
+
+    /**
+     * Continua cada entidade em novas planilhas ("Nome (2)"...) quando o limite de linhas é atingido.
+     */
+    public WorkbookExporterBuilder sheetRollover(boolean enabled) {
+        settings.sheetRollover = enabled;
+        return this;
+    }
+
+    /**
+     * Limite de linhas por planilha, incluindo header e startRow (padrão: limite do Excel).
+     */
+    public WorkbookExporterBuilder maxRowsPerSheet(int maxRows) {
+        settings.maxRowsPerSheet = maxRows;
+        return this;
+    }
+
+    /**
+     * Usa o sistema de datas 1904 no workbook (padrão: 1900).
+     */
+    public WorkbookExporterBuilder date1904(boolean enabled) {
+        settings.date1904 = enabled;
+        return this;
+    }
+
+    /**
+     * Fuso em que Date, Instant, OffsetDateTime e ZonedDateTime são escritos. Sem fuso (padrão),
+     * Date e Instant usam o do sistema e OffsetDateTime/ZonedDateTime mantêm a própria hora local.
+     */
+    public WorkbookExporterBuilder zoneId(ZoneId zoneId) {
+        settings.zoneId = zoneId;
+        return this;
+    }
+
+    /**
+     * Constrói o WorkbookExporter, resolvendo os metadados de cada planilha.
+     */
+    public WorkbookExporter build() throws ExcelExportException {
+        validate();
+
+        List<SheetMetadata> metadata = new ArrayList<>(sheets.size());
+        Set<String> names = new HashSet<>();
+        for (WorkbookExporter.SheetSource sheet : sheets) {
+            SheetMetadata sheetMetadata = MetadataRegistry.getMetadata(sheet.entityClass());
+            // O Excel não diferencia maiúsculas de minúsculas nos nomes das planilhas
+            if (!names.add(sheetMetadata.getSheetName().toUpperCase(Locale.ROOT))) {
+                throw new ExcelExportException("Nome de planilha duplicado: " + sheetMetadata.getSheetName());
+            }
+            metadata.add(sheetMetadata);
+        }
+        return new WorkbookExporter(this, metadata);
+    }
+
+    /**
+     * Valida as configurações.
+     */
+    private void validate() throws ExcelExportException {
+        if (sheets.isEmpty()) {
+            throw new ExcelExportException("Nenhuma planilha adicionada");
+        }
+        for (WorkbookExporter.SheetSource sheet : sheets) {
+            if (sheet.entityClass() == null) {
+                throw new ExcelExportException("EntityClass não pode ser null");
+            }
+            if (sheet.rows() == null) {
+                throw new ExcelExportException("Data não pode ser null na planilha de " + sheet.entityClass().getSimpleName());
+            }
+        }
+        settings.validate();
+        if (outputFile == null && outputStream == null) {
+            throw new ExcelExportException("Deve especificar outputFile ou outputStream");
+        }
+    }
+
+    // Getters para WorkbookExporter acessar
+    List<WorkbookExporter.SheetSource> getSheets() {
+        return sheets;
+    }
+
+    String getOutputFile() {
+        return outputFile;
+    }
+
+    OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    WriterEngine getEngine() {
+        return settings.engine;
+    }
+
+    ExcelWriterOptions getWriterOptions() {
+        return settings.writerOptions().build();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.easypojo2sheet.core.jdbc;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Leitura de uma coluna do ResultSet com o getter tipado correspondente ao tipo SQL,
+ * sem passar por {@code getObject} e pela conversão genérica do driver.
+ */
+enum ColumnReader {
+    BOOLEAN(Boolean.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            boolean value = rs.getBoolean(index);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    LONG(Long.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            long value = rs.getLong(index);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    DOUBLE(Double.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            double value = rs.getDouble(index);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    DATE(LocalDate.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            Date value = rs.getDate(index);
+            return value != null ? value.toLocalDate() : null;
+        }
+    },
+    TIMESTAMP(LocalDateTime.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            Timestamp value = rs.getTimestamp(index);
+            return value != null ? value.toLocalDateTime() : null;
+        }
+    },
+    STRING(String.class) {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getString(index);
+        }
+    };
+
+    private final Class<?> valueType;
+
+    ColumnReader(Class<?> valueType) {
+        this.valueType = valueType;
+    }
+
+    /**
+     * Tipo Java entregue ao writer (usado como valueType da coluna).
+     */
+    Class<?> valueType() {
+        return valueType;
+    }
+
+    abstract Object read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * Leitor para um tipo de {@link Types}; tipos sem equivalente no Excel (TIME, binários...) são lidos como texto.
+     */
+    static ColumnReader of(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIT, Types.BOOLEAN -> BOOLEAN;
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> LONG;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE, Types.NUMERIC, Types.DECIMAL -> DOUBLE;
+            case Types.DATE -> DATE;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> TIMESTAMP;
+            default -> STRING;
+        };
+    }
+}
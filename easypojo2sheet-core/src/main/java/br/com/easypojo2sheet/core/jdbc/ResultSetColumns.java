@@ -0,0 +1,102 @@
+package br.com.easypojo2sheet.core.jdbc;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataRegistry;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Monta os metadados da planilha a partir do {@link ResultSetMetaData}, sem uma classe de entidade.
+ * <p>
+ * Cada linha é um {@code Object[]} (ver {@link ResultSetRows}) e a coluna N lê a posição N do array.
+ * O header é o label da coluna no SQL e o tipo vem do tipo SQL. Uma classe anotada com
+ * {@code @Spreadsheet} pode ser usada para sobrescrever nome da planilha, header, ordem, largura,
+ * formatos e alinhamento: cada {@code @SheetColumn} vale para a coluna de mesmo nome, ignorando
+ * maiúsculas e '_' ({@code valorTotal} corresponde a {@code VALOR_TOTAL}).
+ */
+public final class ResultSetColumns {
+
+    /** Nome da planilha quando o driver não informa a tabela e não há classe de overrides. */
+    static final String DEFAULT_SHEET_NAME = "Dados";
+
+    private ResultSetColumns() {
+    }
+
+    /**
+     * Metadados das colunas do ResultSet.
+     *
+     * @param overrides classe anotada com {@code @Spreadsheet}, ou null
+     */
+    public static SheetMetadata describe(ResultSetMetaData meta, Class<?> overrides) throws ExcelExportException {
+        try {
+            SheetMetadata annotated = overrides != null ? MetadataRegistry.getMetadata(overrides) : null;
+            Map<String, ColumnMetadata> annotatedColumns = annotatedColumns(annotated);
+
+            List<ColumnMetadata> columns = new ArrayList<>(meta.getColumnCount());
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String label = meta.getColumnLabel(i);
+                ColumnReader reader = ColumnReader.of(meta.getColumnType(i));
+                int position = i - 1;
+                ColumnMetadata.Builder column = ColumnMetadata.builder()
+                        .columnName(label)
+                        .valueType(reader.valueType())
+                        .accessor(row -> ((Object[]) row)[position]);
+                applyOverride(column, annotatedColumns.get(normalize(label)));
+                columns.add(column.build());
+            }
+            // Sort estável: colunas sem order na anotação ficam depois das demais, na ordem do SELECT
+            columns.sort(Comparator.comparingInt(ColumnMetadata::getOrder));
+
+            if (annotated != null) {
+                return new SheetMetadata(Object[].class, annotated.getSheetName(), annotated.isAutoSizeColumns(),
+                        annotated.isFreezeHeader(), annotated.getStartRow(), Collections.unmodifiableList(columns));
+            }
+            String table = meta.getColumnCount() > 0 ? meta.getTableName(1) : null;
+            String sheetName = table == null || table.isBlank() ? DEFAULT_SHEET_NAME : table;
+            return new SheetMetadata(Object[].class, sheetName, false, false, 0, Collections.unmodifiableList(columns));
+        } catch (SQLException e) {
+            throw new ExcelExportException("Erro ao ler os metadados do ResultSet", e);
+        }
+    }
+
+    private static Map<String, ColumnMetadata> annotatedColumns(SheetMetadata annotated) {
+        Map<String, ColumnMetadata> columns = new HashMap<>();
+        if (annotated != null) {
+            for (ColumnMetadata column : annotated.getColumns()) {
+                String name = column.getField() != null ? column.getField().getName() : column.getColumnName();
+                columns.put(normalize(name), column);
+            }
+        }
+        return columns;
+    }
+
+    private static void applyOverride(ColumnMetadata.Builder column, ColumnMetadata annotated) {
+        if (annotated == null) {
+            return;
+        }
+        column.columnName(annotated.getColumnName())
+                .width(annotated.getWidth())
+                .dateFormat(annotated.getDateFormat())
+                .numberFormat(annotated.getNumberFormat())
+                .align(annotated.getHorizontalAlignment())
+                .valign(annotated.getVerticalAlignment())
+                .stringStorage(annotated.getStringStorage());
+        if (annotated.getOrder() != Integer.MAX_VALUE) {
+            column.order(annotated.getOrder());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.easypojo2sheet.core.jdbc;
+
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Percorre um ResultSet entregando cada linha como {@code Object[]}, na ordem das colunas do SELECT,
+ * lida com o getter tipado de cada coluna ({@code getLong}, {@code getDouble}, {@code getTimestamp}...).
+ * <p>
+ * O mesmo array é reaproveitado a cada linha: ele só é válido até a próxima chamada de {@link #next()},
+ * o que basta para os writers, que escrevem a linha antes de pedir a seguinte. O ResultSet não é
+ * fechado aqui; isso fica com quem o abriu.
+ */
+public final class ResultSetRows implements Iterator<Object[]> {
+
+    /** Linhas buscadas por ida ao banco quando nenhum valor é informado. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final ResultSet rs;
+    private final ColumnReader[] readers;
+    private final Object[] row;
+    private boolean fetched;
+    private boolean hasRow;
+
+    /**
+     * @param fetchSize sugestão de linhas por ida ao banco, aplicada com {@link ResultSet#setFetchSize(int)}
+     */
+    public ResultSetRows(ResultSet rs, int fetchSize) throws ExcelExportException {
+        this.rs = rs;
+        try {
+            ResultSetMetaData meta = rs.getMetaData();
+            this.readers = new ColumnReader[meta.getColumnCount()];
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = ColumnReader.of(meta.getColumnType(i + 1));
+            }
+            rs.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            throw new ExcelExportException("Erro ao ler os metadados do ResultSet", e);
+        }
+        this.row = new Object[readers.length];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            try {
+                hasRow = rs.next();
+            } catch (SQLException e) {
+                throw new ExcelExportException("Erro ao ler o ResultSet", e);
+            }
+            fetched = true;
+        }
+        return hasRow;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        try {
+            for (int i = 0; i < readers.length; i++) {
+                row[i] = readers[i].read(rs, i + 1);
+            }
+        } catch (SQLException e) {
+            throw new ExcelExportException("Erro ao ler o ResultSet", e);
+        }
+        return row;
+    }
+}
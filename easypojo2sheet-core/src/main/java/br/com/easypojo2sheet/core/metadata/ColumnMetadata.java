@@ -1,7 +1,9 @@
 package br.com.easypojo2sheet.core.metadata;
 
+import br.com.easypojo2sheet.core.util.PropertyPath;
 import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
 import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import br.com.easypojo2sheet.model.enums.StringStorage;
 import br.com.easypojo2sheet.model.enums.VerticalAlignment;
 
 import java.lang.reflect.Field;
@@ -14,6 +16,7 @@ import java.util.List;
 public class ColumnMetadata {
     private final Field field;
     private final Method method;
+    private final boolean methodColumn;
     private final String columnName;
     private final int order;
     private final int width;
@@ -25,30 +28,71 @@ public class ColumnMetadata {
     private final String separator;
     private final boolean isListField;
     private final ListRenderStrategy listStrategy;
+    private final ValueAccessor accessor;
+    private final DoubleAccessor doubleAccessor;
+    private final PropertyPath compiledPath;
+    private final Class<?> valueType;
+    private final ValueKind valueKind;
+    private final StringStorage stringStorage;
 
     public ColumnMetadata(Field field, String columnName, int order, int width,
                           String propertyPath, String dateFormat, String numberFormat,
                           HorizontalAlignment horizontalAlignment, VerticalAlignment verticalAlignment,
                           String separator,ListRenderStrategy listStrategy,Method method) {
-        this.field = field;
-        this.columnName = columnName;
-        this.order = order;
-        this.width = width;
-        this.propertyPath = propertyPath;
-        this.dateFormat = dateFormat;
-        this.numberFormat = numberFormat;
-        this.horizontalAlignment = horizontalAlignment;
-        this.verticalAlignment = verticalAlignment;
-        this.separator = separator;
-        this.listStrategy = listStrategy;
-        this.method = method;
-
-        if (method != null) {
-            this.isListField = List.class.isAssignableFrom(method.getReturnType());
+        this(builder()
+                .field(field)
+                .columnName(columnName)
+                .order(order)
+                .width(width)
+                .propertyPath(propertyPath)
+                .dateFormat(dateFormat)
+                .numberFormat(numberFormat)
+                .align(horizontalAlignment)
+                .valign(verticalAlignment)
+                .separator(separator)
+                .listStrategy(listStrategy)
+                .method(method));
+    }
+
+    private ColumnMetadata(Builder builder) {
+        this.field = builder.field;
+        this.columnName = builder.columnName;
+        this.order = builder.order;
+        this.width = builder.width;
+        this.propertyPath = builder.propertyPath;
+        this.dateFormat = builder.dateFormat;
+        this.numberFormat = builder.numberFormat;
+        this.horizontalAlignment = builder.align;
+        this.verticalAlignment = builder.valign;
+        this.separator = builder.separator;
+        this.listStrategy = builder.listStrategy;
+        this.method = builder.method;
+        this.methodColumn = builder.method != null || builder.methodColumn;
+        this.stringStorage = builder.stringStorage;
+        // Accessor informado (ex: código gerado) tem prioridade sobre o criado a partir do campo/método
+        this.accessor = builder.accessor != null ? builder.accessor : ValueAccessors.of(field, method);
+        this.compiledPath = hasPropertyPath() ? PropertyPath.compile(propertyPath) : null;
+
+        if (builder.valueType != null) {
+            this.valueType = builder.valueType;
+        } else if (method != null) {
+            this.valueType = method.getReturnType();
         } else if (field != null) {
-            this.isListField = List.class.isAssignableFrom(field.getType());
+            this.valueType = field.getType();
         } else {
-            this.isListField = false;
+            this.valueType = Object.class;
+        }
+        this.isListField = List.class.isAssignableFrom(this.valueType);
+        // Com property o valor vem da navegação, não do tipo declarado
+        this.valueKind = hasPropertyPath() || isListField ? ValueKind.DYNAMIC : ValueKind.ofDeclaredType(this.valueType);
+        // Caminho primitivo só quando o valor da célula é o próprio campo/método; com accessor
+        // informado, o do campo poderia divergir dele
+        if (hasPropertyPath()) {
+            this.doubleAccessor = null;
+        } else if (builder.doubleAccessor != null) {
+            this.doubleAccessor = builder.doubleAccessor;
+        } else {
+            this.doubleAccessor = builder.accessor == null ? ValueAccessors.forDouble(field, method) : null;
         }
     }
 
@@ -56,19 +100,64 @@ public class ColumnMetadata {
         return field;
     }
 
+    /**
+     * Indica se a coluna vem de um método (o property, se houver, navega no retorno do método).
+     */
     public boolean isMethod() {
-        return method != null;
+        return methodColumn;
     }
+
+    /**
+     * Extrai o valor da coluna usando o accessor pré-construído.
+     */
     public Object extractValue(Object instance) throws Exception {
-        if (instance == null) {
+        if (instance == null || accessor == null) {
             return null;
         }
+        return accessor.get(instance);
+    }
+
+    public ValueAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * Indica se a coluna é de um primitivo numérico e pode ser lida com {@link #extractDouble(Object)}.
+     */
+    public boolean hasDoubleAccessor() {
+        return doubleAccessor != null;
+    }
 
-        if(method != null) {
-            return method.invoke(instance);
+    /**
+     * Extrai o valor de uma coluna primitiva numérica como double, sem boxing.
+     *
+     * @param instance objeto de origem (nunca null)
+     * @throws IllegalStateException se a coluna não tiver accessor primitivo
+     */
+    public double extractDouble(Object instance) {
+        if (doubleAccessor == null) {
+            throw new IllegalStateException("Coluna '" + columnName + "' não é primitiva numérica");
         }
-        field.setAccessible(true);
-        return field.get(instance);
+        return doubleAccessor.getDouble(instance);
+    }
+
+    public DoubleAccessor getDoubleAccessor() {
+        return doubleAccessor;
+    }
+
+    /**
+     * Tipo declarado do campo ou retorno do método (ou informado no builder).
+     */
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Tipo de valor das células, resolvido pelo tipo declarado ({@link ValueKind#DYNAMIC} se
+     * depender de cada valor).
+     */
+    public ValueKind getValueKind() {
+        return valueKind;
     }
 
     public String getColumnName() {
@@ -107,6 +196,13 @@ public class ColumnMetadata {
         return propertyPath != null && !propertyPath.isEmpty();
     }
 
+    /**
+     * Caminho de propriedade já compilado, ou null se a coluna não usa property.
+     */
+    public PropertyPath getCompiledPath() {
+        return compiledPath;
+    }
+
     public String getSeparator() {
         return separator;
     }
@@ -119,6 +215,10 @@ public class ColumnMetadata {
         return listStrategy;
     }
 
+    public StringStorage getStringStorage() {
+        return stringStorage;
+    }
+
     public boolean shouldExpandRows() {
         return isListField && (listStrategy == ListRenderStrategy.EXPAND_ROWS || listStrategy == ListRenderStrategy.EXPAND_ROWS_WITH_MERGED_ROWS);
     }
@@ -144,6 +244,11 @@ public class ColumnMetadata {
         private VerticalAlignment valign = VerticalAlignment.CENTER;
         private ListRenderStrategy listStrategy = ListRenderStrategy.AGGREGATE;
         private Method method;
+        private ValueAccessor accessor;
+        private DoubleAccessor doubleAccessor;
+        private Class<?> valueType;
+        private boolean methodColumn;
+        private StringStorage stringStorage = StringStorage.AUTO;
 
         public Builder field(Field field) {
             this.field = field;
@@ -205,9 +310,40 @@ public class ColumnMetadata {
             return this;
         }
 
+        public Builder accessor(ValueAccessor accessor) {
+            this.accessor = accessor;
+            return this;
+        }
+
+        /**
+         * Accessor primitivo da coluna (ex: código gerado para campos {@code double}/{@code long}).
+         */
+        public Builder doubleAccessor(DoubleAccessor doubleAccessor) {
+            this.doubleAccessor = doubleAccessor;
+            return this;
+        }
+
+        public Builder valueType(Class<?> valueType) {
+            this.valueType = valueType;
+            return this;
+        }
+
+        /**
+         * Marca a coluna como originada de um método quando não há {@link Method} disponível
+         * (ex: metadados gerados em tempo de compilação).
+         */
+        public Builder methodColumn(boolean methodColumn) {
+            this.methodColumn = methodColumn;
+            return this;
+        }
+
+        public Builder stringStorage(StringStorage stringStorage) {
+            this.stringStorage = stringStorage;
+            return this;
+        }
+
         public ColumnMetadata build() {
-            return new ColumnMetadata(field, columnName, order, width, propertyPath,
-                    dateFormat, numberFormat, align, valign,separator,listStrategy,method);
+            return new ColumnMetadata(this);
         }
     }
 
@@ -0,0 +1,21 @@
+package br.com.easypojo2sheet.core.metadata;
+
+/**
+ * Acesso pré-resolvido a uma coluna de tipo primitivo numérico, lido como double sem boxing.
+ * <p>
+ * Criado junto com o {@link ValueAccessor} para campos e métodos declarados como {@code double},
+ * {@code float}, {@code long}, {@code int}, {@code short} ou {@code byte} (ver
+ * {@link ValueAccessors#forDouble}); os writers o usam para escrever as células numéricas sem
+ * alocar um wrapper por valor.
+ */
+@FunctionalInterface
+public interface DoubleAccessor {
+
+    /**
+     * Lê o valor da coluna no objeto informado, convertido para double como em
+     * {@code Number.doubleValue()}.
+     *
+     * @param instance objeto de origem (nunca null)
+     */
+    double getDouble(Object instance);
+}
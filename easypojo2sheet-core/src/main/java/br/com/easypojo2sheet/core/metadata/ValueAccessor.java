@@ -0,0 +1,19 @@
+package br.com.easypojo2sheet.core.metadata;
+
+/**
+ * Acesso pré-resolvido ao valor de uma coluna.
+ * <p>
+ * Instâncias são criadas uma única vez na extração dos metadados (ver {@link ValueAccessors}),
+ * de modo que a leitura de cada célula é uma chamada direta, sem reflection.
+ */
+@FunctionalInterface
+public interface ValueAccessor {
+
+    /**
+     * Lê o valor da coluna no objeto informado.
+     *
+     * @param instance objeto de origem (nunca null)
+     * @return o valor da coluna, possivelmente null
+     */
+    Object get(Object instance);
+}
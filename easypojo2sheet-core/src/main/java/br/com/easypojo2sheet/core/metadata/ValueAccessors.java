@@ -0,0 +1,271 @@
+package br.com.easypojo2sheet.core.metadata;
+
+import br.com.easypojo2sheet.exception.PropertyExtractionException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Fábrica de {@link ValueAccessor} a partir de campos e métodos.
+ * <p>
+ * A estratégia é escolhida uma única vez, na extração dos metadados:
+ * <ol>
+ *     <li>Métodos (getters e acessores de records): classe gerada via {@link LambdaMetafactory},
+ *     equivalente a uma method reference escrita à mão;</li>
+ *     <li>Campos: {@link MethodHandle} de leitura obtido com {@code privateLookupIn};</li>
+ *     <li>Se o módulo da entidade não permitir nenhum dos dois, reflection tradicional com
+ *     {@code setAccessible} feito uma única vez.</li>
+ * </ol>
+ * Colunas declaradas como primitivo numérico recebem também um {@link DoubleAccessor}, criado da
+ * mesma forma, que lê o valor como double sem passar pelo wrapper.
+ */
+public final class ValueAccessors {
+
+    private static final MethodType ACCESSOR_SIGNATURE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType ACCESSOR_FACTORY = MethodType.methodType(ValueAccessor.class);
+    private static final MethodType DOUBLE_SIGNATURE = MethodType.methodType(double.class, Object.class);
+    private static final MethodType DOUBLE_FACTORY = MethodType.methodType(DoubleAccessor.class);
+
+    private ValueAccessors() {
+    }
+
+    /**
+     * Cria o accessor de uma coluna a partir do método (prioritário) ou do campo.
+     *
+     * @return o accessor, ou null se ambos forem null
+     */
+    public static ValueAccessor of(Field field, Method method) {
+        if (method != null) {
+            return forMethod(method);
+        }
+        if (field != null) {
+            return forField(field);
+        }
+        return null;
+    }
+
+    /**
+     * Cria um accessor para o campo. Em records, usa o método acessor do componente.
+     */
+    public static ValueAccessor forField(Field field) {
+        Class<?> owner = field.getDeclaringClass();
+        if (owner.isRecord() && !Modifier.isStatic(field.getModifiers())) {
+            try {
+                return forMethod(owner.getDeclaredMethod(field.getName()));
+            } catch (NoSuchMethodException e) {
+                // Não deveria acontecer em records; segue com o campo
+            }
+        }
+
+        try {
+            MethodHandle getter = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return new MethodHandleAccessor(getter.asType(ACCESSOR_SIGNATURE), field.getName());
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflectiveField(field);
+        }
+    }
+
+    /**
+     * Cria um accessor para um método sem parâmetros.
+     */
+    public static ValueAccessor forMethod(Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                return new MethodHandleAccessor(
+                        MethodHandles.dropArguments(target, 0, Object.class).asType(ACCESSOR_SIGNATURE),
+                        method.getName());
+            }
+
+            try {
+                return spinLambda(lookup, target, method);
+            } catch (Throwable e) {
+                // LambdaMetafactory exige acesso total à classe; MethodHandle ainda é bem mais rápido que Method.invoke
+                return new MethodHandleAccessor(target.asType(ACCESSOR_SIGNATURE), method.getName());
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflectiveMethod(method);
+        }
+    }
+
+    /**
+     * Cria o accessor primitivo de uma coluna a partir do método (prioritário) ou do campo.
+     *
+     * @return o accessor, ou null se o tipo declarado não for um primitivo numérico
+     */
+    public static DoubleAccessor forDouble(Field field, Method method) {
+        if (method != null) {
+            return isNumericPrimitive(method.getReturnType()) ? doubleMethod(method) : null;
+        }
+        if (field == null || !isNumericPrimitive(field.getType())) {
+            return null;
+        }
+
+        Class<?> owner = field.getDeclaringClass();
+        if (owner.isRecord() && !Modifier.isStatic(field.getModifiers())) {
+            try {
+                return doubleMethod(owner.getDeclaredMethod(field.getName()));
+            } catch (NoSuchMethodException e) {
+                // Não deveria acontecer em records; segue com o campo
+            }
+        }
+
+        try {
+            MethodHandle getter = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return new MethodHandleDoubleAccessor(getter.asType(DOUBLE_SIGNATURE), field.getName());
+        } catch (IllegalAccessException | RuntimeException e) {
+            field.setAccessible(true);
+            return instance -> {
+                try {
+                    // getDouble faz a conversão primitiva (widening) sem boxing
+                    return field.getDouble(instance);
+                } catch (IllegalAccessException ex) {
+                    throw new PropertyExtractionException("Erro ao ler campo '" + field.getName() + "'", ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * Tipos lidos pelo caminho primitivo. A conversão é a mesma do {@code Number.doubleValue()} feito
+     * sobre o wrapper (ex: long acima de 2^53 perde precisão nos dois caminhos); char e boolean não
+     * são numéricos nas células.
+     */
+    static boolean isNumericPrimitive(Class<?> type) {
+        return type.isPrimitive() && type != boolean.class && type != char.class && type != void.class;
+    }
+
+    private static DoubleAccessor doubleMethod(Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                return new MethodHandleDoubleAccessor(
+                        MethodHandles.dropArguments(target, 0, Object.class).asType(DOUBLE_SIGNATURE),
+                        method.getName());
+            }
+
+            try {
+                // O retorno primitivo é alargado para double pela própria lambda gerada
+                CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "getDouble",
+                        DOUBLE_FACTORY,
+                        DOUBLE_SIGNATURE,
+                        target,
+                        MethodType.methodType(method.getReturnType(), owner));
+                return (DoubleAccessor) site.getTarget().invoke();
+            } catch (Throwable e) {
+                return new MethodHandleDoubleAccessor(target.asType(DOUBLE_SIGNATURE), method.getName());
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            ValueAccessor boxed = reflectiveMethod(method);
+            return instance -> ((Number) boxed.get(instance)).doubleValue();
+        }
+    }
+
+    private static ValueAccessor spinLambda(MethodHandles.Lookup lookup, MethodHandle target, Method method)
+            throws Throwable {
+        MethodType instantiated = MethodType.methodType(
+                MethodType.methodType(method.getReturnType()).wrap().returnType(),
+                method.getDeclaringClass());
+
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                ACCESSOR_FACTORY,
+                ACCESSOR_SIGNATURE,
+                target,
+                instantiated);
+        return (ValueAccessor) site.getTarget().invoke();
+    }
+
+    private static ValueAccessor reflectiveField(Field field) {
+        field.setAccessible(true);
+        return instance -> {
+            try {
+                return field.get(instance);
+            } catch (IllegalAccessException e) {
+                throw new PropertyExtractionException("Erro ao ler campo '" + field.getName() + "'", e);
+            }
+        };
+    }
+
+    private static ValueAccessor reflectiveMethod(Method method) {
+        method.setAccessible(true);
+        return instance -> {
+            try {
+                return method.invoke(instance);
+            } catch (ReflectiveOperationException e) {
+                throw new PropertyExtractionException("Erro ao invocar método '" + method.getName() + "'", e);
+            }
+        };
+    }
+
+    /**
+     * Accessor baseado em MethodHandle já adaptado para {@code (Object)Object}.
+     */
+    private static final class MethodHandleAccessor implements ValueAccessor {
+        private final MethodHandle handle;
+        private final String name;
+
+        private MethodHandleAccessor(MethodHandle handle, String name) {
+            this.handle = handle;
+            this.name = name;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                return (Object) handle.invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PropertyExtractionException("Erro ao ler '" + name + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Accessor primitivo baseado em MethodHandle já adaptado para {@code (Object)double}.
+     */
+    private static final class MethodHandleDoubleAccessor implements DoubleAccessor {
+        private final MethodHandle handle;
+        private final String name;
+
+        private MethodHandleDoubleAccessor(MethodHandle handle, String name) {
+            this.handle = handle;
+            this.name = name;
+        }
+
+        @Override
+        public double getDouble(Object instance) {
+            try {
+                return (double) handle.invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PropertyExtractionException("Erro ao ler '" + name + "'", e);
+            }
+        }
+    }
+}
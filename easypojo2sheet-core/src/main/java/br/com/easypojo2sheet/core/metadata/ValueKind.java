@@ -0,0 +1,83 @@
+package br.com.easypojo2sheet.core.metadata;
+
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+
+/**
+ * Tipo de valor das células de uma coluna, resolvido pelo tipo declarado do campo ou do retorno do
+ * método quando os metadados são construídos. Os writers escolhem a escrita da coluna uma vez a
+ * partir dele, sem inspecionar a classe de cada valor.
+ * <p>
+ * {@link #DYNAMIC} indica que o tipo declarado não determina o dos valores (Object, interfaces,
+ * classes não finais, colunas com property ou listas): a escrita é decidida célula a célula.
+ */
+public enum ValueKind {
+    STRING,
+    NUMBER,
+    DATE,
+    BOOLEAN,
+    LOCAL_DATE,
+    LOCAL_DATE_TIME,
+    LOCAL_TIME,
+    INSTANT,
+    OFFSET_DATE_TIME,
+    ZONED_DATE_TIME,
+    DYNAMIC;
+
+    /**
+     * Resolve o tipo a partir do tipo declarado da coluna.
+     *
+     * @return o tipo fixo dos valores, ou {@link #DYNAMIC} se for preciso decidir pelo valor
+     */
+    public static ValueKind ofDeclaredType(Class<?> declaredType) {
+        if (declaredType == null || declaredType == void.class) {
+            return DYNAMIC;
+        }
+        if (declaredType.isPrimitive()) {
+            // Valores de primitivos chegam em wrappers: boolean vira Boolean, os demais (exceto char) são numéricos
+            if (declaredType == boolean.class) {
+                return BOOLEAN;
+            }
+            return declaredType == char.class ? DYNAMIC : NUMBER;
+        }
+        if (Number.class.isAssignableFrom(declaredType)) {
+            return NUMBER;
+        }
+
+        // Tipos não finais (Object, interfaces, Date...) podem receber subclasses com outro mapeamento;
+        // por isso DATE só é decidido pelo valor
+        if (!Modifier.isFinal(declaredType.getModifiers())) {
+            return DYNAMIC;
+        }
+        if (declaredType == String.class) {
+            return STRING;
+        }
+        if (declaredType == Boolean.class) {
+            return BOOLEAN;
+        }
+        if (declaredType == LocalDate.class) {
+            return LOCAL_DATE;
+        }
+        if (declaredType == LocalDateTime.class) {
+            return LOCAL_DATE_TIME;
+        }
+        if (declaredType == LocalTime.class) {
+            return LOCAL_TIME;
+        }
+        if (declaredType == Instant.class) {
+            return INSTANT;
+        }
+        if (declaredType == OffsetDateTime.class) {
+            return OFFSET_DATE_TIME;
+        }
+        if (declaredType == ZonedDateTime.class) {
+            return ZONED_DATE_TIME;
+        }
+        return DYNAMIC;
+    }
+}
@@ -7,26 +7,70 @@ import br.com.easypojo2sheet.annotation.SheetColumn;
 import br.com.easypojo2sheet.annotation.SheetIgnore;
 import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
 import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.spi.SheetMetadataProvider;
 import br.com.easypojo2sheet.exception.ExcelExportException;
 import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
 import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import br.com.easypojo2sheet.model.enums.StringStorage;
 
 
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 
 /**
  * Extrai metadados de classes anotadas usando reflection.
+ * Quando existe um {@link SheetMetadataProvider} gerado em tempo de compilação para a classe,
+ * ele é usado no lugar da reflection.
  */
 public class MetadataExtractor {
 
+    /**
+     * Providers gerados pelo annotation processor, procurados uma vez por classe
+     * no classloader da própria entidade (null quando não há provider).
+     */
+    private static final ClassValue<SheetMetadataProvider> GENERATED_PROVIDERS = new ClassValue<>() {
+        @Override
+        protected SheetMetadataProvider computeValue(Class<?> type) {
+            return findGeneratedProvider(type);
+        }
+    };
+
+    /**
+     * Providers de cada classloader indexados pela classe de entidade, montados em uma única
+     * passada do {@link ServiceLoader}. O classloader fica em chave fraca e o índice em referência
+     * soft, já que os providers mantêm o próprio classloader alcançável.
+     */
+    private static final Map<ClassLoader, SoftReference<Map<Class<?>, SheetMetadataProvider>>> PROVIDER_INDEXES =
+            new WeakHashMap<>();
+
     /**
      * Extrai metadados de uma classe anotada com @SpreadSheet.
      */
     public static SheetMetadata extractMetadata(Class<?> clazz) throws ExcelExportException {
+        SheetMetadataProvider provider = GENERATED_PROVIDERS.get(clazz);
+        if (provider != null) {
+            return provider.createMetadata();
+        }
+        return extractMetadataByReflection(clazz);
+    }
+
+    /**
+     * Extrai metadados de uma classe anotada com @SpreadSheet usando apenas reflection.
+     */
+    public static SheetMetadata extractMetadataByReflection(Class<?> clazz) throws ExcelExportException {
         if (!clazz.isAnnotationPresent(Spreadsheet.class)) {
             throw new ExcelExportException("Classe " + clazz.getName() + " não está anotada com @SpreadSheet");
         }
@@ -40,6 +84,44 @@ public class MetadataExtractor {
                 ,sheetAnnotation.startRow(),columns);
     }
 
+    private static SheetMetadataProvider findGeneratedProvider(Class<?> clazz) {
+        return providerIndex(clazz.getClassLoader()).get(clazz);
+    }
+
+    private static Map<Class<?>, SheetMetadataProvider> providerIndex(ClassLoader classLoader) {
+        synchronized (PROVIDER_INDEXES) {
+            SoftReference<Map<Class<?>, SheetMetadataProvider>> cached = PROVIDER_INDEXES.get(classLoader);
+            Map<Class<?>, SheetMetadataProvider> index = cached != null ? cached.get() : null;
+            if (index == null) {
+                index = indexProviders(classLoader);
+                PROVIDER_INDEXES.put(classLoader, new SoftReference<>(index));
+            }
+            return index;
+        }
+    }
+
+    private static Map<Class<?>, SheetMetadataProvider> indexProviders(ClassLoader classLoader) {
+        Map<Class<?>, SheetMetadataProvider> index = new HashMap<>();
+        Iterator<SheetMetadataProvider> providers =
+                ServiceLoader.load(SheetMetadataProvider.class, classLoader).iterator();
+        while (true) {
+            SheetMetadataProvider provider;
+            try {
+                if (!providers.hasNext()) {
+                    break;
+                }
+                provider = providers.next();
+            } catch (ServiceConfigurationError e) {
+                // Entrada inválida (ex: provider de uma classe removida): só ela é ignorada, e a
+                // entidade correspondente segue com reflection
+                continue;
+            }
+            // Mais de um provider para a mesma entidade: vale o primeiro, como no ServiceLoader
+            index.putIfAbsent(provider.getEntityClass(), provider);
+        }
+        return index;
+    }
+
     /**
      * Extrai metadados das colunas (campos anotados).
      */
@@ -57,7 +139,8 @@ public class MetadataExtractor {
             .thenComparing(ColumnMetadata::getColumnName)
         );
 
-        return columns;
+        // Metadados são compartilhados via MetadataRegistry, então a lista não pode ser alterada
+        return Collections.unmodifiableList(columns);
     }
 
     private static void extractFieldColumns(Class<?> clazz, List<ColumnMetadata> columns) {
@@ -69,6 +152,11 @@ public class MetadataExtractor {
                 continue;
             }
 
+            // Constantes e campos gerados pelo compilador (ex: this$0) não são colunas
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+
             SheetColumns sheetColumnsAnnotation = field.getAnnotation(SheetColumns.class);
             // Campos que possuem mais de uma anotacao que são campos de objetos aninhados
             if (sheetColumnsAnnotation != null) {
@@ -93,6 +181,12 @@ public class MetadataExtractor {
                 continue;
             }
 
+            // Em records a anotação do componente é propagada também para o acessor;
+            // a coluna já foi criada a partir do campo
+            if (isRecordAccessor(clazz, method)) {
+                continue;
+            }
+
             SheetColumn annotation = method.getAnnotation(SheetColumn.class);
             if (annotation != null) {
                 validateMethod(method);
@@ -101,6 +195,18 @@ public class MetadataExtractor {
         }
     }
 
+    private static boolean isRecordAccessor(Class<?> clazz, Method method) {
+        if (!clazz.isRecord() || method.getParameterCount() > 0) {
+            return false;
+        }
+        for (RecordComponent component : clazz.getRecordComponents()) {
+            if (component.getName().equals(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static void validateMethod(Method method) {
         if (method.getParameterCount() > 0) {
             throw new IllegalArgumentException(
@@ -129,6 +235,7 @@ public class MetadataExtractor {
         var verticalAlignment = columnAnnotation.valign();
         ListRenderStrategy listStrategy = columnAnnotation.listStrategy();
         String separator = columnAnnotation.separator();
+        StringStorage stringStorage = columnAnnotation.stringStorage();
 
         method.setAccessible(true);
 
@@ -144,6 +251,7 @@ public class MetadataExtractor {
                 .numberFormat(numberFormat)
                 .align(horizontalAlignment)
                 .valign(verticalAlignment)
+                .stringStorage(stringStorage)
                 .build());
     }
 
@@ -173,6 +281,7 @@ public class MetadataExtractor {
         var verticalAlignment = br.com.easypojo2sheet.model.enums.VerticalAlignment.CENTER;
         var listStategy = ListRenderStrategy.AGGREGATE;
         String separator = null;
+        var stringStorage = StringStorage.AUTO;
 
         if (columnAnnotation != null) {
             columnName = columnAnnotation.name().isEmpty()? field.getName(): columnAnnotation.name();
@@ -185,6 +294,7 @@ public class MetadataExtractor {
             verticalAlignment = columnAnnotation.valign();
             listStategy = columnAnnotation.listStrategy();
             separator = columnAnnotation.separator();
+            stringStorage = columnAnnotation.stringStorage();
         }
         field.setAccessible(true);
 
@@ -200,6 +310,7 @@ public class MetadataExtractor {
                 .numberFormat(numberFormat)
                 .align(horizontalAlignment)
                 .valign(verticalAlignment)
+                .stringStorage(stringStorage)
                 .build());
     }
 }
@@ -0,0 +1,67 @@
+package br.com.easypojo2sheet.core.processor;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+/**
+ * Cache de {@link SheetMetadata} por classe, compartilhado entre exportações.
+ * <p>
+ * Usa {@link ClassValue}, de modo que o metadado fica associado à própria classe e é
+ * coletado junto com o seu classloader (sem vazamento em redeploys de servidores de aplicação).
+ * A extração via reflection acontece uma única vez por classe, na primeira exportação
+ * ou na chamada a {@link #register(Class[])}.
+ */
+public final class MetadataRegistry {
+
+    private static volatile ClassValue<SheetMetadata> cache = newCache();
+
+    private MetadataRegistry() {
+    }
+
+    /**
+     * Retorna os metadados da classe, extraindo-os apenas na primeira chamada.
+     *
+     * @param clazz classe anotada com @Spreadsheet
+     * @return metadados cacheados da classe
+     * @throws ExcelExportException se a classe não estiver anotada (o erro não é cacheado)
+     */
+    public static SheetMetadata getMetadata(Class<?> clazz) throws ExcelExportException {
+        if (clazz == null) {
+            throw new ExcelExportException("Classe não pode ser null");
+        }
+        return cache.get(clazz);
+    }
+
+    /**
+     * Pré-registra (warm-up) as classes informadas, útil na inicialização da aplicação
+     * para tirar o custo de reflection da primeira exportação.
+     */
+    public static void register(Class<?>... classes) throws ExcelExportException {
+        for (Class<?> clazz : classes) {
+            getMetadata(clazz);
+        }
+    }
+
+    /**
+     * Descarta os metadados de uma classe; a próxima exportação os extrai novamente.
+     */
+    public static void invalidate(Class<?> clazz) {
+        cache.remove(clazz);
+    }
+
+    /**
+     * Descarta os metadados de todas as classes.
+     */
+    public static void invalidateAll() {
+        cache = newCache();
+    }
+
+    private static ClassValue<SheetMetadata> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected SheetMetadata computeValue(Class<?> type) {
+                return MetadataExtractor.extractMetadata(type);
+            }
+        };
+    }
+}
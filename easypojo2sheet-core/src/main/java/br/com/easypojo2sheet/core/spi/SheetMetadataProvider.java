@@ -0,0 +1,55 @@
+package br.com.easypojo2sheet.core.spi;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Metadados pré-gerados em tempo de compilação para uma classe anotada com @Spreadsheet.
+ * <p>
+ * Implementações são geradas pelo módulo {@code easypojo2sheet-processor} e registradas em
+ * {@code META-INF/services}; o {@link br.com.easypojo2sheet.core.processor.MetadataExtractor}
+ * as localiza via {@link java.util.ServiceLoader} e só usa reflection quando não há provider.
+ * Em aplicações modulares, declare {@code provides SheetMetadataProvider with ...} no module-info.
+ */
+public interface SheetMetadataProvider {
+
+    /**
+     * Classe anotada descrita por este provider.
+     */
+    Class<?> getEntityClass();
+
+    /**
+     * Cria os metadados da classe, com accessors diretos (sem reflection) sempre que o campo ou
+     * método é acessível a partir do pacote da entidade.
+     */
+    SheetMetadata createMetadata();
+
+    /**
+     * Usado pelo código gerado para campos privados, lidos direto no campo como na reflection.
+     */
+    static Field declaredField(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new ExcelExportException("Campo " + name + " não encontrado em " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Usado pelo código gerado para métodos privados anotados com @SheetColumn.
+     */
+    static Method declaredMethod(Class<?> type, String name) {
+        try {
+            Method method = type.getDeclaredMethod(name);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new ExcelExportException("Método " + name + " não encontrado em " + type.getName(), e);
+        }
+    }
+}
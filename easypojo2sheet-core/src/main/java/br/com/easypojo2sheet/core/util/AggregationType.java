@@ -3,7 +3,10 @@ package br.com.easypojo2sheet.core.util;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -239,12 +242,14 @@ public enum AggregationType {
             return null;
         }
         
-        String normalized = name.toUpperCase().replace("-", "_");
-        
-        try {
-            return AggregationType.valueOf(normalized);
-        } catch (IllegalArgumentException e) {
-            return null;
+        return BY_NAME.get(name.toUpperCase(Locale.ROOT).replace("-", "_"));
+    }
+
+    private static final Map<String, AggregationType> BY_NAME = new HashMap<>();
+
+    static {
+        for (AggregationType type : values()) {
+            BY_NAME.put(type.name(), type);
         }
     }
 }
@@ -0,0 +1,235 @@
+package br.com.easypojo2sheet.core.util;
+
+import br.com.easypojo2sheet.core.metadata.ValueAccessor;
+import br.com.easypojo2sheet.core.metadata.ValueAccessors;
+import br.com.easypojo2sheet.exception.PropertyExtractionException;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caminho de propriedade pré-compilado (ex: "vendedor.nome", "produtos[0].sku", "produtos.sum.preco").
+ * <p>
+ * O parsing do caminho (split, índices e agregações) é feito uma única vez em {@link #compile(String)};
+ * os campos de cada classe são resolvidos para {@link ValueAccessor} na primeira leitura e ficam
+ * cacheados por classe via {@link ClassValue}. Instâncias são imutáveis e thread-safe.
+ */
+public final class PropertyPath {
+
+    private static final Pattern INDEX_PATTERN = Pattern.compile("(.+)\\[(\\d+)\\]");
+
+    /** Limite de caminhos cacheados, para proteger contra caminhos gerados dinamicamente. */
+    private static final int MAX_CACHED_PATHS = 4096;
+
+    private static final Map<String, PropertyPath> CACHE = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Map<String, ValueAccessor>> FIELD_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, ValueAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final String path;
+    private final Step[] steps;
+
+    private PropertyPath(String path, Step[] steps) {
+        this.path = path;
+        this.steps = steps;
+    }
+
+    /**
+     * Compila (ou obtém do cache) o plano de extração do caminho.
+     *
+     * @param path caminho da propriedade, não vazio
+     * @return o caminho compilado
+     */
+    public static PropertyPath compile(String path) {
+        PropertyPath compiled = CACHE.get(path);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        compiled = parse(path);
+        if (CACHE.size() < MAX_CACHED_PATHS) {
+            PropertyPath existing = CACHE.putIfAbsent(path, compiled);
+            return existing != null ? existing : compiled;
+        }
+        return compiled;
+    }
+
+    private static PropertyPath parse(String path) {
+        String[] parts = path.split("\\.");
+        Step[] steps = new Step[parts.length];
+
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            String remaining = i + 1 < parts.length
+                    ? String.join(".", Arrays.copyOfRange(parts, i + 1, parts.length))
+                    : null;
+            steps[i] = new Step(part, AggregationType.fromString(part), remaining);
+        }
+        return new PropertyPath(path, steps);
+    }
+
+    /**
+     * Extrai o valor do caminho a partir do objeto raiz.
+     *
+     * @param root      objeto raiz
+     * @param separator separador usado por agregações do tipo JOIN
+     * @return o valor extraído ou null
+     */
+    public Object extract(Object root, String separator) {
+        Object current = root;
+
+        for (Step step : steps) {
+            if (current == null) {
+                return null;
+            }
+
+            // Agregação só se aplica quando o valor corrente é uma lista;
+            // caso contrário o segmento é tratado como nome de campo
+            if (step.aggregation != null && current instanceof List) {
+                return step.aggregation.aggregate((List<?>) current, step.remaining, separator);
+            }
+
+            current = step.apply(current);
+        }
+
+        return current;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * Busca (uma vez por classe e nome) o accessor de um campo na classe ou suas superclasses.
+     */
+    private static ValueAccessor fieldAccessor(Class<?> type, String fieldName) {
+        Map<String, ValueAccessor> accessors = FIELD_ACCESSORS.get(type);
+        ValueAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            accessor = ValueAccessors.forField(findField(type, fieldName));
+            accessors.putIfAbsent(fieldName, accessor);
+        }
+        return accessor;
+    }
+
+    private static Field findField(Class<?> clazz, String fieldName) {
+        Class<?> current = clazz;
+
+        while (current != null) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                current = current.getSuperclass();
+            }
+        }
+
+        throw new PropertyExtractionException(
+                "Campo '" + fieldName + "' não encontrado em " + clazz.getName()
+        );
+    }
+
+    private enum StepKind {
+        FIELD, INDEX, FIRST, LAST, SIZE
+    }
+
+    /**
+     * Um segmento do caminho, já classificado.
+     */
+    private static final class Step {
+        private final String segment;
+        private final StepKind kind;
+        private final String fieldName;
+        private final int index;
+        private final AggregationType aggregation;
+        private final String remaining;
+
+        private Step(String segment, AggregationType aggregation, String remaining) {
+            this.segment = segment;
+            this.aggregation = aggregation;
+            this.remaining = remaining;
+
+            Matcher indexMatcher = INDEX_PATTERN.matcher(segment);
+            if (indexMatcher.matches()) {
+                this.kind = StepKind.INDEX;
+                this.fieldName = indexMatcher.group(1);
+                this.index = Integer.parseInt(indexMatcher.group(2));
+            } else {
+                this.kind = switch (segment) {
+                    case "first" -> StepKind.FIRST;
+                    case "last" -> StepKind.LAST;
+                    case "size" -> StepKind.SIZE;
+                    default -> StepKind.FIELD;
+                };
+                this.fieldName = segment;
+                this.index = -1;
+            }
+        }
+
+        private Object apply(Object current) {
+            try {
+                switch (kind) {
+                    case INDEX:
+                        return listElement(current);
+                    case FIRST: {
+                        List<?> list = asList(current);
+                        return list.isEmpty() ? null : list.get(0);
+                    }
+                    case LAST: {
+                        List<?> list = asList(current);
+                        return list.isEmpty() ? null : list.get(list.size() - 1);
+                    }
+                    case SIZE:
+                        return asList(current).size();
+                    default:
+                        return fieldAccessor(current.getClass(), fieldName).get(current);
+                }
+            } catch (Exception e) {
+                throw new PropertyExtractionException(
+                        "Erro ao extrair propriedade '" + segment + "' de " + current.getClass().getName(),
+                        e
+                );
+            }
+        }
+
+        private Object listElement(Object current) {
+            Object fieldValue = fieldAccessor(current.getClass(), fieldName).get(current);
+
+            if (fieldValue == null) {
+                return null;
+            }
+
+            if (!(fieldValue instanceof List)) {
+                throw new PropertyExtractionException(
+                        "Campo '" + fieldName + "' não é uma lista"
+                );
+            }
+
+            List<?> list = (List<?>) fieldValue;
+            // Retorna null para índices fora do range
+            return index < list.size() ? list.get(index) : null;
+        }
+
+        private static List<?> asList(Object object) {
+            if (!(object instanceof List)) {
+                throw new PropertyExtractionException(
+                        "Objeto não é uma lista: " + object.getClass().getName()
+                );
+            }
+            return (List<?>) object;
+        }
+    }
+}
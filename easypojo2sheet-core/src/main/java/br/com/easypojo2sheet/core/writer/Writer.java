@@ -4,10 +4,18 @@ import br.com.easypojo2sheet.exception.ExportException;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 public interface Writer {
-    <T> void write(List<T> data) throws ExportException;
+    /**
+     * Escreve os dados consumindo o iterador sob demanda, sem exigir todos em memória.
+     */
+    <T> void write(Iterator<T> data) throws ExportException;
+
+    default <T> void write(List<T> data) throws ExportException {
+        write(data.iterator());
+    }
 
     void saveToFile(String outputFile) throws IOException;
 
@@ -0,0 +1,96 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Janela de linhas do SXSSF ajustada durante a escrita conforme a memória livre do heap.
+ * <p>
+ * A cada {@link #CHECK_INTERVAL} linhas, estima quantas linhas cabem em uma fração da memória
+ * livre, a partir de um custo aproximado por linha (proporcional ao número de colunas). A janela
+ * diminui imediatamente quando falta memória e cresce no máximo 2x por ajuste, dentro de
+ * [{@link #MIN_WINDOW}, {@link #MAX_WINDOW}].
+ * <p>
+ * A memória livre usa a ocupação dos pools do heap após a última coleta, quando disponível,
+ * para não confundir lixo ainda não coletado com dados vivos.
+ */
+final class AdaptiveWindow {
+
+    static final int MIN_WINDOW = 16;
+    static final int MAX_WINDOW = 10_000;
+    static final int CHECK_INTERVAL = 256;
+
+    /** Fração da memória livre que a janela pode ocupar. */
+    private static final double HEAP_FRACTION = 0.10;
+
+    /** Custo aproximado de um SXSSFRow e de cada SXSSFCell com valor e estilo. */
+    private static final int ROW_OVERHEAD_BYTES = 128;
+    private static final int CELL_BYTES = 160;
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    private final SXSSFSheet sheet;
+    private final LongSupplier headroom;
+    private final long rowFootprint;
+    private int window;
+    private int rowsUntilCheck = 1;
+
+    AdaptiveWindow(SXSSFSheet sheet, int columns, int initialWindow) {
+        this(sheet, columns, initialWindow, AdaptiveWindow::heapHeadroom);
+    }
+
+    AdaptiveWindow(SXSSFSheet sheet, int columns, int initialWindow, LongSupplier headroom) {
+        this.sheet = sheet;
+        this.headroom = headroom;
+        this.rowFootprint = ROW_OVERHEAD_BYTES + (long) CELL_BYTES * Math.max(columns, 1);
+        this.window = clamp(initialWindow > 0 ? initialWindow : ExcelWriterOptions.DEFAULT_WINDOW_SIZE);
+        sheet.setRandomAccessWindowSize(window);
+    }
+
+    /**
+     * Deve ser chamado a cada linha criada; o custo fora dos pontos de ajuste é um decremento.
+     */
+    void onRow() {
+        if (--rowsUntilCheck > 0) {
+            return;
+        }
+        rowsUntilCheck = CHECK_INTERVAL;
+
+        int target = clamp(headroom.getAsLong() * HEAP_FRACTION / rowFootprint);
+        int next = target > window ? Math.min(target, window * 2) : target;
+        if (next != window) {
+            window = next;
+            sheet.setRandomAccessWindowSize(next);
+        }
+    }
+
+    /**
+     * Janela em uso (a escolhida no último ajuste).
+     */
+    int windowSize() {
+        return window;
+    }
+
+    private static int clamp(double rows) {
+        return (int) Math.max(MIN_WINDOW, Math.min(MAX_WINDOW, rows));
+    }
+
+    static long heapHeadroom() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        long used = HEAP_POOLS.isEmpty() ? heap.getUsed() : 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            used += afterGc != null ? afterGc.getUsed() : pool.getUsage().getUsed();
+        }
+        return Math.max(max - used, 0);
+    }
+}
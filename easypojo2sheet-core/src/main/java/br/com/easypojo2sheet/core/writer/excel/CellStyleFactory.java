@@ -1,102 +1,142 @@
 package br.com.easypojo2sheet.core.writer.excel;
 
 import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.ValueKind;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
+import br.com.easypojo2sheet.model.enums.VerticalAlignment;
 import org.apache.poi.ss.usermodel.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Estilos do workbook POI, resolvidos por coluna quando a planilha é criada.
+ * <p>
+ * Cada coluna recebe uma tabela com um estilo por slot ({@link ExcelCellValueType#styleSlot()}):
+ * texto, número (com numberFormat) e data (com dateFormat), todos com o alinhamento da coluna.
+ * Na escrita das células o estilo é só lido da tabela, sem montar chaves nem consultar mapas.
+ * <p>
+ * Estilos são identificados pelo que aparece no arquivo (formato, alinhamentos e negrito), então
+ * colunas e planilhas com a mesma formatação compartilham o mesmo estilo: o workbook cresce com as
+ * combinações distintas, longe do limite de 64 mil estilos do Excel mesmo em planilhas largas.
+ */
+class CellStyleFactory {
+
+    /** Slots da tabela de estilos de uma coluna. */
+    static final int CELL_SLOT = 0;
+    static final int NUMBER_SLOT = 1;
+    static final int DATE_SLOT = 2;
+    static final int STYLE_SLOTS = 3;
 
- class CellStyleFactory {
     private final Workbook workbook;
-    private final Map<String, CellStyle> styleCache;
+    private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+    private DataFormat dataFormat;
 
     public CellStyleFactory(Workbook workbook) {
         this.workbook = workbook;
-        this.styleCache = new HashMap<>();
     }
 
-
     public CellStyle createHeaderStyle() {
-        return styleCache.computeIfAbsent("header", k -> {
-            CellStyle style = workbook.createCellStyle();
-            Font font = workbook.createFont();
-            font.setBold(true);
-            style.setFont(font);
-            style.setAlignment(HorizontalAlignment.CENTER);
-            style.setVerticalAlignment(VerticalAlignment.CENTER);
-            return style;
-        });
-    }
-
-
-    public CellStyle getOrCreateCellStyle(ColumnMetadata column) {
-        String key = buildStyleKey("cell", column.getHorizontalAlignment(), column.getVerticalAlignment());
-        return styleCache.computeIfAbsent(key, k -> {
-            CellStyle style = workbook.createCellStyle();
-            style.setAlignment(column.getHorizontalAlignment().toPoiAlignment());
-            style.setVerticalAlignment(column.getVerticalAlignment().toPoiAlignment());
-            return style;
-        });
+        return getOrCreate(new StyleKey(null, HorizontalAlignment.CENTER, VerticalAlignment.CENTER, true));
     }
 
-
-    public CellStyle getOrCreateNumberStyle(ColumnMetadata column) {
-        String format = column.getNumberFormat();
-        if (format == null || format.isEmpty()) {
-            return getOrCreateCellStyle(column);
+    /**
+     * Tabela de estilos das colunas: {@code [coluna][slot]}.
+     */
+    public CellStyle[][] columnStyles(List<ColumnMetadata> columns) {
+        CellStyle[][] columnStyles = new CellStyle[columns.size()][];
+        for (int i = 0; i < columnStyles.length; i++) {
+            columnStyles[i] = columnStyles(columns.get(i));
         }
+        return columnStyles;
+    }
 
-        String key = buildStyleKey("number", format, column.getHorizontalAlignment(), column.getVerticalAlignment());
-        return styleCache.computeIfAbsent(key, k -> {
-            CellStyle style = workbook.createCellStyle();
-            style.setAlignment(column.getHorizontalAlignment().toPoiAlignment());
-            style.setVerticalAlignment(column.getVerticalAlignment().toPoiAlignment());
-
-            DataFormat dataFormat = workbook.createDataFormat();
-            style.setDataFormat(dataFormat.getFormat(format));
-            return style;
-        });
+    /**
+     * Estilos de texto, número e data da coluna, nas posições dos slots.
+     */
+    public CellStyle[] columnStyles(ColumnMetadata column) {
+        HorizontalAlignment align = column.getHorizontalAlignment();
+        VerticalAlignment valign = column.getVerticalAlignment();
+
+        CellStyle[] slots = new CellStyle[STYLE_SLOTS];
+        slots[CELL_SLOT] = getOrCreate(new StyleKey(null, align, valign, false));
+
+        String numberFormat = column.getNumberFormat();
+        slots[NUMBER_SLOT] = numberFormat == null || numberFormat.isEmpty()
+                ? slots[CELL_SLOT]
+                : getOrCreate(new StyleKey(numberFormat, align, valign, false));
+
+        // O workbook comporta no máximo 64k estilos: o de data só existe se a coluna pode ter datas
+        slots[DATE_SLOT] = mayHoldDates(column)
+                ? getOrCreate(new StyleKey(convertJavaDatePatternToExcel(getDatePattern(column)), align, valign, false))
+                : slots[CELL_SLOT];
+        return slots;
     }
 
+    /**
+     * Número de estilos distintos criados no workbook por esta fábrica.
+     */
+    int size() {
+        return styles.size();
+    }
 
-    public CellStyle getOrCreateDateStyle(ColumnMetadata column) {
-        String pattern = getDatePattern(column);
-        String key = buildStyleKey("date", pattern, column.getHorizontalAlignment(), column.getVerticalAlignment());
-        
-        return styleCache.computeIfAbsent(key, k -> {
-            CellStyle style = workbook.createCellStyle();
-            style.setAlignment(column.getHorizontalAlignment().toPoiAlignment());
-            style.setVerticalAlignment(column.getVerticalAlignment().toPoiAlignment());
-
-            DataFormat dataFormat = workbook.createDataFormat();
-            String excelPattern = convertJavaDatePatternToExcel(pattern);
-            style.setDataFormat(dataFormat.getFormat(excelPattern));
-            return style;
-        });
+    /**
+     * Se a coluna pode receber valores de data ou hora: tipos temporais e colunas decididas pelo valor.
+     */
+    static boolean mayHoldDates(ColumnMetadata column) {
+        return switch (column.getValueKind()) {
+            case STRING, NUMBER, BOOLEAN -> false;
+            default -> true;
+        };
     }
 
-    private String getDatePattern(ColumnMetadata column) {
+    static String getDatePattern(ColumnMetadata column) {
         String format = column.getDateFormat();
-        return (format != null && !format.isEmpty()) ? format : "dd/MM/yyyy";
+        if (format != null && !format.isEmpty()) {
+            return format;
+        }
+        // Colunas só de hora não têm data para mostrar
+        return column.getValueKind() == ValueKind.LOCAL_TIME ? "HH:mm:ss" : "dd/MM/yyyy";
     }
 
-    private String convertJavaDatePatternToExcel(String javaPattern) {
+    static String convertJavaDatePatternToExcel(String javaPattern) {
 
         return javaPattern
                 .replace("MM", "mm")
                 .replace("HH", "hh");
     }
 
-    private String buildStyleKey(String prefix, Object... parts) {
-        StringBuilder key = new StringBuilder(prefix);
-        for (Object part : parts) {
-            key.append("_").append(part);
+    private CellStyle getOrCreate(StyleKey key) {
+        CellStyle style = styles.get(key);
+        if (style == null) {
+            style = createStyle(key);
+            styles.put(key, style);
+        }
+        return style;
+    }
+
+    private CellStyle createStyle(StyleKey key) {
+        CellStyle style = workbook.createCellStyle();
+        if (key.bold) {
+            Font font = workbook.createFont();
+            font.setBold(true);
+            style.setFont(font);
+        }
+        style.setAlignment(key.align.toPoiAlignment());
+        style.setVerticalAlignment(key.valign.toPoiAlignment());
+        if (key.format != null) {
+            if (dataFormat == null) {
+                dataFormat = workbook.createDataFormat();
+            }
+            style.setDataFormat(dataFormat.getFormat(key.format));
         }
-        return key.toString();
+        return style;
     }
 
-    public Map<String, CellStyle> getStyleCache() {
-        return new HashMap<>(styleCache);
+    /**
+     * Identidade de um estilo no arquivo; formato null é o General.
+     */
+    private record StyleKey(String format, HorizontalAlignment align, VerticalAlignment valign, boolean bold) {
     }
 }
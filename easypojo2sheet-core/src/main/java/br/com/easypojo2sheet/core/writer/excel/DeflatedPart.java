@@ -0,0 +1,143 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parte do pacote já comprimida em memória, pronta para ser copiada no zip sem recompressão.
+ * <p>
+ * Os bytes comprimidos ficam em blocos de tamanho fixo, evitando as cópias de um array que cresce.
+ * Permite gerar partes em paralelo e montar o zip depois, na ordem correta.
+ */
+final class DeflatedPart {
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    private final List<byte[]> chunks;
+    private final int lastChunkLength;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+
+    private DeflatedPart(ChunkBuffer buffer, DeflatingOutputStream deflated) {
+        this(buffer.chunks, buffer.position, deflated.crc(), deflated.size(), deflated.compressedSize());
+    }
+
+    private DeflatedPart(List<byte[]> chunks, int lastChunkLength, long crc, long size, long compressedSize) {
+        this.chunks = chunks;
+        this.lastChunkLength = lastChunkLength;
+        this.crc = crc;
+        this.size = size;
+        this.compressedSize = compressedSize;
+    }
+
+    /**
+     * Gera e comprime o conteúdo de uma parte.
+     */
+    static DeflatedPart deflate(int level, PartWriter writer) throws IOException {
+        Pending part = open(level);
+        try {
+            writer.write(part.out);
+        } finally {
+            part.out.finish();
+        }
+        return part.finish();
+    }
+
+    /**
+     * Inicia uma parte escrita aos poucos; {@link Pending#finish()} encerra a compressão.
+     */
+    static Pending open(int level) {
+        return new Pending(level);
+    }
+
+    long crc() {
+        return crc;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long compressedSize() {
+        return compressedSize;
+    }
+
+    /**
+     * Cópia com os bytes comprimidos em um único array do tamanho exato, para partes pequenas
+     * guardadas em cache (um bloco tem 256 KB mesmo quando a parte tem poucas centenas de bytes).
+     */
+    DeflatedPart compact() {
+        byte[] bytes = new byte[Math.toIntExact(compressedSize)];
+        int position = 0;
+        int last = chunks.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            int length = i == last ? lastChunkLength : CHUNK_SIZE;
+            System.arraycopy(chunks.get(i), 0, bytes, position, length);
+            position += length;
+        }
+        return new DeflatedPart(List.of(bytes), bytes.length, crc, size, compressedSize);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        int last = chunks.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            out.write(chunks.get(i), 0, i == last ? lastChunkLength : CHUNK_SIZE);
+        }
+    }
+
+    @FunctionalInterface
+    interface PartWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Parte em compressão.
+     */
+    static final class Pending {
+        private final ChunkBuffer buffer = new ChunkBuffer();
+        private final DeflatingOutputStream out;
+
+        private Pending(int level) {
+            this.out = new DeflatingOutputStream(buffer, level);
+        }
+
+        OutputStream stream() {
+            return out;
+        }
+
+        DeflatedPart finish() throws IOException {
+            out.finish();
+            return new DeflatedPart(buffer, out);
+        }
+    }
+
+    private static final class ChunkBuffer extends OutputStream {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current;
+        private int position = CHUNK_SIZE;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (position == CHUNK_SIZE) {
+                    current = new byte[CHUNK_SIZE];
+                    chunks.add(current);
+                    position = 0;
+                }
+                int count = Math.min(length, CHUNK_SIZE - position);
+                System.arraycopy(bytes, offset, current, position, count);
+                position += count;
+                offset += count;
+                length -= count;
+            }
+        }
+    }
+}
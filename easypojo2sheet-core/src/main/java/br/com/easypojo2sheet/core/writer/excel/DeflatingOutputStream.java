@@ -0,0 +1,104 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Comprime em DEFLATE puro (sem cabeçalho zlib) para o stream de destino, acumulando o CRC-32 e os
+ * tamanhos que o zip precisa para a entrada.
+ * <p>
+ * {@link #finish()} encerra o stream DEFLATE e libera o {@link Deflater} (ou o devolve ao
+ * {@link PackageBuffers}, junto com o buffer); o destino não é fechado.
+ */
+final class DeflatingOutputStream extends ZipEntryOutputStream {
+
+    private final OutputStream target;
+    private final PackageBuffers pool;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer;
+    private long size;
+    private long compressedSize;
+    private boolean finished;
+
+    DeflatingOutputStream(OutputStream target, int level) {
+        this(target, level, null);
+    }
+
+    /**
+     * @param pool buffers reaproveitados da thread, ou null para alocar
+     */
+    DeflatingOutputStream(OutputStream target, int level, PackageBuffers pool) {
+        this.target = target;
+        this.pool = pool;
+        if (pool != null) {
+            this.deflater = pool.takeDeflater(level);
+            this.buffer = pool.takeBuffer();
+        } else {
+            this.deflater = new Deflater(level, true);
+            this.buffer = new byte[PackageBuffers.BUFFER_SIZE];
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("Stream DEFLATE já finalizado");
+        }
+        if (length == 0) {
+            return;
+        }
+        crc.update(bytes, offset, length);
+        size += length;
+        deflater.setInput(bytes, offset, length);
+        while (!deflater.needsInput()) {
+            drain();
+        }
+    }
+
+    @Override
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain();
+            }
+        } finally {
+            if (pool != null) {
+                pool.giveDeflater(deflater);
+                pool.giveBuffer(buffer);
+            } else {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    long crc() {
+        return crc.getValue();
+    }
+
+    @Override
+    long size() {
+        return size;
+    }
+
+    @Override
+    long compressedSize() {
+        return compressedSize;
+    }
+
+    private void drain() throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length);
+        if (length > 0) {
+            target.write(buffer, 0, length);
+            compressedSize += length;
+        }
+    }
+}
@@ -1,75 +1,129 @@
 package br.com.easypojo2sheet.core.writer.excel;
 
 import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.ValueKind;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
  enum ExcelCellValueType {
-    STRING(String.class) {
+    STRING(String.class, CellStyleFactory.CELL_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
+        void setValue(Cell cell, Object value, ExcelDates dates) {
             cell.setCellValue((String) value);
-            applyCellStyle(cell, styleFactory.getOrCreateCellStyle(column));
         }
     },
-    NUMBER(Number.class) {
+    NUMBER(Number.class, CellStyleFactory.NUMBER_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
+        void setValue(Cell cell, Object value, ExcelDates dates) {
             cell.setCellValue(((Number) value).doubleValue());
-            applyCellStyle(cell, styleFactory.getOrCreateNumberStyle(column));
         }
     },
-    DATE(Date.class) {
+    DATE(Date.class, CellStyleFactory.DATE_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
-            cell.setCellValue((Date) value);
-            applyCellStyle(cell, styleFactory.getOrCreateDateStyle(column));
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((Date) value));
         }
     },
-    BOOLEAN(Boolean.class) {
+    BOOLEAN(Boolean.class, CellStyleFactory.CELL_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
+        void setValue(Cell cell, Object value, ExcelDates dates) {
             cell.setCellValue((Boolean) value);
-            applyCellStyle(cell, styleFactory.getOrCreateCellStyle(column));
         }
     },
-    LOCAL_DATE(LocalDate.class) {
+    LOCAL_DATE(LocalDate.class, CellStyleFactory.DATE_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
-            cell.setCellValue((LocalDate) value);
-            applyCellStyle(cell, styleFactory.getOrCreateDateStyle(column));
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((LocalDate) value));
         }
     },
-    LOCAL_DATE_TIME(LocalDateTime.class) {
+    LOCAL_DATE_TIME(LocalDateTime.class, CellStyleFactory.DATE_SLOT) {
         @Override
-        void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column) {
-            cell.setCellValue((LocalDateTime) value);
-            applyCellStyle(cell, styleFactory.getOrCreateDateStyle(column));
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((LocalDateTime) value));
+        }
+    },
+    LOCAL_TIME(LocalTime.class, CellStyleFactory.DATE_SLOT) {
+        @Override
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((LocalTime) value));
+        }
+    },
+    INSTANT(Instant.class, CellStyleFactory.DATE_SLOT) {
+        @Override
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((Instant) value));
+        }
+    },
+    OFFSET_DATE_TIME(OffsetDateTime.class, CellStyleFactory.DATE_SLOT) {
+        @Override
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((OffsetDateTime) value));
+        }
+    },
+    ZONED_DATE_TIME(ZonedDateTime.class, CellStyleFactory.DATE_SLOT) {
+        @Override
+        void setValue(Cell cell, Object value, ExcelDates dates) {
+            cell.setCellValue(dates.serial((ZonedDateTime) value));
         }
     };
 
     private static final Map<Class<?>, ExcelCellValueType> TYPE_MAPPING = new HashMap<>();
+    /** Tipo de cada {@link ValueKind}, pelo nome; null em DYNAMIC. */
+    private static final ExcelCellValueType[] BY_KIND = new ExcelCellValueType[ValueKind.values().length];
 
     static {
         for (ExcelCellValueType type : values()) {
             TYPE_MAPPING.put(type.valueClass, type);
+            BY_KIND[ValueKind.valueOf(type.name()).ordinal()] = type;
         }
     }
 
     private final Class<?> valueClass;
+    private final int styleSlot;
 
-    ExcelCellValueType(Class<?> valueClass) {
+    ExcelCellValueType(Class<?> valueClass, int styleSlot) {
         this.valueClass = valueClass;
+        this.styleSlot = styleSlot;
+    }
+
+
+    /**
+     * Escreve o valor na célula, sem estilo. Datas e horas são gravadas como o serial do Excel.
+     */
+    abstract void setValue(Cell cell, Object value, ExcelDates dates);
+
+    /**
+     * Posição do estilo deste tipo na tabela de estilos da coluna (texto, número ou data).
+     */
+    int styleSlot() {
+        return styleSlot;
     }
 
+    /**
+     * Escreve o valor e aplica o estilo do tipo, lido da tabela de estilos da coluna.
+     */
+    void setCellValue(Cell cell, Object value, CellStyle[] columnStyles, ExcelDates dates) {
+        setValue(cell, value, dates);
+        applyCellStyle(cell, columnStyles[styleSlot]);
+    }
 
-    abstract void setCellValue(Cell cell, Object value, CellStyleFactory styleFactory, ColumnMetadata column);
+    /**
+     * Escreve um número lido pelo caminho primitivo da coluna, com o estilo de {@link #NUMBER}.
+     */
+    static void setNumericCellValue(Cell cell, double value, CellStyle[] columnStyles) {
+        cell.setCellValue(value);
+        NUMBER.applyCellStyle(cell, columnStyles[CellStyleFactory.NUMBER_SLOT]);
+    }
 
 
     protected void applyCellStyle(Cell cell, CellStyle cellStyle) {
@@ -94,7 +148,16 @@ import java.util.Map;
         return STRING;
     }
 
+    /**
+     * Tipo fixo da coluna, resolvido nos metadados a partir do tipo declarado.
+     *
+     * @return o tipo das células da coluna, ou null se for preciso decidir pelo valor em tempo de execução
+     */
+    static ExcelCellValueType forColumn(ColumnMetadata column) {
+        return BY_KIND[column.getValueKind().ordinal()];
+    }
+
     public Class<?> getValueClass() {
         return valueClass;
     }
-}
\ No newline at end of file
+}
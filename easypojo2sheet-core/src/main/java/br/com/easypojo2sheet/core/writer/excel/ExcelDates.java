@@ -0,0 +1,138 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+
+/**
+ * Conversão de datas e horas para o número serial do Excel, sem Calendar nem objetos por célula.
+ * <p>
+ * O serial é o dia contado a partir da época do workbook mais a fração do dia, calculado com
+ * aritmética inteira sobre o epoch day e os milissegundos do dia (mesma precisão do POI):
+ * <ul>
+ *     <li>Sistema 1900: 01/01/1900 é o dia 1 e, como o Excel trata 1900 como bissexto
+ *     (29/02/1900 existe no Excel), as datas a partir de 01/03/1900 têm um dia a mais;</li>
+ *     <li>Sistema 1904: 01/01/1904 é o dia 0.</li>
+ * </ul>
+ * Datas anteriores à época viram -1, como no {@code DateUtil} do POI.
+ * <p>
+ * Tipos que representam um instante ({@link Date}, {@link Instant}) são convertidos para o fuso
+ * configurado (padrão: o do sistema). {@link OffsetDateTime} e {@link ZonedDateTime} mantêm a
+ * própria hora local, a menos que um fuso tenha sido configurado. O offset do fuso é guardado com o
+ * intervalo em que vale, então só é recalculado ao cruzar uma transição (ex: horário de verão).
+ * Não é thread-safe: cada writer de planilha usa a sua instância.
+ */
+final class ExcelDates {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final double DAY_MILLIS_DOUBLE = DAY_MILLIS;
+
+    /** Epoch days de 01/01/1900, 01/03/1900 (primeiro dia após o falso 29/02) e 01/01/1904. */
+    private static final long FIRST_DAY_1900 = -25_567;
+    private static final long AFTER_LEAP_BUG_1900 = -25_508;
+    private static final long FIRST_DAY_1904 = -24_107;
+
+    private final boolean date1904;
+    private final boolean convertOffsets;
+    private final ZoneRules rules;
+
+    // Offset do fuso e o intervalo [offsetFrom, offsetUntil) em epoch millis em que ele vale
+    private long offsetFrom = Long.MAX_VALUE;
+    private long offsetUntil = Long.MIN_VALUE;
+    private long offsetMillis;
+
+    /**
+     * @param date1904 se o workbook usa o sistema de datas 1904
+     * @param zone     fuso dos instantes; null usa o do sistema e mantém a hora local de
+     *                 OffsetDateTime/ZonedDateTime
+     */
+    ExcelDates(boolean date1904, ZoneId zone) {
+        this.date1904 = date1904;
+        this.convertOffsets = zone != null;
+        this.rules = (zone != null ? zone : ZoneId.systemDefault()).getRules();
+    }
+
+    static ExcelDates forOptions(ExcelWriterOptions options) {
+        return new ExcelDates(options.isDate1904(), options.getZoneId());
+    }
+
+    double serial(LocalDate date) {
+        return serial(date.toEpochDay(), 0);
+    }
+
+    double serial(LocalDateTime dateTime) {
+        return serial(dateTime.toLocalDate().toEpochDay(), dateTime.toLocalTime().toNanoOfDay() / 1_000_000);
+    }
+
+    /**
+     * Só a fração do dia, igual nos dois sistemas de datas.
+     */
+    double serial(LocalTime time) {
+        return (time.toNanoOfDay() / 1_000_000) / DAY_MILLIS_DOUBLE;
+    }
+
+    double serial(Date date) {
+        return serialOfInstant(date.getTime());
+    }
+
+    double serial(Instant instant) {
+        return serialOfInstant(instant.getEpochSecond() * 1000 + instant.getNano() / 1_000_000);
+    }
+
+    double serial(OffsetDateTime dateTime) {
+        if (!convertOffsets) {
+            return serial(dateTime.toLocalDateTime());
+        }
+        return serialOfInstant(dateTime.toEpochSecond() * 1000 + dateTime.getNano() / 1_000_000);
+    }
+
+    double serial(ZonedDateTime dateTime) {
+        if (!convertOffsets) {
+            return serial(dateTime.toLocalDateTime());
+        }
+        return serialOfInstant(dateTime.toEpochSecond() * 1000 + dateTime.getNano() / 1_000_000);
+    }
+
+    private double serialOfInstant(long epochMillis) {
+        long local = epochMillis + offsetMillis(epochMillis);
+        return serial(Math.floorDiv(local, DAY_MILLIS), Math.floorMod(local, DAY_MILLIS));
+    }
+
+    private double serial(long epochDay, long millisOfDay) {
+        long day;
+        if (date1904) {
+            if (epochDay < FIRST_DAY_1904) {
+                return -1;
+            }
+            day = epochDay - FIRST_DAY_1904;
+        } else {
+            if (epochDay < FIRST_DAY_1900) {
+                return -1;
+            }
+            day = epochDay - FIRST_DAY_1900 + (epochDay >= AFTER_LEAP_BUG_1900 ? 2 : 1);
+        }
+        return day + millisOfDay / DAY_MILLIS_DOUBLE;
+    }
+
+    private long offsetMillis(long epochMillis) {
+        if (epochMillis < offsetFrom || epochMillis >= offsetUntil) {
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000L;
+
+            // Transições caem em segundos inteiros: a anterior é a última até o segundo do instante
+            ZoneOffsetTransition previous = rules.previousTransition(
+                    Instant.ofEpochSecond(Math.floorDiv(epochMillis, 1000) + 1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            offsetFrom = previous != null ? previous.toEpochSecond() * 1000 : Long.MIN_VALUE;
+            offsetUntil = next != null ? next.toEpochSecond() * 1000 : Long.MAX_VALUE;
+        }
+        return offsetMillis;
+    }
+}
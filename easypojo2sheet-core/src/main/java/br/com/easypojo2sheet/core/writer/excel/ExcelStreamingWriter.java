@@ -3,7 +3,6 @@ package br.com.easypojo2sheet.core.writer.excel;
 
 import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
 import br.com.easypojo2sheet.core.metadata.SheetMetadata;
-import br.com.easypojo2sheet.core.util.PropertyExtractor;
 import br.com.easypojo2sheet.core.writer.Writer;
 import br.com.easypojo2sheet.exception.ExcelExportException;
 import br.com.easypojo2sheet.model.enums.BorderStyle;
@@ -15,13 +14,18 @@ import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.RegionUtil;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
 
 
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 
 /**
@@ -30,16 +34,30 @@ import java.util.List;
  */
 public class ExcelStreamingWriter implements Writer {
 
-    private static final int DEFAULT_WINDOW_SIZE = 100; // Número de linhas mantidas em memória
     private final SXSSFWorkbook workbook;
-    private final SheetMetadata metadata;
+    private SheetMetadata metadata;
     private final CellStyleFactory styleFactory;
+    private final ExcelWriterOptions options;
+    private AdaptiveWindow adaptiveWindow;
+    private SXSSFSheet sheet;
+    private int nextRowIndex;
+    private int sheetCount;
+    /** Planilhas criadas para os metadados atuais (mais de uma com rollover). */
+    private int sheetPart;
+    /** Nomes já usados ou reservados, em maiúsculas, para as continuações não colidirem. */
+    private final Set<String> sheetNames = new HashSet<>();
+    private CellStyle headerStyle;
+    /** Estilos das colunas da planilha atual por slot ({@code [coluna][slot]}). */
+    private CellStyle[][] columnStyles;
+    private final ExcelDates dates;
+    /** Tipo fixo de cada coluna da planilha atual, ou null se decidido pelo valor. */
+    private ExcelCellValueType[] columnTypes;
 
     /**
      * Construtor com tamanho de janela padrão (100 linhas em memória).
      */
     public ExcelStreamingWriter(SheetMetadata metadata) {
-        this(metadata, DEFAULT_WINDOW_SIZE);
+        this(metadata, ExcelWriterOptions.defaults());
     }
 
     /**
@@ -48,37 +66,125 @@ public class ExcelStreamingWriter implements Writer {
      * @param windowSize número de linhas mantidas em memória (-1 para ilimitado, não recomendado)
      */
     public ExcelStreamingWriter(SheetMetadata metadata, int windowSize) {
+        this(metadata, ExcelWriterOptions.builder().windowSize(windowSize).build());
+    }
+
+    /**
+     * Construtor para um workbook com várias planilhas, adicionadas com {@link #writeSheet}.
+     * @param options opções de escrita (janela, serializador de linha...)
+     */
+    public ExcelStreamingWriter(ExcelWriterOptions options) {
+        this(null, options);
+    }
+
+    /**
+     * Construtor com opções de escrita.
+     * @param metadata metadados da planilha
+     * @param options opções de escrita (janela, serializador de linha...)
+     */
+    public ExcelStreamingWriter(SheetMetadata metadata, ExcelWriterOptions options) {
         this.metadata = metadata;
-        // SXSSFWorkbook mantém apenas windowSize linhas em memória
-        this.workbook = new SXSSFWorkbook(windowSize);
+        this.options = options;
+        // SXSSFWorkbook mantém apenas windowSize linhas em memória; o perfil define a compressão
+        // do zip final e dos arquivos temporários
+        this.workbook = new ProfiledSXSSFWorkbook(options.getWindowSize(), options.getCompressionProfile());
         this.styleFactory = new CellStyleFactory(workbook);
-        // Compressão dos arquivos temporários para economizar espaço em disco
-        this.workbook.setCompressTempFiles(false);
+        this.dates = ExcelDates.forOptions(options);
+        if (options.isDate1904()) {
+            CTWorkbook ctWorkbook = workbook.getXSSFWorkbook().getCTWorkbook();
+            (ctWorkbook.isSetWorkbookPr() ? ctWorkbook.getWorkbookPr() : ctWorkbook.addNewWorkbookPr()).setDate1904(true);
+        }
     }
 
     /**
-     * Escreve os dados na planilha.
+     * Escreve os dados na planilha. Com {@code sheetRollover}, ao atingir o limite de linhas
+     * continua em novas planilhas ("Nome (2)", "Nome (3)"...) com o header repetido.
      */
-    public <T> void write(List<T> data) throws ExcelExportException {
+    @Override
+    public <T> void write(Iterator<T> data) throws ExcelExportException {
+        writeSheet(metadata, data);
+    }
+
+    /**
+     * Reserva os nomes das planilhas que ainda serão escritas com {@link #writeSheet}, para que as
+     * continuações criadas pelo rollover das anteriores não os usem.
+     */
+    public void reserveSheetNames(Collection<String> names) {
+        for (String name : names) {
+            sheetNames.add(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Escreve os dados em uma nova planilha do workbook. Os estilos (e o header) são compartilhados
+     * com as planilhas já escritas, e o arquivo é gerado uma única vez no salvamento.
+     */
+    public <T> void writeSheet(SheetMetadata sheetMetadata, Iterator<T> data) throws ExcelExportException {
+        if (sheetMetadata == null) {
+            throw new ExcelExportException("Metadados da planilha não podem ser null");
+        }
+        this.metadata = sheetMetadata;
+        this.sheetPart = 0;
         try {
-            SXSSFSheet sheet = workbook.createSheet(metadata.getSheetName());
-            
-            // Configurar auto-flush se for SXSSFSheet
-            sheet.setRandomAccessWindowSize(DEFAULT_WINDOW_SIZE);
+            // Estilos resolvidos uma vez por planilha; as células só os leem da tabela
+            columnStyles = styleFactory.columnStyles(sheetMetadata.getColumns());
+            columnTypes = columnTypes(sheetMetadata.getColumns());
+            startSheet();
+            writeData(data);
+        } catch (Exception e) {
+            throw new ExcelExportException("Erro ao escrever dados no Excel", e);
+        }
+    }
+
+    /**
+     * Cria a próxima planilha com header, larguras e congelamento do header.
+     */
+    private void startSheet() {
+        sheetCount++;
+        sheetPart++;
+        String name;
+        if (sheetPart == 1) {
+            name = metadata.getSheetName();
+            sheetNames.add(name.toUpperCase(Locale.ROOT));
+        } else {
+            name = SheetNames.rollover(metadata.getSheetName(), sheetNames);
+        }
+        sheet = workbook.createSheet(name);
+
+        // Janela de linhas em memória: fixa (a configurada) ou ajustada pela memória livre
+        if (options.isAdaptiveWindow()) {
+            int initialWindow = adaptiveWindow != null ? adaptiveWindow.windowSize() : options.getWindowSize();
+            adaptiveWindow = new AdaptiveWindow(sheet, metadata.getColumns().size(), initialWindow);
+        } else {
+            sheet.setRandomAccessWindowSize(options.getWindowSize());
+        }
 
+        createHeader(sheet);
+        autoSizeColumns(sheet);
 
-            createHeader(sheet);
-            writeData(sheet, data);
-            autoSizeColumns(sheet);
+        // Congela header se configurado
+        if (metadata.isFreezeHeader()) {
+            sheet.createFreezePane(0, metadata.getStartRow() + 1);
+        }
+        nextRowIndex = metadata.getStartRow() + 1;
+    }
 
-            // Congela header se configurado
-            if (metadata.isFreezeHeader()) {
-                sheet.createFreezePane(0, metadata.getStartRow() + 1);
+    /**
+     * Cria a próxima linha de dados, passando para uma nova planilha quando o limite é atingido.
+     */
+    private Row nextRow() {
+        if (nextRowIndex >= options.getMaxRowsPerSheet()) {
+            if (!options.isSheetRollover()) {
+                throw new ExcelExportException("Limite de " + options.getMaxRowsPerSheet()
+                        + " linhas excedido na planilha " + sheet.getSheetName());
             }
-
-        } catch (Exception e) {
-            throw new ExcelExportException("Erro ao escrever dados no Excel", e);
+            startSheet();
+        }
+        Row row = sheet.createRow(nextRowIndex++);
+        if (adaptiveWindow != null) {
+            adaptiveWindow.onRow();
         }
+        return row;
     }
 
     /**
@@ -86,7 +192,9 @@ public class ExcelStreamingWriter implements Writer {
      */
     private void createHeader(Sheet sheet) {
         Row headerRow = sheet.createRow(metadata.getStartRow());
-        CellStyle headerStyle = styleFactory.createHeaderStyle();
+        if (headerStyle == null) {
+            headerStyle = styleFactory.createHeaderStyle();
+        }
 
         int colIndex = 0;
         for (ColumnMetadata column : metadata.getColumns()) {
@@ -101,34 +209,40 @@ public class ExcelStreamingWriter implements Writer {
     /**
      * Escreve os dados nas linhas.
      */
-    private <T> void writeData(Sheet sheet, List<T> data) throws ExcelExportException {
+    private <T> void writeData(Iterator<T> data) throws ExcelExportException {
         List<ColumnMetadata> columns = metadata.getColumns();
 
         // Verifica se há colunas para expandir
         boolean hasExpandColumns = columns.stream().anyMatch(ColumnMetadata::shouldExpandRows);
 
         if (hasExpandColumns) {
-            writeExpandedData(sheet, data, columns);
+            writeExpandedData(data, columns);
         } else {
-            writeSimpleData(sheet, data, columns);
+            writeSimpleData(data, columns);
         }
     }
 
 
-    private <T> void writeExpandedData(Sheet sheet, List<T> data, List<ColumnMetadata> columns) throws ExcelExportException {
-        int rowNum = metadata.getStartRow() + 1;
-
-        // Expande as linhas
-        List<RowExpander.ExpandedRow<T>> expandedRows = RowExpander.expandRows(data, columns);
-        int firstRowInGroup = rowNum;
+    private <T> void writeExpandedData(Iterator<T> data, List<ColumnMetadata> columns) throws ExcelExportException {
+        // Expande as linhas de um objeto por vez, sobre a mesma visão de linha
+        Iterator<RowExpander.ExpandedRow<T>> expandedRows = RowExpander.expand(data, columns);
+        int firstRowInGroup = -1;
 
         // Escreve cada linha expandida
-        for (int i = 0; i < expandedRows.size(); i++) {
-            RowExpander.ExpandedRow<T> expandedRow = expandedRows.get(i);
-            Row row = sheet.createRow(rowNum);
+        while (expandedRows.hasNext()) {
+            RowExpander.ExpandedRow<T> expandedRow = expandedRows.next();
+            Sheet previousSheet = sheet;
+            int previousRowNum = nextRowIndex - 1;
+            Row row = nextRow();
+            int rowNum = row.getRowNum();
 
             if (expandedRow.isFirstRow()) {
                 firstRowInGroup = rowNum;
+            } else if (sheet != previousSheet) {
+                // O grupo continua na nova planilha: fecha o merge da parte anterior
+                // e repete os valores do objeto na primeira linha da nova planilha
+                mergeGroup(previousSheet, expandedRow, firstRowInGroup, previousRowNum, columns);
+                firstRowInGroup = rowNum;
             }
 
             for (int colNum = 0; colNum < columns.size(); colNum++) {
@@ -136,56 +250,46 @@ public class ExcelStreamingWriter implements Writer {
                 Cell cell = row.createCell(colNum);
 
                 try {
-                    Object value = extractExpandedValue(expandedRow, column);
-
                     // Só preenche a célula se for a primeira linha do grupo
                     // ou se for uma coluna da lista expandida
-                    if (expandedRow.isFirstRow() || column.shouldExpandRows()) {
-                        setCellValue(cell, value, column);
+                    if (rowNum == firstRowInGroup || column.shouldExpandRows()) {
+                        setCellValue(cell, extractExpandedValue(expandedRow, column), colNum);
                     }
 
                 } catch (Exception e) {
                     throw new ExcelExportException(
-                            "Erro ao extrair valor do campo " + column.getField().getName(), e
+                            "Erro ao extrair valor da coluna " + column.getColumnName(), e
                     );
                 }
             }
 
-            rowNum++;
-
-            // Aplica merge nas colunas que não são da lista expandida
-            if (expandedRow.isLastRow() && expandedRow.shouldMerge()) {
-                int lastRowInGroup = rowNum - 1;
-
-                // Só faz merge se houver mais de uma linha no grupo
-                if (firstRowInGroup < lastRowInGroup) {
-                    for (int colNum = 0; colNum < columns.size(); colNum++) {
-                        ColumnMetadata column = columns.get(colNum);
-
-                        // Merge apenas colunas que NÃO são da lista expandida
-                        if (!column.shouldExpandRows()) {
-                            // Obter o estilo da primeira célula do grupo
-                            Row firstRow = sheet.getRow(firstRowInGroup);
-                            Cell firstCell = firstRow.getCell(colNum);
-                            CellStyle originalStyle = firstCell != null ? firstCell.getCellStyle() : null;
-
-                            CellRangeAddress mergeRegion = new CellRangeAddress(
-                                    firstRowInGroup,
-                                    lastRowInGroup,
-                                    colNum,
-                                    colNum
-                            );
-                            sheet.addMergedRegion(mergeRegion);
-
-                        }
-                    }
-                }
+            if (expandedRow.isLastRow()) {
+                mergeGroup(sheet, expandedRow, firstRowInGroup, rowNum, columns);
             }
         }
     }
 
+    /**
+     * Aplica merge nas colunas que não são da lista expandida.
+     */
+    private static void mergeGroup(Sheet target, RowExpander.ExpandedRow<?> expandedRow, int firstRowInGroup,
+                                   int lastRowInGroup, List<ColumnMetadata> columns) {
+        // Só faz merge se houver mais de uma linha no grupo
+        if (!expandedRow.shouldMerge() || firstRowInGroup >= lastRowInGroup) {
+            return;
+        }
 
-    private Object extractExpandedValue(RowExpander.ExpandedRow<?> expandedRow, ColumnMetadata column)
+        for (int colNum = 0; colNum < columns.size(); colNum++) {
+            // Merge apenas colunas que NÃO são da lista expandida
+            // (a primeira linha do grupo pode já ter saído da janela; só o índice é usado)
+            if (!columns.get(colNum).shouldExpandRows()) {
+                target.addMergedRegion(new CellRangeAddress(firstRowInGroup, lastRowInGroup, colNum, colNum));
+            }
+        }
+    }
+
+
+    static Object extractExpandedValue(RowExpander.ExpandedRow<?> expandedRow, ColumnMetadata column)
             throws Exception {
 
         // Se é uma coluna da lista expandida, extrai do item da lista
@@ -198,7 +302,7 @@ public class ExcelStreamingWriter implements Writer {
 
             // Se há propertyPath, usa ele para navegar no item da lista
             if (column.hasPropertyPath()) {
-                return PropertyExtractor.extractValue(listItem, column.getPropertyPath(), column.getSeparator());
+                return column.getCompiledPath().extract(listItem, column.getSeparator());
             }
 
             // Caso contrário, retorna o próprio item
@@ -212,30 +316,57 @@ public class ExcelStreamingWriter implements Writer {
     /**
      * Escreve os dados nas linhas com processamento em batch.
      */
-    private <T> void writeSimpleData(Sheet sheet, List<T> data, List<ColumnMetadata> columns) throws ExcelExportException {
-        int rowIndex = metadata.getStartRow() + 1;
-        
+    private <T> void writeSimpleData(Iterator<T> data, List<ColumnMetadata> columns) throws ExcelExportException {
+        RowSerializer serializer = options.isFusedRowSerializer() ? FusedRowSerializers.get(metadata) : null;
+        if (serializer != null) {
+            writeFusedData(data, serializer);
+            return;
+        }
+
         try {
-            for (T item : data) {
-                Row row = sheet.createRow(rowIndex++);
+            while (data.hasNext()) {
+                T item = data.next();
+                Row row = nextRow();
                 int colIndex = 0;
 
                 for (ColumnMetadata column : columns) {
-                    Cell cell = row.createCell(colIndex++);
+                    Cell cell = row.createCell(colIndex);
+                    if (item != null && column.hasDoubleAccessor()) {
+                        // Primitivos numéricos são lidos como double, sem wrapper por célula
+                        ExcelCellValueType.setNumericCellValue(cell, column.extractDouble(item), columnStyles[colIndex++]);
+                        continue;
+                    }
                     Object value = extractValue(item, column);
-                    setCellValue(cell, value, column);
+                    setCellValue(cell, value, colIndex++);
                 }
                 
             }
+        } catch (ExcelExportException e) {
+            throw e;
         } catch (Exception e) {
-            throw new ExcelExportException("Erro ao processar dados na linha " + rowIndex, e);
+            throw new ExcelExportException("Erro ao processar dados na linha " + nextRowIndex, e);
+        }
+    }
+
+    /**
+     * Escreve os dados com o serializador gerado para a entidade.
+     */
+    private <T> void writeFusedData(Iterator<T> data, RowSerializer serializer) throws ExcelExportException {
+        try {
+            while (data.hasNext()) {
+                serializer.writeRow(data.next(), nextRow(), columnStyles, dates);
+            }
+        } catch (ExcelExportException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelExportException("Erro ao processar dados na linha " + nextRowIndex, e);
         }
     }
 
     /**
      * Extrai o valor do campo (com suporte a objetos aninhados).
      */
-    private Object extractValue(Object item, ColumnMetadata column) throws Exception {
+    static Object extractValue(Object item, ColumnMetadata column) throws Exception {
         if (item == null) {
             return null;
         }
@@ -245,32 +376,46 @@ public class ExcelStreamingWriter implements Writer {
 
             // Se há propertyPath, aplica navegação no resultado do método
             if (column.hasPropertyPath()) {
-                return PropertyExtractor.extractValue(methodValue, column.getPropertyPath(), column.getSeparator());
+                return methodValue == null ? null : column.getCompiledPath().extract(methodValue, column.getSeparator());
             }
 
             return methodValue;
         }
 
         if (column.hasPropertyPath()) {
-            return PropertyExtractor.extractValue(item, column.getPropertyPath(),column.getSeparator());
+            return column.getCompiledPath().extract(item, column.getSeparator());
         }
 
-        Field field = column.getField();
-        field.setAccessible(true);
-        return field.get(item);
+        return column.extractValue(item);
     }
 
 
     /**
-     * Define o valor da célula com formatação e estilo cacheado.
+     * Define o valor da célula com o estilo do seu tipo na coluna. O tipo vem dos metadados
+     * quando o tipo declarado o fixa; senão, da classe do valor.
      */
-    private void setCellValue(Cell cell, Object value, ColumnMetadata column) {
+    private void setCellValue(Cell cell, Object value, int column) {
         if (value == null) {
             cell.setBlank();
             return;
         }
 
-        ExcelCellValueType.fromClass(value.getClass()).setCellValue(cell, value,styleFactory, column);
+        ExcelCellValueType type = columnTypes[column];
+        if (type == null) {
+            type = ExcelCellValueType.fromClass(value.getClass());
+        }
+        type.setCellValue(cell, value, columnStyles[column], dates);
+    }
+
+    /**
+     * Tipos das colunas resolvidos nos metadados; null nas que dependem de cada valor.
+     */
+    static ExcelCellValueType[] columnTypes(List<ColumnMetadata> columns) {
+        ExcelCellValueType[] types = new ExcelCellValueType[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = ExcelCellValueType.forColumn(columns.get(i));
+        }
+        return types;
     }
 
 
@@ -329,6 +474,21 @@ public class ExcelStreamingWriter implements Writer {
         }
     }
 
+    /**
+     * Janela de linhas em memória usada na escrita: a configurada ou, no modo adaptativo,
+     * a escolhida no último ajuste.
+     */
+    public int getWindowSize() {
+        return adaptiveWindow != null ? adaptiveWindow.windowSize() : options.getWindowSize();
+    }
+
+    /**
+     * Número de planilhas criadas (mais de uma quando houve rollover ou {@link #writeSheet}).
+     */
+    public int getSheetCount() {
+        return sheetCount;
+    }
+
     /**
      * Retorna o workbook (útil para customizações adicionais).
      */
@@ -0,0 +1,271 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+
+/**
+ * Opções de escrita do {@link ExcelStreamingWriter}, do {@link OoxmlStreamingWriter} e do {@link OoxmlWorkbookWriter}.
+ * Instâncias são imutáveis; use {@link #builder()} para criar.
+ */
+public final class ExcelWriterOptions {
+
+    /** Número de linhas mantidas em memória pelo SXSSF. */
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    /** Máximo de textos distintos na tabela de shared strings. */
+    public static final int DEFAULT_SHARED_STRINGS_LIMIT = 65_536;
+
+    /** Limite de linhas de uma planilha no formato xlsx. */
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final ExcelWriterOptions DEFAULTS = builder().build();
+
+    private final int windowSize;
+    private final boolean adaptiveWindow;
+    private final boolean fusedRowSerializer;
+    private final StringStorage stringStorage;
+    private final int sharedStringsLimit;
+    private final Executor sheetExecutor;
+    private final int compressionThreads;
+    private final CompressionProfile compressionProfile;
+    private final boolean sheetRollover;
+    private final int maxRowsPerSheet;
+    private final boolean reuseBuffers;
+    private final boolean date1904;
+    private final ZoneId zoneId;
+
+    private ExcelWriterOptions(Builder builder) {
+        this.windowSize = builder.windowSize;
+        this.adaptiveWindow = builder.adaptiveWindow;
+        this.fusedRowSerializer = builder.fusedRowSerializer;
+        this.stringStorage = builder.stringStorage;
+        this.sharedStringsLimit = builder.sharedStringsLimit;
+        this.sheetExecutor = builder.sheetExecutor;
+        this.compressionThreads = builder.compressionThreads;
+        this.compressionProfile = builder.compressionProfile;
+        this.sheetRollover = builder.sheetRollover;
+        this.maxRowsPerSheet = builder.maxRowsPerSheet;
+        this.reuseBuffers = builder.reuseBuffers;
+        this.date1904 = builder.date1904;
+        this.zoneId = builder.zoneId;
+    }
+
+    public static ExcelWriterOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public boolean isAdaptiveWindow() {
+        return adaptiveWindow;
+    }
+
+    public boolean isFusedRowSerializer() {
+        return fusedRowSerializer;
+    }
+
+    public StringStorage getStringStorage() {
+        return stringStorage;
+    }
+
+    public int getSharedStringsLimit() {
+        return sharedStringsLimit;
+    }
+
+    public Executor getSheetExecutor() {
+        return sheetExecutor;
+    }
+
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    public CompressionProfile getCompressionProfile() {
+        return compressionProfile;
+    }
+
+    public boolean isSheetRollover() {
+        return sheetRollover;
+    }
+
+    public int getMaxRowsPerSheet() {
+        return maxRowsPerSheet;
+    }
+
+    public boolean isReuseBuffers() {
+        return reuseBuffers;
+    }
+
+    public boolean isDate1904() {
+        return date1904;
+    }
+
+    /**
+     * Fuso usado nas datas que representam um instante, ou null para o fuso do sistema.
+     */
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    public static class Builder {
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private boolean adaptiveWindow;
+        private boolean fusedRowSerializer;
+        private StringStorage stringStorage = StringStorage.INLINE;
+        private int sharedStringsLimit = DEFAULT_SHARED_STRINGS_LIMIT;
+        private Executor sheetExecutor;
+        private int compressionThreads = 1;
+        private CompressionProfile compressionProfile = CompressionProfile.BALANCED;
+        private boolean sheetRollover;
+        private int maxRowsPerSheet = MAX_ROWS_PER_SHEET;
+        private boolean reuseBuffers;
+        private boolean date1904;
+        private ZoneId zoneId;
+
+        /**
+         * Número de linhas mantidas em memória (-1 para ilimitado, não recomendado).
+         */
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Ajusta a janela durante a escrita conforme a memória livre do heap e o número de colunas;
+         * o windowSize passa a ser apenas o valor inicial.
+         */
+        public Builder adaptiveWindow(boolean enabled) {
+            this.adaptiveWindow = enabled;
+            return this;
+        }
+
+        /**
+         * Usa um serializador de linha gerado por entidade (hidden class) em vez do loop sobre as colunas.
+         * Se a JVM não permitir a geração, o loop tradicional é usado.
+         */
+        public Builder fusedRowSerializer(boolean enabled) {
+            this.fusedRowSerializer = enabled;
+            return this;
+        }
+
+        /**
+         * Armazenamento dos textos das colunas sem {@code stringStorage} na anotação (engine NATIVE).
+         * INLINE (padrão) mantém o comportamento do SXSSF; AUTO detecta colunas categóricas por amostragem.
+         */
+        public Builder stringStorage(StringStorage stringStorage) {
+            this.stringStorage = stringStorage;
+            return this;
+        }
+
+        /**
+         * Máximo de textos distintos na tabela de shared strings; acima disso os novos valores são inline.
+         */
+        public Builder sharedStringsLimit(int sharedStringsLimit) {
+            this.sharedStringsLimit = sharedStringsLimit;
+            return this;
+        }
+
+        /**
+         * Executor usado pelo {@link OoxmlWorkbookWriter} para gerar as planilhas em paralelo, cada uma
+         * comprimida em memória antes da montagem do zip. Sem executor (padrão) as planilhas são
+         * escritas em sequência direto no destino.
+         */
+        public Builder sheetExecutor(Executor sheetExecutor) {
+            this.sheetExecutor = sheetExecutor;
+            return this;
+        }
+
+        /**
+         * Threads usadas para comprimir as planilhas (engine NATIVE). Com mais de uma, o XML é
+         * dividido em blocos comprimidos em paralelo; 1 (padrão) comprime na thread de escrita.
+         */
+        public Builder compressionThreads(int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
+        /**
+         * Perfil de compressão do arquivo final e dos temporários (BALANCED por padrão).
+         */
+        public Builder compressionProfile(CompressionProfile compressionProfile) {
+            this.compressionProfile = compressionProfile;
+            return this;
+        }
+
+        /**
+         * Ao atingir {@code maxRowsPerSheet}, continua em novas planilhas ("Nome (2)", "Nome (3)"...)
+         * com o header repetido. Sem rollover (padrão), exceder o limite lança exceção.
+         */
+        public Builder sheetRollover(boolean enabled) {
+            this.sheetRollover = enabled;
+            return this;
+        }
+
+        /**
+         * Máximo de linhas por planilha, contando as linhas antes do header, o header e as linhas
+         * expandidas (padrão e máximo: 1.048.576).
+         */
+        public Builder maxRowsPerSheet(int maxRowsPerSheet) {
+            this.maxRowsPerSheet = maxRowsPerSheet;
+            return this;
+        }
+
+        /**
+         * Reaproveita, entre os workbooks gerados na mesma thread, os buffers de XML e do zip e os
+         * {@link java.util.zip.Deflater} (engine NATIVE). Indicado para muitos workbooks pequenos em
+         * um pool de threads fixo; cada thread mantém seus buffers enquanto existir.
+         */
+        public Builder reuseBuffers(boolean enabled) {
+            this.reuseBuffers = enabled;
+            return this;
+        }
+
+        /**
+         * Usa o sistema de datas 1904 (01/01/1904 é o dia 0), como em planilhas vindas do Excel para Mac.
+         * Por padrão o workbook usa o sistema 1900.
+         */
+        public Builder date1904(boolean enabled) {
+            this.date1904 = enabled;
+            return this;
+        }
+
+        /**
+         * Fuso em que Date, Instant, OffsetDateTime e ZonedDateTime são escritos. Sem fuso (padrão),
+         * Date e Instant usam o do sistema e OffsetDateTime/ZonedDateTime mantêm a própria hora local.
+         */
+        public Builder zoneId(ZoneId zoneId) {
+            this.zoneId = zoneId;
+            return this;
+        }
+
+        public ExcelWriterOptions build() {
+            if (stringStorage == null) {
+                throw new IllegalArgumentException("stringStorage não pode ser null");
+            }
+            if (sharedStringsLimit < 0) {
+                throw new IllegalArgumentException("sharedStringsLimit não pode ser negativo");
+            }
+            if (compressionProfile == null) {
+                throw new IllegalArgumentException("compressionProfile não pode ser null");
+            }
+            if (compressionThreads < 1) {
+                throw new IllegalArgumentException("compressionThreads deve ser maior que zero");
+            }
+            if (maxRowsPerSheet < 2 || maxRowsPerSheet > MAX_ROWS_PER_SHEET) {
+                throw new IllegalArgumentException("maxRowsPerSheet deve estar entre 2 e " + MAX_ROWS_PER_SHEET);
+            }
+            return new ExcelWriterOptions(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Modelo dos serializadores gerados por {@link FusedRowSerializers}.
+ * <p>
+ * Esta classe nunca é carregada diretamente: seus bytes são redefinidos como hidden class,
+ * uma vez por {@code SheetMetadata}, recebendo como class data o MethodHandle com todas as
+ * colunas da entidade. Como o handle fica em um campo static final, o JIT o trata como
+ * constante e compila uma única sequência de escrita por tipo de entidade.
+ */
+final class FusedRowSerializerTemplate implements RowSerializer {
+
+    private static final MethodHandle ROW_WRITER;
+
+    static {
+        try {
+            ROW_WRITER = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public void writeRow(Object item, Row row, CellStyle[][] columnStyles, ExcelDates dates) throws Exception {
+        try {
+            ROW_WRITER.invokeExact(item, row, columnStyles, dates);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelExportException("Erro ao escrever linha", e);
+        }
+    }
+}
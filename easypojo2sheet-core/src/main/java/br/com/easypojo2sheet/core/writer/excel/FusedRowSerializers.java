@@ -0,0 +1,165 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cria serializadores de linha "fundidos": uma hidden class por {@link SheetMetadata} cujo único
+ * método executa, em sequência, a escrita de todas as colunas com o tipo de valor de cada coluna
+ * já resolvido. Para o JIT isso vira um único método linear por entidade, sem o loop sobre
+ * {@code List<ColumnMetadata>} nem o lookup em {@code ExcelCellValueType.fromClass} por célula.
+ * <p>
+ * Os serializadores não dependem do workbook (estilos chegam como parâmetro), então são cacheados
+ * por classe de entidade via {@link ClassValue} e reaproveitados entre exportações. Os metadados
+ * ficam em chaves fracas: os descartados por {@code MetadataRegistry.invalidate} levam junto o seu
+ * serializador.
+ * Se a JVM não permitir definir a hidden class, {@link #get(SheetMetadata)} retorna null e o
+ * writer segue com o loop tradicional.
+ */
+final class FusedRowSerializers {
+
+    private static final String TEMPLATE_RESOURCE = "FusedRowSerializerTemplate.class";
+
+    /** Assinatura do método gerado: (item, row, estilos por coluna e slot, conversão de datas). */
+    private static final MethodType ROW_WRITER_TYPE = MethodType.methodType(
+            void.class, Object.class, Row.class, CellStyle[][].class, ExcelDates.class);
+
+    private static final MethodHandle WRITE_CELL;
+    private static final MethodHandle WRITE_DOUBLE_CELL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            WRITE_CELL = lookup.findStatic(FusedRowSerializers.class, "writeCell",
+                    ROW_WRITER_TYPE.insertParameterTypes(0, ColumnMetadata.class, ExcelCellValueType.class, int.class));
+            WRITE_DOUBLE_CELL = lookup.findStatic(FusedRowSerializers.class, "writeDoubleCell",
+                    ROW_WRITER_TYPE.insertParameterTypes(0, ColumnMetadata.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<Map<SheetMetadata, RowSerializer>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<SheetMetadata, RowSerializer> computeValue(Class<?> type) {
+            return Collections.synchronizedMap(new WeakHashMap<>());
+        }
+    };
+
+    private static volatile byte[] templateBytes;
+
+    private FusedRowSerializers() {
+    }
+
+    /**
+     * Retorna o serializador fundido da planilha, criando-o na primeira chamada.
+     *
+     * @return o serializador, ou null se hidden classes não puderem ser definidas
+     */
+    static RowSerializer get(SheetMetadata metadata) {
+        Map<SheetMetadata, RowSerializer> serializers = CACHE.get(metadata.getEntityClass());
+        RowSerializer serializer = serializers.get(metadata);
+        if (serializer == null) {
+            serializer = create(metadata.getColumns());
+            if (serializer != null) {
+                serializers.putIfAbsent(metadata, serializer);
+            }
+        }
+        return serializer;
+    }
+
+    private static RowSerializer create(List<ColumnMetadata> columns) {
+        try {
+            MethodHandle[] cells = new MethodHandle[columns.size()];
+            for (int i = 0; i < cells.length; i++) {
+                ColumnMetadata column = columns.get(i);
+                cells[i] = column.hasDoubleAccessor()
+                        ? MethodHandles.insertArguments(WRITE_DOUBLE_CELL, 0, column, i)
+                        : MethodHandles.insertArguments(WRITE_CELL, 0, column, ExcelCellValueType.forColumn(column), i);
+            }
+
+            MethodHandle rowWriter = cells.length == 0
+                    ? MethodHandles.empty(ROW_WRITER_TYPE)
+                    : sequence(cells, 0, cells.length);
+
+            MethodHandles.Lookup hidden = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(templateBytes(), rowWriter, true);
+            return (RowSerializer) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            // Sem permissão para definir classes (ou bytes indisponíveis): usa o caminho tradicional
+            return null;
+        }
+    }
+
+    /**
+     * Encadeia as colunas em árvore balanceada, mantendo a profundidade em log2(colunas)
+     * para não estourar o limite de inlining do JIT em planilhas largas.
+     */
+    private static MethodHandle sequence(MethodHandle[] cells, int from, int to) {
+        if (to - from == 1) {
+            return cells[from];
+        }
+        int middle = (from + to) >>> 1;
+        // foldArguments executa o combiner (primeira metade) e depois o target (segunda metade)
+        return MethodHandles.foldArguments(sequence(cells, middle, to), sequence(cells, from, middle));
+    }
+
+    private static byte[] templateBytes() throws IOException {
+        byte[] bytes = templateBytes;
+        if (bytes == null) {
+            try (InputStream in = FusedRowSerializers.class.getResourceAsStream(TEMPLATE_RESOURCE)) {
+                if (in == null) {
+                    throw new IOException("Recurso " + TEMPLATE_RESOURCE + " não encontrado");
+                }
+                bytes = in.readAllBytes();
+            }
+            templateBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Escrita de uma célula; os três primeiros parâmetros são fixados por coluna.
+     */
+    private static void writeCell(ColumnMetadata column, ExcelCellValueType type, int index,
+                                  Object item, Row row, CellStyle[][] styles, ExcelDates dates)
+            throws Exception {
+        Cell cell = row.createCell(index);
+        Object value = ExcelStreamingWriter.extractValue(item, column);
+
+        if (value == null) {
+            cell.setBlank();
+        } else {
+            (type != null ? type : ExcelCellValueType.fromClass(value.getClass())).setCellValue(cell, value, styles[index], dates);
+        }
+    }
+
+    /**
+     * Escrita de uma coluna primitiva numérica: o valor é lido como double, sem boxing.
+     */
+    private static void writeDoubleCell(ColumnMetadata column, int index, Object item, Row row, CellStyle[][] styles,
+                                        ExcelDates dates) {
+        Cell cell = row.createCell(index);
+        if (item == null) {
+            cell.setBlank();
+        } else {
+            ExcelCellValueType.setNumericCellValue(cell, column.extractDouble(item), styles[index]);
+        }
+    }
+}
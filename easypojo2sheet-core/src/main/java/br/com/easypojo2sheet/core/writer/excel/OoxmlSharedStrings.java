@@ -0,0 +1,68 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de shared strings (xl/sharedStrings.xml) com tamanho limitado.
+ * <p>
+ * Só recebe textos das colunas que usam {@code StringStorage.SHARED} (explícito ou detectado por
+ * amostragem). Ao atingir o limite, a tabela deixa de crescer: valores já registrados continuam
+ * sendo referenciados e os novos são gravados inline pela planilha.
+ * <p>
+ * É compartilhada pelas planilhas do workbook, que podem ser geradas em paralelo: o registro é
+ * sincronizado e a ordem dos índices segue a ordem de chegada dos textos.
+ */
+final class OoxmlSharedStrings {
+
+    private final int limit;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private long references;
+
+    OoxmlSharedStrings(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Índice do texto na tabela, registrando-o se ainda houver espaço.
+     *
+     * @return o índice, ou -1 se o texto deve ser gravado inline
+     */
+    synchronized int indexOf(String value) {
+        Integer index = indexes.get(value);
+        if (index == null) {
+            if (strings.size() >= limit) {
+                return -1;
+            }
+            index = strings.size();
+            strings.add(value);
+            indexes.put(value, index);
+        }
+        references++;
+        return index;
+    }
+
+    boolean isEmpty() {
+        return strings.isEmpty();
+    }
+
+    int size() {
+        return strings.size();
+    }
+
+    void write(XmlByteWriter out) throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"")
+                .number(references).ascii("\" uniqueCount=\"").number(strings.size()).ascii("\">");
+        for (String value : strings) {
+            out.ascii("<si>");
+            OoxmlSheetWriter.writeText(out, value);
+            out.ascii("</si>");
+        }
+        out.ascii("</sst>");
+    }
+}
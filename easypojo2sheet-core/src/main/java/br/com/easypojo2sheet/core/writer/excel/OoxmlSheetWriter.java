@@ -0,0 +1,465 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gera o XML de uma worksheet (xl/worksheets/sheetN.xml) direto em bytes, sem objetos Row/Cell.
+ * <p>
+ * Segue as mesmas regras do {@link ExcelStreamingWriter}: header na startRow, expansão de listas
+ * com merge, larguras de coluna e congelamento do header.
+ * <p>
+ * Com rollover, ao atingir o limite de linhas a worksheet é fechada e a escrita continua em uma
+ * nova parte, com visualização, larguras e header repetidos; as partes são entregues ao {@link PartSink}.
+ * <p>
+ * Textos das colunas com {@link StringStorage#SHARED} (explícito, pelo modo do writer ou detectado
+ * por amostragem em {@link StringStorage#AUTO}) vão para a tabela de shared strings; os demais são inline.
+ */
+final class OoxmlSheetWriter {
+
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private final SheetMetadata metadata;
+    private final List<ColumnMetadata> columns;
+    private final int headerStyle;
+    private final int[][] columnStyles;
+    private final ExcelCellValueType[] columnTypes;
+    private final ExcelDates dates;
+    private final byte[][] columnRefs;
+    private final OoxmlSharedStrings sharedStrings;
+    private final StringColumn[] stringColumns;
+    private final int maxRowsPerSheet;
+    private final boolean sheetRollover;
+    private final boolean reuseBuffers;
+
+    // Estado da escrita: parte atual e próxima linha (1-based, como no XML)
+    private PartSink sink;
+    private PackageBuffers pool;
+    private byte[] buffer;
+    private XmlByteWriter out;
+    private List<int[]> mergedRegions;
+    private int rowNumber;
+    private int parts;
+    // Sinalizado por outra thread quando a exportação falha e a planilha não será mais usada
+    private volatile boolean cancelled;
+
+    OoxmlSheetWriter(SheetMetadata metadata, OoxmlStyles styles, OoxmlSharedStrings sharedStrings,
+                     ExcelWriterOptions options) {
+        StringStorage stringStorage = options.getStringStorage();
+        this.metadata = metadata;
+        this.columns = metadata.getColumns();
+        this.headerStyle = styles.headerStyle();
+        this.columnStyles = styles.registerColumns(columns);
+        this.columnTypes = ExcelStreamingWriter.columnTypes(columns);
+        this.dates = ExcelDates.forOptions(options);
+        this.sharedStrings = sharedStrings;
+        this.columnRefs = new byte[columns.size()][];
+        this.stringColumns = new StringColumn[columns.size()];
+        for (int i = 0; i < columnRefs.length; i++) {
+            columnRefs[i] = CellReference.convertNumToColString(i).getBytes(StandardCharsets.US_ASCII);
+            StringStorage columnStorage = columns.get(i).getStringStorage();
+            stringColumns[i] = new StringColumn(
+                    columnStorage == null || columnStorage == StringStorage.AUTO ? stringStorage : columnStorage);
+        }
+        this.maxRowsPerSheet = options.getMaxRowsPerSheet();
+        this.sheetRollover = options.isSheetRollover();
+        this.reuseBuffers = options.isReuseBuffers();
+    }
+
+    /**
+     * Indica se alguma coluna pode gravar textos na tabela de shared strings.
+     */
+    boolean usesSharedStrings() {
+        for (StringColumn column : stringColumns) {
+            if (column.storage != StringStorage.INLINE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escreve a worksheet completa, em uma ou mais partes (com rollover).
+     *
+     * @return número de partes escritas
+     */
+    int write(Iterator<?> data, PartSink sink) throws IOException {
+        checkCancelled();
+        this.sink = sink;
+        this.parts = 0;
+        // Pool da thread que escreve (a planilha pode ser gerada em segundo plano)
+        this.pool = reuseBuffers ? PackageBuffers.forCurrentThread() : null;
+        openPart();
+        if (columns.stream().anyMatch(ColumnMetadata::shouldExpandRows)) {
+            writeExpandedData(data);
+        } else {
+            writeSimpleData(data);
+        }
+        closePart();
+        return parts;
+    }
+
+    /**
+     * Abre a próxima parte e escreve tudo até o header.
+     */
+    private void openPart() throws IOException {
+        parts++;
+        buffer = pool != null ? pool.takeBuffer() : new byte[PackageBuffers.BUFFER_SIZE];
+        out = new XmlByteWriter(sink.openPart(), buffer);
+        mergedRegions = new ArrayList<>();
+        int headerRow = metadata.getStartRow() + 1;
+
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .ascii("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"")
+                .ascii(" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">");
+
+        writeSheetView(out, headerRow);
+        writeColumns(out);
+
+        out.ascii("<sheetData>");
+        writeHeader(out, headerRow);
+        rowNumber = headerRow + 1;
+    }
+
+    private void closePart() throws IOException {
+        out.ascii("</sheetData>");
+        writeMergedRegions(out, mergedRegions);
+        out.ascii("</worksheet>");
+        out.flush();
+        if (pool != null) {
+            pool.giveBuffer(buffer);
+        }
+        sink.closePart();
+    }
+
+    /**
+     * Interrompe a escrita em andamento na próxima linha. Usado nas planilhas geradas em segundo
+     * plano, para que parem de consumir os dados quando a exportação falha.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new ExcelExportException("Escrita da planilha " + metadata.getSheetName() + " cancelada");
+        }
+    }
+
+    private boolean isPartFull() {
+        return rowNumber > maxRowsPerSheet;
+    }
+
+    /**
+     * Número da próxima linha de dados, passando para uma nova parte quando o limite é atingido.
+     */
+    private int nextRow() throws IOException {
+        checkCancelled();
+        if (isPartFull()) {
+            if (!sheetRollover) {
+                throw new ExcelExportException("Limite de " + maxRowsPerSheet
+                        + " linhas excedido na planilha " + metadata.getSheetName());
+            }
+            closePart();
+            openPart();
+        }
+        return rowNumber++;
+    }
+
+    private void writeSheetView(XmlByteWriter out, int headerRow) throws IOException {
+        out.ascii("<sheetViews><sheetView workbookViewId=\"0\"");
+        if (!metadata.isFreezeHeader()) {
+            out.ascii("/></sheetViews>");
+            return;
+        }
+
+        out.ascii("><pane ySplit=\"").number(headerRow)
+                .ascii("\" topLeftCell=\"A").number(headerRow + 1)
+                .ascii("\" activePane=\"bottomLeft\" state=\"frozen\"/>")
+                .ascii("<selection pane=\"bottomLeft\"/></sheetView></sheetViews>");
+    }
+
+    /**
+     * Larguras: a definida na anotação ou a estimada pelo header, como no writer POI.
+     */
+    private void writeColumns(XmlByteWriter out) throws IOException {
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        out.ascii("<cols>");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata column = columns.get(i);
+            int width = column.getWidth() > 0
+                    ? column.getWidth()
+                    : Math.max(column.getColumnName().length(), 10);
+            out.ascii("<col min=\"").number(i + 1).ascii("\" max=\"").number(i + 1)
+                    .ascii("\" width=\"").number(width).ascii("\" customWidth=\"1\"/>");
+        }
+        out.ascii("</cols>");
+    }
+
+    private void writeHeader(XmlByteWriter out, int rowNumber) throws IOException {
+        out.ascii("<row r=\"").number(rowNumber).ascii("\">");
+        for (int i = 0; i < columns.size(); i++) {
+            writeCellStart(out, i, rowNumber, headerStyle);
+            writeInlineString(out, columns.get(i).getColumnName());
+        }
+        out.ascii("</row>");
+    }
+
+    private void writeSimpleData(Iterator<?> data) throws IOException {
+        try {
+            while (data.hasNext()) {
+                Object item = data.next();
+                int row = nextRow();
+                out.ascii("<row r=\"").number(row).ascii("\">");
+                for (int i = 0; i < columns.size(); i++) {
+                    ColumnMetadata column = columns.get(i);
+                    if (item != null && column.hasDoubleAccessor()) {
+                        // Primitivos numéricos são lidos como double, sem wrapper por célula
+                        writeCellStart(out, i, row, OoxmlStyles.styleFor(columnStyles[i], ExcelCellValueType.NUMBER));
+                        writeNumber(out, column.extractDouble(item));
+                    } else {
+                        writeCell(out, i, row, ExcelStreamingWriter.extractValue(item, column));
+                    }
+                }
+                out.ascii("</row>");
+            }
+        } catch (IOException | ExcelExportException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelExportException("Erro ao processar dados na linha " + (rowNumber - 1), e);
+        }
+    }
+
+    private void writeExpandedData(Iterator<?> data) throws IOException {
+        int firstRowInGroup = rowNumber;
+
+        Iterator<? extends RowExpander.ExpandedRow<?>> expandedRows = RowExpander.expand(data, columns);
+        while (expandedRows.hasNext()) {
+            RowExpander.ExpandedRow<?> expandedRow = expandedRows.next();
+            // Grupo que continua na próxima parte: o merge é fechado nesta e os valores do
+            // objeto são repetidos na primeira linha da nova parte
+            boolean continuesGroup = !expandedRow.isFirstRow() && isPartFull();
+            if (continuesGroup) {
+                addMergedRegions(expandedRow, firstRowInGroup, rowNumber - 1);
+            }
+            int row = nextRow();
+            if (expandedRow.isFirstRow() || continuesGroup) {
+                firstRowInGroup = row;
+            }
+
+            out.ascii("<row r=\"").number(row).ascii("\">");
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnMetadata column = columns.get(i);
+                // Só preenche a célula na primeira linha do grupo ou nas colunas da lista expandida
+                Object value = null;
+                if (row == firstRowInGroup || column.shouldExpandRows()) {
+                    try {
+                        value = ExcelStreamingWriter.extractExpandedValue(expandedRow, column);
+                    } catch (Exception e) {
+                        throw new ExcelExportException("Erro ao extrair valor da coluna " + column.getColumnName(), e);
+                    }
+                }
+                writeCell(out, i, row, value);
+            }
+            out.ascii("</row>");
+
+            if (expandedRow.isLastRow()) {
+                addMergedRegions(expandedRow, firstRowInGroup, row);
+            }
+        }
+    }
+
+    private void addMergedRegions(RowExpander.ExpandedRow<?> expandedRow, int firstRow, int lastRow) {
+        if (!expandedRow.shouldMerge() || firstRow >= lastRow) {
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!columns.get(i).shouldExpandRows()) {
+                mergedRegions.add(new int[]{firstRow, lastRow, i});
+            }
+        }
+    }
+
+    private void writeMergedRegions(XmlByteWriter out, List<int[]> mergedRegions) throws IOException {
+        if (mergedRegions.isEmpty()) {
+            return;
+        }
+
+        out.ascii("<mergeCells count=\"").number(mergedRegions.size()).ascii("\">");
+        for (int[] region : mergedRegions) {
+            byte[] column = columnRefs[region[2]];
+            out.ascii("<mergeCell ref=\"").raw(column).number(region[0])
+                    .ascii(":").raw(column).number(region[1]).ascii("\"/>");
+        }
+        out.ascii("</mergeCells>");
+    }
+
+    /**
+     * Escreve uma célula com o mesmo tipo e estilo que {@link ExcelCellValueType} aplicaria no POI.
+     */
+    private void writeCell(XmlByteWriter out, int column, int rowNumber, Object value) throws IOException {
+        if (value == null) {
+            out.ascii("<c r=\"").raw(columnRefs[column]).number(rowNumber).ascii("\"/>");
+            return;
+        }
+
+        ExcelCellValueType type = columnTypes[column];
+        if (type == null) {
+            type = ExcelCellValueType.fromClass(value.getClass());
+        }
+        writeCellStart(out, column, rowNumber, OoxmlStyles.styleFor(columnStyles[column], type));
+
+        switch (type) {
+            case STRING -> writeString(out, column, (String) value);
+            case NUMBER -> writeNumber(out, ((Number) value).doubleValue());
+            case BOOLEAN -> out.ascii(" t=\"b\"><v>").ascii((Boolean) value ? "1" : "0").ascii("</v></c>");
+            case DATE -> writeNumber(out, dates.serial((Date) value));
+            case LOCAL_DATE -> writeNumber(out, dates.serial((LocalDate) value));
+            case LOCAL_DATE_TIME -> writeNumber(out, dates.serial((LocalDateTime) value));
+            case LOCAL_TIME -> writeNumber(out, dates.serial((LocalTime) value));
+            case INSTANT -> writeNumber(out, dates.serial((Instant) value));
+            case OFFSET_DATE_TIME -> writeNumber(out, dates.serial((OffsetDateTime) value));
+            case ZONED_DATE_TIME -> writeNumber(out, dates.serial((ZonedDateTime) value));
+        }
+    }
+
+    /**
+     * Abre a célula com referência e estilo; o tipo e o valor são escritos em seguida.
+     */
+    private void writeCellStart(XmlByteWriter out, int column, int rowNumber, int style) throws IOException {
+        out.ascii("<c r=\"").raw(columnRefs[column]).number(rowNumber).ascii("\" s=\"").number(style).ascii("\"");
+    }
+
+    private static void writeNumber(XmlByteWriter out, double value) throws IOException {
+        // Mesmo tratamento do POI: infinito vira #DIV/0! e NaN vira #NUM!
+        if (Double.isInfinite(value)) {
+            out.ascii(" t=\"e\"><v>#DIV/0!</v></c>");
+        } else if (Double.isNaN(value)) {
+            out.ascii(" t=\"e\"><v>#NUM!</v></c>");
+        } else {
+            out.ascii("><v>").number(value).ascii("</v></c>");
+        }
+    }
+
+    private void writeString(XmlByteWriter out, int column, String value) throws IOException {
+        if (stringColumns[column].isShared(value)) {
+            checkLength(value);
+            int index = sharedStrings.indexOf(value);
+            if (index >= 0) {
+                out.ascii(" t=\"s\"><v>").number(index).ascii("</v></c>");
+                return;
+            }
+        }
+        writeInlineString(out, value);
+    }
+
+    private static void writeInlineString(XmlByteWriter out, String value) throws IOException {
+        checkLength(value);
+        out.ascii(" t=\"inlineStr\"><is>");
+        writeText(out, value);
+        out.ascii("</is></c>");
+    }
+
+    /**
+     * Escreve o elemento {@code <t>} preservando espaços nas pontas, como o POI.
+     */
+    static void writeText(XmlByteWriter out, String value) throws IOException {
+        out.ascii("<t");
+        if (!value.isEmpty()
+                && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+            out.ascii(" xml:space=\"preserve\"");
+        }
+        out.ascii(">").text(value).ascii("</t>");
+    }
+
+    private static void checkLength(String value) {
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new ExcelExportException(
+                    "O tamanho máximo do conteúdo de uma célula é " + MAX_TEXT_LENGTH + " caracteres");
+        }
+    }
+
+    /**
+     * Destino das partes de uma planilha. Cada parte é aberta, escrita e fechada antes da próxima;
+     * o stream aberto não deve ser fechado pelo writer.
+     */
+    interface PartSink {
+        OutputStream openPart() throws IOException;
+
+        void closePart() throws IOException;
+    }
+
+    /**
+     * Decide, por coluna, se os textos vão para a tabela de shared strings.
+     * Em AUTO, os primeiros valores (gravados inline) formam uma amostra: se houver muita repetição
+     * a coluna passa a SHARED, senão a INLINE.
+     */
+    private static final class StringColumn {
+        private static final int SAMPLE_SIZE = 128;
+        /** Colunas com até 1 valor distinto a cada 4 da amostra são consideradas categóricas. */
+        private static final int MAX_SAMPLE_DISTINCT = SAMPLE_SIZE / 4;
+        /** Textos longos raramente se repetem e não compensam ficar na tabela. */
+        private static final int MAX_SAMPLED_LENGTH = 255;
+
+        private StringStorage storage;
+        private Set<String> sample;
+        private int sampled;
+
+        private StringColumn(StringStorage storage) {
+            this.storage = storage;
+            if (storage == StringStorage.AUTO) {
+                this.sample = new HashSet<>();
+            }
+        }
+
+        private boolean isShared(String value) {
+            if (storage == StringStorage.AUTO) {
+                sample(value);
+                return false;
+            }
+            return storage == StringStorage.SHARED;
+        }
+
+        private void sample(String value) {
+            if (value.length() > MAX_SAMPLED_LENGTH) {
+                decide(StringStorage.INLINE);
+                return;
+            }
+            sample.add(value);
+            sampled++;
+            if (sample.size() > MAX_SAMPLE_DISTINCT) {
+                decide(StringStorage.INLINE);
+            } else if (sampled == SAMPLE_SIZE) {
+                decide(StringStorage.SHARED);
+            }
+        }
+
+        private void decide(StringStorage decision) {
+            storage = decision;
+            sample = null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.writer.Writer;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writer que gera o pacote .xlsx (SpreadsheetML) diretamente, sem Apache POI SXSSF.
+ * <p>
+ * O XML da planilha é escrito em bytes direto no zip sobre o stream de destino:
+ * não há arquivos temporários nem objetos Row/Cell por célula, e o styles.xml é montado a partir
+ * dos metadados antes das linhas. Por padrão as células usam inline strings, como o SXSSF; com
+ * {@link ExcelWriterOptions#getStringStorage()} ou {@code @SheetColumn(stringStorage)} as colunas
+ * categóricas usam uma tabela de shared strings limitada.
+ * <p>
+ * Como o pacote é escrito no destino, {@link #write(List)} apenas valida e guarda os dados;
+ * a geração acontece em {@link #saveToStream(OutputStream)} / {@link #saveToFile(String)}.
+ * Para várias planilhas no mesmo arquivo, use o {@link OoxmlWorkbookWriter}.
+ */
+public class OoxmlStreamingWriter implements Writer {
+
+    private final SheetMetadata metadata;
+    private final ExcelWriterOptions options;
+    private OoxmlWorkbookWriter workbook;
+
+    public OoxmlStreamingWriter(SheetMetadata metadata) {
+        this(metadata, ExcelWriterOptions.defaults());
+    }
+
+    public OoxmlStreamingWriter(SheetMetadata metadata, ExcelWriterOptions options) {
+        this.metadata = metadata;
+        this.options = options;
+    }
+
+    /**
+     * Valida a planilha e guarda os dados para a escrita do pacote.
+     */
+    @Override
+    public <T> void write(List<T> data) throws ExcelExportException {
+        this.workbook = new OoxmlWorkbookWriter(options).addSheet(metadata, data);
+    }
+
+    /**
+     * Valida a planilha e guarda o iterador, consumido na escrita do pacote (uma única vez).
+     */
+    @Override
+    public <T> void write(Iterator<T> data) throws ExcelExportException {
+        this.workbook = new OoxmlWorkbookWriter(options).addSheet(metadata, data);
+    }
+
+    /**
+     * Como {@link #write(Iterator)}, informando o número de objetos do iterador: exportações
+     * pequenas são então montadas em memória e gravadas no destino de uma só vez.
+     */
+    public <T> void write(Iterator<T> data, int rows) throws ExcelExportException {
+        this.workbook = new OoxmlWorkbookWriter(options).addSheet(metadata, data, rows);
+    }
+
+    /**
+     * Número de planilhas geradas no último salvamento (mais de uma quando houve rollover).
+     */
+    public int getSheetCount() {
+        return workbook != null ? workbook.getSheetCount() : 0;
+    }
+
+    /**
+     * Gera o pacote em um arquivo.
+     */
+    @Override
+    public void saveToFile(String filePath) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(filePath)) {
+            saveToStream(fos);
+        }
+    }
+
+    /**
+     * Gera o pacote no OutputStream, que é descarregado mas não fechado.
+     */
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        if (workbook == null) {
+            throw new IllegalStateException("write deve ser chamado antes de salvar");
+        }
+        workbook.saveToStream(outputStream);
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
+import br.com.easypojo2sheet.model.enums.VerticalAlignment;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tabela de estilos (xl/styles.xml) do {@link OoxmlStreamingWriter}, montada antes da escrita das linhas.
+ * <p>
+ * Gera os mesmos estilos que o {@link CellStyleFactory} cria no POI: header em negrito centralizado,
+ * e por coluna um estilo de texto, um numérico (com numberFormat) e um de data (com dateFormat),
+ * todos com o alinhamento da coluna. Estilos iguais são compartilhados.
+ */
+final class OoxmlStyles {
+
+    private static final int FIRST_CUSTOM_FORMAT_ID = 164;
+
+    private static final int REGULAR_FONT = 0;
+    private static final int BOLD_FONT = 1;
+
+    private final Map<String, Integer> customFormats = new LinkedHashMap<>();
+    private final List<Xf> xfs = new ArrayList<>();
+    private final Map<Xf, Integer> xfIndexes = new HashMap<>();
+    private final int headerStyle;
+
+    OoxmlStyles() {
+        // Índice 0 é o estilo padrão exigido pelo formato
+        register(new Xf(0, REGULAR_FONT, null, null));
+        this.headerStyle = register(new Xf(0, BOLD_FONT, HorizontalAlignment.CENTER, VerticalAlignment.CENTER));
+    }
+
+    int headerStyle() {
+        return headerStyle;
+    }
+
+    /**
+     * Registra os estilos das colunas de uma planilha.
+     *
+     * @return por coluna, os índices dos estilos de texto, número e data (ver {@link #styleFor})
+     */
+    int[][] registerColumns(List<ColumnMetadata> columns) {
+        int[][] columnStyles = new int[columns.size()][];
+        for (int i = 0; i < columnStyles.length; i++) {
+            ColumnMetadata column = columns.get(i);
+            HorizontalAlignment align = column.getHorizontalAlignment();
+            VerticalAlignment valign = column.getVerticalAlignment();
+
+            int cell = register(new Xf(0, REGULAR_FONT, align, valign));
+            String numberFormat = column.getNumberFormat();
+            int number = numberFormat == null || numberFormat.isEmpty()
+                    ? cell
+                    : register(new Xf(formatId(numberFormat), REGULAR_FONT, align, valign));
+            int date = cell;
+            if (CellStyleFactory.mayHoldDates(column)) {
+                String datePattern = CellStyleFactory.convertJavaDatePatternToExcel(CellStyleFactory.getDatePattern(column));
+                date = register(new Xf(formatId(datePattern), REGULAR_FONT, align, valign));
+            }
+
+            columnStyles[i] = new int[CellStyleFactory.STYLE_SLOTS];
+            columnStyles[i][CellStyleFactory.CELL_SLOT] = cell;
+            columnStyles[i][CellStyleFactory.NUMBER_SLOT] = number;
+            columnStyles[i][CellStyleFactory.DATE_SLOT] = date;
+        }
+        return columnStyles;
+    }
+
+    /**
+     * Índice do estilo (atributo s da célula) para o tipo de valor, a partir dos estilos da coluna.
+     */
+    static int styleFor(int[] columnStyles, ExcelCellValueType type) {
+        return columnStyles[type.styleSlot()];
+    }
+
+    private int formatId(String format) {
+        int builtin = BuiltinFormats.getBuiltinFormat(format);
+        if (builtin != -1) {
+            return builtin;
+        }
+        return customFormats.computeIfAbsent(format, f -> FIRST_CUSTOM_FORMAT_ID + customFormats.size());
+    }
+
+    private int register(Xf xf) {
+        Integer index = xfIndexes.get(xf);
+        if (index == null) {
+            index = xfs.size();
+            xfs.add(xf);
+            xfIndexes.put(xf, index);
+        }
+        return index;
+    }
+
+    void write(XmlByteWriter out) throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+
+        if (!customFormats.isEmpty()) {
+            out.ascii("<numFmts count=\"").number(customFormats.size()).ascii("\">");
+            for (Map.Entry<String, Integer> format : customFormats.entrySet()) {
+                out.ascii("<numFmt numFmtId=\"").number(format.getValue())
+                        .ascii("\" formatCode=\"").text(format.getKey()).ascii("\"/>");
+            }
+            out.ascii("</numFmts>");
+        }
+
+        out.ascii("<fonts count=\"2\">")
+                .ascii("<font><sz val=\"11\"/><color theme=\"1\"/><name val=\"Calibri\"/><family val=\"2\"/><scheme val=\"minor\"/></font>")
+                .ascii("<font><b/><sz val=\"11\"/><color theme=\"1\"/><name val=\"Calibri\"/><family val=\"2\"/><scheme val=\"minor\"/></font>")
+                .ascii("</fonts>")
+                .ascii("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>")
+                .ascii("<fill><patternFill patternType=\"gray125\"/></fill></fills>")
+                .ascii("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>")
+                .ascii("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+
+        out.ascii("<cellXfs count=\"").number(xfs.size()).ascii("\">");
+        for (Xf xf : xfs) {
+            xf.write(out);
+        }
+        out.ascii("</cellXfs>")
+                .ascii("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>")
+                .ascii("</styleSheet>");
+    }
+
+    private static final class Xf {
+        private final int numFmtId;
+        private final int fontId;
+        private final HorizontalAlignment align;
+        private final VerticalAlignment valign;
+
+        private Xf(int numFmtId, int fontId, HorizontalAlignment align, VerticalAlignment valign) {
+            this.numFmtId = numFmtId;
+            this.fontId = fontId;
+            this.align = align;
+            this.valign = valign;
+        }
+
+        private void write(XmlByteWriter out) throws IOException {
+            out.ascii("<xf numFmtId=\"").number(numFmtId)
+                    .ascii("\" fontId=\"").number(fontId)
+                    .ascii("\" fillId=\"0\" borderId=\"0\" xfId=\"0\"");
+            if (numFmtId != 0) {
+                out.ascii(" applyNumberFormat=\"1\"");
+            }
+            if (fontId != REGULAR_FONT) {
+                out.ascii(" applyFont=\"1\"");
+            }
+            if (valign == null) {
+                out.ascii("/>");
+                return;
+            }
+
+            out.ascii(" applyAlignment=\"1\"><alignment");
+            if (align != null && align != HorizontalAlignment.AUTO) {
+                out.ascii(" horizontal=\"").ascii(horizontal(align)).ascii("\"");
+            }
+            out.ascii(" vertical=\"").ascii(vertical(valign)).ascii("\"/></xf>");
+        }
+
+        private static String horizontal(HorizontalAlignment align) {
+            return switch (align) {
+                case LEFT -> "left";
+                case CENTER -> "center";
+                case RIGHT -> "right";
+                case JUSTIFY -> "justify";
+                case AUTO -> "general";
+            };
+        }
+
+        private static String vertical(VerticalAlignment valign) {
+            return switch (valign) {
+                case TOP -> "top";
+                case CENTER -> "center";
+                case BOTTOM -> "bottom";
+            };
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Xf)) {
+                return false;
+            }
+            Xf other = (Xf) o;
+            return numFmtId == other.numFmtId && fontId == other.fontId
+                    && align == other.align && valign == other.valign;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(numFmtId, fontId, align, valign);
+        }
+    }
+}
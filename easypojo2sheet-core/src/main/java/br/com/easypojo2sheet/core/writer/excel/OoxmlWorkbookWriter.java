@@ -0,0 +1,534 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import org.apache.poi.ss.util.WorkbookUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera um pacote .xlsx com várias planilhas diretamente, sem Apache POI SXSSF.
+ * <p>
+ * Cada planilha recebe seus próprios metadados e dados; estilos e shared strings são do workbook.
+ * Com {@link ExcelWriterOptions#getSheetExecutor()} as planilhas a partir da segunda são geradas
+ * no executor, cada uma comprimida em memória, enquanto a primeira é escrita no destino pela thread
+ * chamadora; o zip é montado na ordem em que as planilhas foram adicionadas. Sem executor, todas
+ * são escritas em sequência direto no destino.
+ * <p>
+ * Com {@link ExcelWriterOptions#getCompressionThreads()} maior que 1, as planilhas escritas no
+ * destino são comprimidas em blocos paralelos ({@link ParallelDeflaterOutputStream}).
+ * <p>
+ * Com {@link ExcelWriterOptions#isSheetRollover()}, uma planilha que passa do limite de linhas
+ * continua em novas planilhas ("Nome (2)"...). Como o total de planilhas só é conhecido depois
+ * da escrita, workbook.xml, suas relações e o [Content_Types].xml vão para o final do zip.
+ * <p>
+ * Com uma única planilha, as partes que dependem só dos metadados (tipos de conteúdo, relações,
+ * workbook.xml e styles.xml) vêm já comprimidas do cache de {@link StaticParts}. Pacotes pequenos
+ * (listas com até {@value #SMALL_EXPORT_ROWS} linhas no total) são montados em memória e gravados
+ * no destino de uma só vez.
+ */
+public class OoxmlWorkbookWriter {
+
+    private static final String CONTENT_TYPES_PART = "[Content_Types].xml";
+    private static final String ROOT_RELATIONSHIPS_PART = "_rels/.rels";
+    private static final String WORKBOOK_PART = "xl/workbook.xml";
+    private static final String WORKBOOK_RELATIONSHIPS_PART = "xl/_rels/workbook.xml.rels";
+    private static final String STYLES_PART = "xl/styles.xml";
+    private static final String SHARED_STRINGS_PART = "xl/sharedStrings.xml";
+
+    /** Linhas até as quais o pacote é montado em memória (alguns KB a poucas centenas de KB comprimidos). */
+    static final int SMALL_EXPORT_ROWS = 2_000;
+    private static final int SMALL_PACKAGE_SIZE = 16 * 1024;
+
+    private final ExcelWriterOptions options;
+    private final List<SheetData> sheets = new ArrayList<>();
+    private final Set<String> sheetNames = new HashSet<>();
+    private int sheetCount;
+
+    public OoxmlWorkbookWriter() {
+        this(ExcelWriterOptions.defaults());
+    }
+
+    public OoxmlWorkbookWriter(ExcelWriterOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Adiciona uma planilha ao workbook, na ordem das chamadas.
+     *
+     * @throws ExcelExportException se o nome da planilha for inválido ou repetido
+     */
+    public <T> OoxmlWorkbookWriter addSheet(SheetMetadata metadata, List<T> data) throws ExcelExportException {
+        return addSheet(metadata, data, data.size());
+    }
+
+    /**
+     * Adiciona uma planilha cujos dados são lidos sob demanda durante a geração do pacote.
+     * O iterador é consumido uma única vez: o pacote só pode ser gerado uma vez.
+     *
+     * @throws ExcelExportException se o nome da planilha for inválido ou repetido
+     */
+    public <T> OoxmlWorkbookWriter addSheet(SheetMetadata metadata, Iterator<T> data) throws ExcelExportException {
+        return addSheet(metadata, once(data), -1);
+    }
+
+    /**
+     * Como {@link #addSheet(SheetMetadata, Iterator)}, com o número de objetos conhecido de antemão
+     * (ex: o tamanho da coleção de origem), o que permite montar pacotes pequenos em memória.
+     *
+     * @throws ExcelExportException se o nome da planilha for inválido ou repetido
+     */
+    public <T> OoxmlWorkbookWriter addSheet(SheetMetadata metadata, Iterator<T> data, int rows)
+            throws ExcelExportException {
+        return addSheet(metadata, once(data), rows);
+    }
+
+    /**
+     * @param rows número de objetos, ou -1 se desconhecido
+     */
+    private OoxmlWorkbookWriter addSheet(SheetMetadata metadata, Iterable<?> data, int rows) {
+        String sheetName = metadata.getSheetName();
+        try {
+            WorkbookUtil.validateSheetName(sheetName);
+        } catch (IllegalArgumentException e) {
+            throw new ExcelExportException("Erro ao escrever dados no Excel", e);
+        }
+        // O Excel não diferencia maiúsculas de minúsculas nos nomes das planilhas
+        if (!sheetNames.add(sheetName.toUpperCase(Locale.ROOT))) {
+            throw new ExcelExportException("Nome de planilha duplicado: " + sheetName);
+        }
+        sheets.add(new SheetData(metadata, data, rows));
+        return this;
+    }
+
+    /**
+     * Número de planilhas do último pacote gerado, incluindo as criadas por rollover.
+     */
+    public int getSheetCount() {
+        return sheetCount;
+    }
+
+    /**
+     * Gera o pacote em um arquivo.
+     */
+    public void saveToFile(String filePath) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(filePath)) {
+            saveToStream(fos);
+        }
+    }
+
+    /**
+     * Gera o pacote no OutputStream, que é descarregado mas não fechado.
+     */
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        if (sheets.isEmpty()) {
+            throw new IllegalStateException("Nenhuma planilha adicionada");
+        }
+        if (!isSmall()) {
+            writePackage(outputStream);
+            return;
+        }
+
+        // Pacote pequeno: montado em memória e entregue ao destino em uma única escrita
+        ByteArrayOutputStream memory = new ByteArrayOutputStream(SMALL_PACKAGE_SIZE);
+        writePackage(memory);
+        memory.writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * Indica se todas as planilhas têm tamanho conhecido e, somadas, cabem no caminho em memória.
+     */
+    private boolean isSmall() {
+        long rows = 0;
+        for (SheetData sheet : sheets) {
+            if (sheet.rows < 0) {
+                return false;
+            }
+            rows += sheet.rows;
+        }
+        return rows <= SMALL_EXPORT_ROWS;
+    }
+
+    private void writePackage(OutputStream outputStream) throws IOException {
+        // Estilos são registrados aqui, antes das linhas; durante a escrita só são lidos
+        OoxmlStyles styles = new OoxmlStyles();
+        OoxmlSharedStrings sharedStrings = new OoxmlSharedStrings(options.getSharedStringsLimit());
+        List<OoxmlSheetWriter> sheetWriters = new ArrayList<>(sheets.size());
+        boolean withSharedStrings = false;
+        for (SheetData sheet : sheets) {
+            OoxmlSheetWriter sheetWriter = new OoxmlSheetWriter(sheet.metadata, styles, sharedStrings, options);
+            sheetWriters.add(sheetWriter);
+            withSharedStrings |= sheetWriter.usesSharedStrings();
+        }
+        StaticParts cached = sheets.size() == 1
+                ? staticParts(sheets.get(0).metadata, styles, withSharedStrings)
+                : null;
+
+        ExecutorService deflateExecutor = createDeflateExecutor();
+        List<CompletableFuture<List<DeflatedPart>>> rendered = renderInBackground(sheetWriters);
+        try {
+            PackageBuffers pool = PackageBuffers.forOptions(options);
+            ZipPackageWriter zip = new ZipPackageWriter(outputStream, options.getCompressionProfile().getLevel(),
+                    deflateExecutor, options.getCompressionThreads(), pool);
+            boolean rollover = options.isSheetRollover();
+            if (!rollover) {
+                writePackageParts(zip, pool, sheetNames(new int[sheets.size()]), withSharedStrings, cached);
+            }
+
+            // Partes de cada planilha: 1 sem rollover
+            int[] parts = new int[sheets.size()];
+            int written = 0;
+            for (int i = 0; i < sheets.size(); i++) {
+                if (rendered.get(i) == null) {
+                    Iterator<?> data = sheets.get(i).data.iterator();
+                    parts[i] = sheetWriters.get(i).write(data, new ZipPartSink(zip, written));
+                } else {
+                    List<DeflatedPart> sheetParts = await(rendered.get(i));
+                    for (int part = 0; part < sheetParts.size(); part++) {
+                        zip.writeDeflated(sheetPart(written + part), sheetParts.get(part));
+                    }
+                    parts[i] = sheetParts.size();
+                }
+                written += parts[i];
+            }
+
+            List<String> names = sheetNames(parts);
+            if (rollover) {
+                writePackageParts(zip, pool, names, withSharedStrings, cached);
+            }
+
+            // Shared strings só ficam completas depois das planilhas
+            if (cached != null) {
+                zip.writeDeflated(STYLES_PART, cached.styles());
+            } else {
+                writePart(zip, pool, STYLES_PART, styles::write);
+            }
+            if (withSharedStrings) {
+                writePart(zip, pool, SHARED_STRINGS_PART, sharedStrings::write);
+            }
+            zip.finish();
+            sheetCount = names.size();
+        } finally {
+            stopBackgroundRenders(rendered, sheetWriters);
+            if (deflateExecutor != null) {
+                deflateExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Partes que listam as planilhas: tipos de conteúdo, relações, workbook.xml e suas relações.
+     *
+     * @param cached partes da planilha única, usadas se não houve rollover; ou null
+     */
+    private void writePackageParts(ZipPackageWriter zip, PackageBuffers pool, List<String> names,
+                                   boolean withSharedStrings, StaticParts cached) throws IOException {
+        if (cached != null && names.size() == 1) {
+            zip.writeDeflated(CONTENT_TYPES_PART, cached.contentTypes());
+            zip.writeDeflated(ROOT_RELATIONSHIPS_PART, cached.rootRelationships());
+            zip.writeDeflated(WORKBOOK_PART, cached.workbook());
+            zip.writeDeflated(WORKBOOK_RELATIONSHIPS_PART, cached.workbookRelationships());
+            return;
+        }
+        writePart(zip, pool, CONTENT_TYPES_PART, out -> writeContentTypes(out, names.size(), withSharedStrings));
+        writePart(zip, pool, ROOT_RELATIONSHIPS_PART, OoxmlWorkbookWriter::writeRootRelationships);
+        writePart(zip, pool, WORKBOOK_PART, out -> writeWorkbook(out, names, options.isDate1904()));
+        writePart(zip, pool, WORKBOOK_RELATIONSHIPS_PART,
+                out -> writeWorkbookRelationships(out, names.size(), withSharedStrings));
+    }
+
+    /**
+     * Partes fixas de um pacote com uma única planilha, comprimidas uma vez por metadados.
+     * Os estilos do workbook vêm só dessa planilha, então o styles.xml também entra no cache.
+     */
+    private StaticParts staticParts(SheetMetadata metadata, OoxmlStyles styles, boolean withSharedStrings)
+            throws IOException {
+        int level = options.getCompressionProfile().getLevel();
+        List<String> names = List.of(metadata.getSheetName());
+        boolean date1904 = options.isDate1904();
+        return StaticParts.get(metadata, level, withSharedStrings, date1904, () -> new StaticParts(
+                deflate(level, out -> writeContentTypes(out, 1, withSharedStrings)),
+                deflate(level, OoxmlWorkbookWriter::writeRootRelationships),
+                deflate(level, out -> writeWorkbook(out, names, date1904)),
+                deflate(level, out -> writeWorkbookRelationships(out, 1, withSharedStrings)),
+                deflate(level, styles::write)));
+    }
+
+    private static DeflatedPart deflate(int level, PartContent content) throws IOException {
+        return DeflatedPart.deflate(level, target -> {
+            XmlByteWriter out = new XmlByteWriter(target);
+            content.write(out);
+            out.flush();
+        }).compact();
+    }
+
+    /**
+     * Nomes de todas as planilhas do pacote. As continuações recebem o sufixo " (2)", " (3)"...,
+     * pulando números que colidam com nomes já usados.
+     *
+     * @param parts partes de cada planilha (0 é tratado como 1)
+     */
+    private List<String> sheetNames(int[] parts) {
+        List<String> names = new ArrayList<>();
+        Set<String> used = new HashSet<>(sheetNames);
+        for (int i = 0; i < sheets.size(); i++) {
+            String baseName = sheets.get(i).metadata.getSheetName();
+            names.add(baseName);
+            for (int part = 1; part < parts[i]; part++) {
+                names.add(SheetNames.rollover(baseName, used));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Pool da compressão paralela, criado por exportação e encerrado ao final.
+     */
+    private ExecutorService createDeflateExecutor() {
+        int threads = options.getCompressionThreads();
+        if (threads <= 1) {
+            return null;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "easypojo2sheet-deflate-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Agenda no executor as planilhas a partir da segunda. A lista tem null nas planilhas que
+     * serão escritas direto no destino.
+     */
+    private List<CompletableFuture<List<DeflatedPart>>> renderInBackground(List<OoxmlSheetWriter> sheetWriters) {
+        Executor executor = options.getSheetExecutor();
+        int level = options.getCompressionProfile().getLevel();
+        List<CompletableFuture<List<DeflatedPart>>> rendered = new ArrayList<>(sheets.size());
+        for (int i = 0; i < sheets.size(); i++) {
+            if (executor == null || i == 0) {
+                rendered.add(null);
+                continue;
+            }
+            Iterable<?> data = sheets.get(i).data;
+            OoxmlSheetWriter sheetWriter = sheetWriters.get(i);
+            rendered.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    DeflatedPartSink sink = new DeflatedPartSink(level);
+                    sheetWriter.write(data.iterator(), sink);
+                    return sink.parts;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        return rendered;
+    }
+
+    /**
+     * Em caso de falha, cancela as planilhas ainda em geração e espera que parem, para que não
+     * continuem consumindo os iteradores do chamador depois que a exportação terminou.
+     */
+    private static void stopBackgroundRenders(List<CompletableFuture<List<DeflatedPart>>> rendered,
+                                              List<OoxmlSheetWriter> sheetWriters) {
+        for (int i = 0; i < rendered.size(); i++) {
+            if (rendered.get(i) != null && !rendered.get(i).isDone()) {
+                sheetWriters.get(i).cancel();
+            }
+        }
+        for (CompletableFuture<List<DeflatedPart>> future : rendered) {
+            if (future != null) {
+                try {
+                    future.join();
+                } catch (CompletionException ignored) {
+                    // A falha original já está sendo propagada
+                }
+            }
+        }
+    }
+
+    private static List<DeflatedPart> await(CompletableFuture<List<DeflatedPart>> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Erro ao gerar planilha", cause);
+        }
+    }
+
+    private static String sheetPart(int index) {
+        return "xl/worksheets/sheet" + (index + 1) + ".xml";
+    }
+
+    private static void writePart(ZipPackageWriter zip, PackageBuffers pool, String name, PartContent content)
+            throws IOException {
+        byte[] buffer = pool != null ? pool.takeBuffer() : new byte[PackageBuffers.BUFFER_SIZE];
+        zip.writeEntry(name, target -> {
+            XmlByteWriter out = new XmlByteWriter(target, buffer);
+            content.write(out);
+            out.flush();
+        });
+        if (pool != null) {
+            pool.giveBuffer(buffer);
+        }
+    }
+
+    private static void writeContentTypes(XmlByteWriter out, int sheetCount, boolean withSharedStrings)
+            throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .ascii("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .ascii("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .ascii("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .ascii("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 0; i < sheetCount; i++) {
+            out.ascii("<Override PartName=\"/" + sheetPart(i) + "\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        if (withSharedStrings) {
+            out.ascii("<Override PartName=\"/" + SHARED_STRINGS_PART + "\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        }
+        out.ascii("</Types>");
+    }
+
+    private static void writeRootRelationships(XmlByteWriter out) throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .ascii("<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>")
+                .ascii("</Relationships>");
+    }
+
+    private static void writeWorkbook(XmlByteWriter out, List<String> names, boolean date1904) throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"")
+                .ascii(" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">");
+        if (date1904) {
+            out.ascii("<workbookPr date1904=\"1\"/>");
+        }
+        out.ascii("<bookViews><workbookView/></bookViews>")
+                .ascii("<sheets>");
+        for (int i = 0; i < names.size(); i++) {
+            out.ascii("<sheet name=\"").text(names.get(i))
+                    .ascii("\" sheetId=\"").number(i + 1)
+                    .ascii("\" r:id=\"rId").number(i + 1).ascii("\"/>");
+        }
+        out.ascii("</sheets>")
+                .ascii("</workbook>");
+    }
+
+    /**
+     * Planilhas usam rId1..rIdN; estilos e shared strings vêm em seguida.
+     */
+    private static void writeWorkbookRelationships(XmlByteWriter out, int sheetCount, boolean withSharedStrings)
+            throws IOException {
+        out.ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .ascii("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 0; i < sheetCount; i++) {
+            out.ascii("<Relationship Id=\"rId").number(i + 1)
+                    .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .number(i + 1).ascii(".xml\"/>");
+        }
+        int nextId = sheetCount + 1;
+        out.ascii("<Relationship Id=\"rId").number(nextId)
+                .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>");
+        if (withSharedStrings) {
+            out.ascii("<Relationship Id=\"rId").number(nextId + 1)
+                    .ascii("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        out.ascii("</Relationships>");
+    }
+
+    /**
+     * Iterable que entrega o iterador uma única vez.
+     */
+    private static <T> Iterable<T> once(Iterator<T> iterator) {
+        AtomicBoolean consumed = new AtomicBoolean();
+        return () -> {
+            if (consumed.getAndSet(true)) {
+                throw new IllegalStateException("Os dados da planilha já foram consumidos");
+            }
+            return iterator;
+        };
+    }
+
+    private record SheetData(SheetMetadata metadata, Iterable<?> data, int rows) {
+    }
+
+    /**
+     * Partes escritas direto no zip, numeradas a partir da primeira parte livre.
+     */
+    private static final class ZipPartSink implements OoxmlSheetWriter.PartSink {
+        private final ZipPackageWriter zip;
+        private int nextPart;
+
+        private ZipPartSink(ZipPackageWriter zip, int firstPart) {
+            this.zip = zip;
+            this.nextPart = firstPart;
+        }
+
+        @Override
+        public OutputStream openPart() throws IOException {
+            return zip.beginEntry(sheetPart(nextPart++), true);
+        }
+
+        @Override
+        public void closePart() throws IOException {
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Partes comprimidas em memória, copiadas no zip depois.
+     */
+    private static final class DeflatedPartSink implements OoxmlSheetWriter.PartSink {
+        private final int level;
+        private final List<DeflatedPart> parts = new ArrayList<>();
+        private DeflatedPart.Pending current;
+
+        private DeflatedPartSink(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public OutputStream openPart() {
+            current = DeflatedPart.open(level);
+            return current.stream();
+        }
+
+        @Override
+        public void closePart() throws IOException {
+            parts.add(current.finish());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartContent {
+        void write(XmlByteWriter out) throws IOException;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.util.ArrayDeque;
+import java.util.zip.Deflater;
+
+/**
+ * Buffers de 64 KB e {@link Deflater} reaproveitados entre os pacotes gerados na mesma thread
+ * ({@link ExcelWriterOptions#isReuseBuffers()}).
+ * <p>
+ * Em um workbook pequeno, o custo fixo é dominado pelas alocações: cada parte do zip cria um
+ * Deflater (com a memória nativa do zlib) e buffers para o XML e para a saída comprimida. Aqui
+ * eles são emprestados e devolvidos a cada parte. Cada thread tem o seu pool, sem sincronização;
+ * o que não for devolvido (ex: em caso de erro) é apenas coletado pelo GC.
+ */
+final class PackageBuffers {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Um pacote em escrita usa ao mesmo tempo o buffer do zip, o da parte atual e o do Deflater. */
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final int MAX_POOLED_DEFLATERS = 2;
+
+    private static final ThreadLocal<PackageBuffers> LOCAL = ThreadLocal.withInitial(PackageBuffers::new);
+
+    private final ArrayDeque<byte[]> buffers = new ArrayDeque<>();
+    private final ArrayDeque<Deflater> deflaters = new ArrayDeque<>();
+    private int deflaterLevel;
+
+    private PackageBuffers() {
+    }
+
+    /**
+     * Pool da thread atual, ou null quando as opções não pedem reaproveitamento.
+     */
+    static PackageBuffers forOptions(ExcelWriterOptions options) {
+        return options.isReuseBuffers() ? forCurrentThread() : null;
+    }
+
+    static PackageBuffers forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    byte[] takeBuffer() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[BUFFER_SIZE];
+    }
+
+    void giveBuffer(byte[] buffer) {
+        if (buffers.size() < MAX_POOLED_BUFFERS) {
+            buffers.push(buffer);
+        }
+    }
+
+    /**
+     * Deflater sem cabeçalho zlib, pronto para um novo stream no nível pedido.
+     */
+    Deflater takeDeflater(int level) {
+        if (level != deflaterLevel) {
+            // Outro nível: os Deflaters guardados não servem mais
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+            deflaters.clear();
+            deflaterLevel = level;
+        }
+        Deflater deflater = deflaters.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    void giveDeflater(Deflater deflater) {
+        if (deflaters.size() < MAX_POOLED_DEFLATERS) {
+            deflater.reset();
+            deflaters.push(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compressão DEFLATE em paralelo, no estilo do pigz.
+ * <p>
+ * A entrada é dividida em blocos comprimidos de forma independente no executor. Cada bloco usa os
+ * últimos 32 KB do bloco anterior como dicionário e termina com SYNC_FLUSH (alinhado em byte,
+ * sem o bit final), de modo que a concatenação dos blocos, na ordem, é um único stream DEFLATE
+ * válido; só o último bloco é finalizado. O CRC-32 é calculado na thread chamadora, na ordem dos dados.
+ * <p>
+ * O número de blocos em andamento é limitado para manter a memória constante.
+ */
+final class ParallelDeflaterOutputStream extends ZipEntryOutputStream {
+
+    static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream target;
+    private final int level;
+    private final ExecutorService executor;
+    private final int maxPending;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    private byte[] previousBlock;
+    private int previousLength;
+    private long size;
+    private long compressedSize;
+    private boolean finished;
+
+    ParallelDeflaterOutputStream(OutputStream target, int level, ExecutorService executor, int threads) {
+        this.target = target;
+        this.level = level;
+        this.executor = executor;
+        this.maxPending = threads * 2;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("Stream DEFLATE já finalizado");
+        }
+        crc.update(bytes, offset, length);
+        size += length;
+        while (length > 0) {
+            int count = Math.min(length, BLOCK_SIZE - blockLength);
+            System.arraycopy(bytes, offset, block, blockLength, count);
+            blockLength += count;
+            offset += count;
+            length -= count;
+            if (blockLength == BLOCK_SIZE) {
+                submit(false);
+            }
+        }
+    }
+
+    @Override
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            submit(true);
+            while (!pending.isEmpty()) {
+                writeBlock(pending.removeFirst());
+            }
+        } finally {
+            for (Future<byte[]> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+
+    @Override
+    long crc() {
+        return crc.getValue();
+    }
+
+    @Override
+    long size() {
+        return size;
+    }
+
+    @Override
+    long compressedSize() {
+        return compressedSize;
+    }
+
+    private void submit(boolean last) throws IOException {
+        byte[] input = block;
+        int inputLength = blockLength;
+        byte[] dictionary = previousBlock;
+        int dictionaryLength = Math.min(previousLength, DICTIONARY_SIZE);
+        int dictionaryOffset = previousLength - dictionaryLength;
+
+        pending.addLast(executor.submit(() ->
+                compress(input, inputLength, dictionary, dictionaryOffset, dictionaryLength, last)));
+
+        // O bloco entregue ao executor não é mais alterado e serve de dicionário para o próximo
+        previousBlock = input;
+        previousLength = inputLength;
+        block = new byte[BLOCK_SIZE];
+        blockLength = 0;
+
+        while (pending.size() >= maxPending) {
+            writeBlock(pending.removeFirst());
+        }
+    }
+
+    private byte[] compress(byte[] input, int length, byte[] dictionary, int dictionaryOffset,
+                            int dictionaryLength, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionaryLength > 0) {
+                deflater.setDictionary(dictionary, dictionaryOffset, dictionaryLength);
+            }
+            deflater.setInput(input, 0, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // Com SYNC_FLUSH, saída do tamanho do buffer indica que ainda há dados pendentes
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock(Future<byte[]> future) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compressão interrompida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Erro na compressão paralela", cause);
+        }
+        target.write(compressed);
+        compressedSize += compressed.length;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SXSSFWorkbook que aplica um {@link CompressionProfile}: nível do zip final e compressão dos
+ * arquivos temporários das planilhas.
+ */
+final class ProfiledSXSSFWorkbook extends SXSSFWorkbook {
+
+    private final CompressionProfile profile;
+
+    ProfiledSXSSFWorkbook(int windowSize, CompressionProfile profile) {
+        super(windowSize);
+        this.profile = profile;
+        setCompressTempFiles(profile.isCompressTempFiles());
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        ZipArchiveOutputStream zip = super.createArchiveOutputStream(out);
+        zip.setLevel(profile.getLevel());
+        return zip;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if (isCompressTempFiles()) {
+            return new FastGzipSheetDataWriter(getSharedStringSource());
+        }
+        return super.createSheetDataWriter();
+    }
+
+    /**
+     * Temporários são lidos uma única vez ao salvar: gzip no nível mais rápido basta para reduzir o disco.
+     */
+    private static final class FastGzipSheetDataWriter extends GZIPSheetDataWriter {
+
+        FastGzipSheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+            super(sharedStringsTable);
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            return new GZIPOutputStream(fos) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+    }
+}
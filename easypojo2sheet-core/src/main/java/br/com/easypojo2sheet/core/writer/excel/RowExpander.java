@@ -2,9 +2,11 @@ package br.com.easypojo2sheet.core.writer.excel;
 
 import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Responsável por expandir objetos que contêm listas em múltiplas linhas.
@@ -13,24 +15,27 @@ public class RowExpander {
     
     /**
      * Representa uma linha expandida com informação de merge.
+     * <p>
+     * Nas linhas de {@link RowExpander#expand(Iterator, List)} a mesma instância é reaproveitada
+     * como uma visão da linha atual: os valores valem até a próxima chamada de {@code next()}.
      */
     public static class ExpandedRow<T> {
-        private final T originalItem;
-        private final Object listItem;
-        private final int listItemIndex;
-        private final int totalListItems;
-        private final boolean isFirstRow;
-        private final boolean isLastRow;
-        
+        private T originalItem;
+        private Object listItem;
+        private int listItemIndex;
+        private int totalListItems;
+
         public ExpandedRow(T originalItem, Object listItem, int listItemIndex, int totalListItems) {
+            set(originalItem, listItem, listItemIndex, totalListItems);
+        }
+
+        private void set(T originalItem, Object listItem, int listItemIndex, int totalListItems) {
             this.originalItem = originalItem;
             this.listItem = listItem;
             this.listItemIndex = listItemIndex;
             this.totalListItems = totalListItems;
-            this.isFirstRow = listItemIndex == 0;
-            this.isLastRow = listItemIndex == totalListItems - 1;
         }
-        
+
         public T getOriginalItem() {
             return originalItem;
         }
@@ -48,11 +53,11 @@ public class RowExpander {
         }
         
         public boolean isFirstRow() {
-            return isFirstRow;
+            return listItemIndex == 0;
         }
         
         public boolean isLastRow() {
-            return isLastRow;
+            return listItemIndex == totalListItems - 1;
         }
         
         public boolean shouldMerge() {
@@ -62,6 +67,8 @@ public class RowExpander {
     
     /**
      * Expande uma lista de objetos em linhas, considerando campos que são listas.
+     * <p>
+     * Cria um {@link ExpandedRow} por linha; na escrita use {@link #expand(Iterator, List)}.
      * 
      * @param data lista original de dados
      * @param columns metadados das colunas
@@ -69,51 +76,83 @@ public class RowExpander {
      */
     public static <T> List<ExpandedRow<T>> expandRows(List<T> data, List<ColumnMetadata> columns) {
         List<ExpandedRow<T>> expandedRows = new ArrayList<>();
-        
-        // Encontra o campo que deve ser expandido
+        Iterator<ExpandedRow<T>> rows = expand(data.iterator(), columns);
+        while (rows.hasNext()) {
+            ExpandedRow<T> row = rows.next();
+            expandedRows.add(new ExpandedRow<>(row.getOriginalItem(), row.getListItem(),
+                    row.getListItemIndex(), row.getTotalListItems()));
+        }
+        return expandedRows;
+    }
+    
+    /**
+     * Expande os objetos sob demanda, um por vez, sem criar objetos por linha: o iterador percorre
+     * a lista do objeto atual e devolve sempre a mesma {@link ExpandedRow}, atualizada a cada
+     * {@code next()}. A memória da expansão fica limitada à lista de um objeto.
+     *
+     * @param data objetos originais, consumidos conforme as linhas são lidas
+     * @param columns metadados das colunas
+     * @return iterador das linhas expandidas (visão reaproveitada da linha atual)
+     */
+    public static <T> Iterator<ExpandedRow<T>> expand(Iterator<T> data, List<ColumnMetadata> columns) {
         ColumnMetadata expandColumn = findExpandColumn(columns);
-        
-        if (expandColumn == null) {
-            // Nenhuma coluna para expandir, retorna lista simples
-            for (T item : data) {
-                expandedRows.add(new ExpandedRow<>(item, null, 0, 1));
+
+        return new Iterator<>() {
+            private final ExpandedRow<T> row = new ExpandedRow<>(null, null, 0, 1);
+            private T item;
+            private Iterator<?> listItems = Collections.emptyIterator();
+            private int index;
+            private int total;
+
+            @Override
+            public boolean hasNext() {
+                return listItems.hasNext() || data.hasNext();
             }
-            return expandedRows;
-        }
-        
-        // Expande cada item
-        for (T item : data) {
-            try {
-                Field listField = expandColumn.getField();
-                listField.setAccessible(true);
-                Object fieldValue = listField.get(item);
-                
-                if (fieldValue instanceof List) {
-                    List<?> list = (List<?>) fieldValue;
-                    
-                    if (list.isEmpty()) {
-                        // Lista vazia, adiciona linha única
-                        expandedRows.add(new ExpandedRow<>(item, null, 0, 1));
-                    } else {
-                        // Cria uma linha para cada item da lista
-                        for (int i = 0; i < list.size(); i++) {
-                            expandedRows.add(new ExpandedRow<>(item, list.get(i), i, list.size()));
-                        }
-                    }
-                } else {
-                    // Não é uma lista, adiciona linha única
-                    expandedRows.add(new ExpandedRow<>(item, null, 0, 1));
+
+            @Override
+            public ExpandedRow<T> next() {
+                if (listItems.hasNext()) {
+                    row.set(item, listItems.next(), ++index, total);
+                    return row;
                 }
-                
-            } catch (Exception e) {
-                // Em caso de erro, adiciona linha única
-                expandedRows.add(new ExpandedRow<>(item, null, 0, 1));
+                if (!data.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                item = data.next();
+                List<?> list = listOf(item, expandColumn);
+                if (list == null || list.isEmpty()) {
+                    // Sem lista (ou vazia): linha única
+                    listItems = Collections.emptyIterator();
+                    row.set(item, null, 0, 1);
+                    return row;
+                }
+
+                listItems = list.iterator();
+                index = 0;
+                total = list.size();
+                row.set(item, listItems.next(), 0, total);
+                return row;
             }
+        };
+    }
+
+    /**
+     * Lista a expandir do objeto, ou null se não houver coluna de expansão ou o valor não for uma lista.
+     */
+    private static List<?> listOf(Object item, ColumnMetadata expandColumn) {
+        if (expandColumn == null) {
+            return null;
+        }
+        try {
+            Object fieldValue = expandColumn.extractValue(item);
+            return fieldValue instanceof List<?> list ? list : null;
+        } catch (Exception e) {
+            // Em caso de erro, linha única
+            return null;
         }
-        
-        return expandedRows;
     }
-    
+
     /**
      * Encontra a primeira coluna configurada para expandir linhas.
      */
@@ -0,0 +1,18 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Escreve todas as células de um objeto em uma linha já criada.
+ */
+interface RowSerializer {
+
+    /**
+     * @param item         objeto da linha
+     * @param row          linha de destino
+     * @param columnStyles estilos de cada coluna por slot ({@code [coluna][slot]}), resolvidos no workbook atual
+     * @param dates        conversão de datas do workbook atual (sistema de datas e fuso)
+     */
+    void writeRow(Object item, Row row, CellStyle[][] columnStyles, ExcelDates dates) throws Exception;
+}
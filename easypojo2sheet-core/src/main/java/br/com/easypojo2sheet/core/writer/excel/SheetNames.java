@@ -0,0 +1,41 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Nomes das planilhas criadas por rollover.
+ */
+final class SheetNames {
+
+    /** Limite do Excel para o nome de uma planilha. */
+    static final int MAX_LENGTH = 31;
+
+    private SheetNames() {
+    }
+
+    /**
+     * Nome da planilha de continuação: "Nome (2)", "Nome (3)"... O nome base é truncado para que o
+     * sufixo caiba no limite de 31 caracteres.
+     */
+    static String rollover(String baseName, int index) {
+        String suffix = " (" + index + ")";
+        int maxBase = MAX_LENGTH - suffix.length();
+        String base = baseName.length() > maxBase ? baseName.substring(0, maxBase) : baseName;
+        return base + suffix;
+    }
+
+    /**
+     * Primeiro nome de continuação ("Nome (2)", "Nome (3)"...) que não colide com os já usados,
+     * registrando-o em {@code used}. Os nomes ficam em maiúsculas, já que o Excel não diferencia
+     * maiúsculas de minúsculas nos nomes das planilhas.
+     */
+    static String rollover(String baseName, Set<String> used) {
+        for (int index = 2; ; index++) {
+            String name = rollover(baseName, index);
+            if (used.add(name.toUpperCase(Locale.ROOT))) {
+                return name;
+            }
+        }
+    }
+}
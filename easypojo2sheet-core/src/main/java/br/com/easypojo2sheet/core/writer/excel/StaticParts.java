@@ -0,0 +1,57 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partes de um pacote de planilha única que dependem só dos metadados: [Content_Types].xml,
+ * relações, workbook.xml e styles.xml. Em exportações de poucas centenas de linhas elas custam
+ * quase tanto quanto a própria planilha, então são comprimidas na primeira exportação e copiadas
+ * no zip, sem recompressão, nas seguintes.
+ * <p>
+ * Cacheadas por classe de entidade via {@link ClassValue}, como os serializadores fundidos, e por
+ * nível de compressão, uso de shared strings e sistema de datas. Os metadados ficam em chaves fracas: os montados a
+ * cada exportação (ex: de um ResultSet) são descartados junto com as suas partes.
+ */
+record StaticParts(DeflatedPart contentTypes, DeflatedPart rootRelationships, DeflatedPart workbook,
+                   DeflatedPart workbookRelationships, DeflatedPart styles) {
+
+    private static final ClassValue<Map<SheetMetadata, Map<Variant, StaticParts>>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<SheetMetadata, Map<Variant, StaticParts>> computeValue(Class<?> type) {
+            return Collections.synchronizedMap(new WeakHashMap<>());
+        }
+    };
+
+    /**
+     * Retorna as partes da planilha, gerando-as na primeira chamada.
+     */
+    static StaticParts get(SheetMetadata metadata, int level, boolean withSharedStrings, boolean date1904,
+                           Factory factory) throws IOException {
+        Map<Variant, StaticParts> variants = CACHE.get(metadata.getEntityClass())
+                .computeIfAbsent(metadata, m -> new ConcurrentHashMap<>());
+        Variant variant = new Variant(level, withSharedStrings, date1904);
+        StaticParts parts = variants.get(variant);
+        if (parts == null) {
+            parts = factory.create();
+            StaticParts previous = variants.putIfAbsent(variant, parts);
+            if (previous != null) {
+                parts = previous;
+            }
+        }
+        return parts;
+    }
+
+    private record Variant(int level, boolean withSharedStrings, boolean date1904) {
+    }
+
+    @FunctionalInterface
+    interface Factory {
+        StaticParts create() throws IOException;
+    }
+}
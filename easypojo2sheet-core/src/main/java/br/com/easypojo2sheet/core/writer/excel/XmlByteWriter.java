@@ -0,0 +1,206 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escritor de XML direto em bytes UTF-8, com buffer próprio.
+ * <p>
+ * Evita Writer/encoder do JDK e a criação de objetos por célula: marcação é copiada como ASCII,
+ * textos são escapados e codificados em um único passo e números são formatados no buffer.
+ * Não é thread-safe.
+ */
+final class XmlByteWriter {
+
+    /** Maior sequência gerada por um único char (ex: "&quot;" ou um code point de 4 bytes). */
+    private static final int MAX_CHAR_BYTES = 8;
+
+    /** Maior double que ainda é inteiro exato e cabe em long sem notação científica. */
+    private static final double MAX_EXACT_INTEGER = 1e15;
+
+    /** Potências de 10 das casas decimais escritas sem Double.toString (valores monetários, taxas). */
+    private static final long[] DECIMAL_SCALES = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final byte[] digits = new byte[20];
+    private int position;
+
+    XmlByteWriter(OutputStream out) {
+        this(out, new byte[PackageBuffers.BUFFER_SIZE]);
+    }
+
+    /**
+     * @param buffer buffer de escrita (ex: emprestado do {@link PackageBuffers}), usado até o último {@link #flush()}
+     */
+    XmlByteWriter(OutputStream out, byte[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Escreve marcação ASCII sem escape.
+     */
+    XmlByteWriter ascii(String markup) throws IOException {
+        int length = markup.length();
+        for (int i = 0; i < length; ) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int chunk = Math.min(length - i, buffer.length - position);
+            for (int end = i + chunk; i < end; i++) {
+                buffer[position++] = (byte) markup.charAt(i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Escreve bytes já codificados (marcação pré-montada).
+     */
+    XmlByteWriter raw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    /**
+     * Escreve texto escapado para conteúdo ou valor de atributo.
+     * Caracteres inválidos em XML 1.0 (controles e surrogates isolados) viram '?', como no SXSSF.
+     */
+    XmlByteWriter text(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '&' -> put("&amp;");
+                    case '<' -> put("&lt;");
+                    case '>' -> put("&gt;");
+                    case '"' -> put("&quot;");
+                    case '\t', '\n', '\r' -> buffer[position++] = (byte) c;
+                    default -> {
+                        if (c < 0x20) {
+                            buffer[position++] = '?';
+                        } else {
+                            buffer[position++] = (byte) c;
+                        }
+                    }
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c) || c == 0xFFFE || c == 0xFFFF) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    XmlByteWriter number(long value) throws IOException {
+        if (buffer.length - position < digits.length + 1) {
+            flushBuffer();
+        }
+        if (value == Long.MIN_VALUE) {
+            return ascii(Long.toString(value));
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        while (count > 0) {
+            buffer[position++] = digits[--count];
+        }
+        return this;
+    }
+
+    /**
+     * Escreve um double; valores inteiros e com até seis casas decimais saem sem alocação.
+     * <p>
+     * A forma decimal só é usada quando {@code n / 10^casas} volta exatamente ao double: com n e
+     * a potência exatos, essa divisão é o arredondamento do decimal escrito, então o leitor obtém o
+     * mesmo valor. Os demais (dízimas binárias, notação científica) seguem por Double.toString.
+     */
+    XmlByteWriter number(double value) throws IOException {
+        if (value == Math.rint(value) && Math.abs(value) < MAX_EXACT_INTEGER) {
+            return number((long) value);
+        }
+        for (int scale = 1; scale < DECIMAL_SCALES.length; scale++) {
+            double unit = DECIMAL_SCALES[scale];
+            double scaled = Math.rint(value * unit);
+            if (Math.abs(scaled) >= MAX_EXACT_INTEGER) {
+                break;
+            }
+            if (scaled / unit == value) {
+                return decimal((long) scaled, scale);
+            }
+        }
+        return ascii(Double.toString(value));
+    }
+
+    /**
+     * Escreve {@code scaled / 10^scale} com exatamente {@code scale} casas decimais.
+     */
+    private XmlByteWriter decimal(long scaled, int scale) throws IOException {
+        if (buffer.length - position < digits.length + scale + 2) {
+            flushBuffer();
+        }
+        if (scaled < 0) {
+            buffer[position++] = '-';
+            scaled = -scaled;
+        }
+        long unit = DECIMAL_SCALES[scale];
+        number(scaled / unit);
+        buffer[position++] = '.';
+        long fraction = scaled % unit;
+        for (int i = position + scale - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (fraction % 10));
+            fraction /= 10;
+        }
+        position += scale;
+        return this;
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void put(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[position++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
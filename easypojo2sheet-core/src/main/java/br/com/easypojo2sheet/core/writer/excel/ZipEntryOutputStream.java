@@ -0,0 +1,27 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream que comprime o conteúdo de uma entrada do zip em DEFLATE puro, acumulando o CRC-32 e os
+ * tamanhos gravados no data descriptor e no diretório central.
+ */
+abstract class ZipEntryOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    /**
+     * Encerra o stream DEFLATE sem fechar o destino. Chamadas seguintes não têm efeito.
+     */
+    abstract void finish() throws IOException;
+
+    abstract long crc();
+
+    abstract long size();
+
+    abstract long compressedSize();
+}
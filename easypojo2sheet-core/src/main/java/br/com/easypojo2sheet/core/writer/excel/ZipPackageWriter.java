@@ -0,0 +1,377 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Escritor do container zip do pacote .xlsx.
+ * <p>
+ * Diferente do {@link java.util.zip.ZipOutputStream}, aceita entradas já comprimidas
+ * ({@link DeflatedPart}), copiadas sem recompressão, além de entradas comprimidas durante a escrita
+ * ({@link #beginEntry(String)}), que usam data descriptor. Usa extensões zip64 quando tamanhos ou
+ * offsets passam de 4 GB, seguindo as mesmas regras do JDK.
+ */
+final class ZipPackageWriter {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int ZIP64_END = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int END = 0x06054b50;
+
+    private static final int DEFLATED = 8;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+    private static final int FLAG_UTF8 = 0x800;
+    private static final int VERSION = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int ZIP64_EXTRA = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private final CountingOutputStream out;
+    private final int level;
+    private final int dosTime;
+    private final List<Entry> entries = new ArrayList<>();
+    private final byte[] scratch = new byte[8];
+    private Entry current;
+    private final ExecutorService deflateExecutor;
+    private final int deflateThreads;
+    private final PackageBuffers pool;
+    private ZipEntryOutputStream currentStream;
+
+    ZipPackageWriter(OutputStream target, int level) {
+        this(target, level, null, 1);
+    }
+
+    /**
+     * @param deflateExecutor executor da compressão paralela das entradas grandes, ou null
+     * @param deflateThreads  número de threads do executor
+     */
+    ZipPackageWriter(OutputStream target, int level, ExecutorService deflateExecutor, int deflateThreads) {
+        this(target, level, deflateExecutor, deflateThreads, null);
+    }
+
+    /**
+     * @param pool buffers e Deflaters reaproveitados da thread, ou null para alocar
+     */
+    ZipPackageWriter(OutputStream target, int level, ExecutorService deflateExecutor, int deflateThreads,
+                     PackageBuffers pool) {
+        this.out = new CountingOutputStream(target, pool != null ? pool.takeBuffer() : new byte[PackageBuffers.BUFFER_SIZE]);
+        this.level = level;
+        this.deflateExecutor = deflateExecutor;
+        this.deflateThreads = deflateThreads;
+        this.pool = pool;
+        this.dosTime = dosTime(LocalDateTime.now());
+    }
+
+    /**
+     * Inicia uma entrada comprimida durante a escrita. O stream retornado não deve ser fechado;
+     * use {@link #closeEntry()}.
+     */
+    OutputStream beginEntry(String name) throws IOException {
+        return beginEntry(name, false);
+    }
+
+    /**
+     * Inicia uma entrada; com {@code large} e executor configurado, a compressão é feita em
+     * blocos paralelos ({@link ParallelDeflaterOutputStream}).
+     */
+    OutputStream beginEntry(String name, boolean large) throws IOException {
+        if (current != null) {
+            throw new IllegalStateException("Entrada anterior não foi fechada: " + current.path);
+        }
+        current = new Entry(name, out.count(), FLAG_DATA_DESCRIPTOR | FLAG_UTF8);
+        writeLocalHeader(current, false);
+        currentStream = large && deflateExecutor != null
+                ? new ParallelDeflaterOutputStream(out, level, deflateExecutor, deflateThreads)
+                : new DeflatingOutputStream(out, level, pool);
+        return currentStream;
+    }
+
+    void closeEntry() throws IOException {
+        currentStream.finish();
+        current.crc = currentStream.crc();
+        current.size = currentStream.size();
+        current.compressedSize = currentStream.compressedSize();
+
+        writeInt(DATA_DESCRIPTOR);
+        writeInt(current.crc);
+        if (current.size >= ZIP64_MAGIC || current.compressedSize >= ZIP64_MAGIC) {
+            writeLong(current.compressedSize);
+            writeLong(current.size);
+        } else {
+            writeInt(current.compressedSize);
+            writeInt(current.size);
+        }
+        entries.add(current);
+        current = null;
+        currentStream = null;
+    }
+
+    /**
+     * Escreve uma entrada inteira, comprimindo o conteúdo no próprio stream do zip.
+     */
+    void writeEntry(String name, DeflatedPart.PartWriter writer) throws IOException {
+        writeEntry(name, false, writer);
+    }
+
+    void writeEntry(String name, boolean large, DeflatedPart.PartWriter writer) throws IOException {
+        writer.write(beginEntry(name, large));
+        closeEntry();
+    }
+
+    /**
+     * Copia uma parte já comprimida; CRC e tamanhos vão no cabeçalho local.
+     */
+    void writeDeflated(String name, DeflatedPart part) throws IOException {
+        if (current != null) {
+            throw new IllegalStateException("Entrada anterior não foi fechada: " + current.path);
+        }
+        Entry entry = new Entry(name, out.count(), FLAG_UTF8);
+        entry.crc = part.crc();
+        entry.size = part.size();
+        entry.compressedSize = part.compressedSize();
+        writeLocalHeader(entry, true);
+        part.writeTo(out);
+        entries.add(entry);
+    }
+
+    /**
+     * Escreve o diretório central. O stream de destino não é fechado.
+     */
+    void finish() throws IOException {
+        if (current != null) {
+            throw new IllegalStateException("Entrada não foi fechada: " + current.path);
+        }
+        long centralStart = out.count();
+        for (Entry entry : entries) {
+            writeCentralHeader(entry);
+        }
+        long centralSize = out.count() - centralStart;
+
+        boolean zip64 = entries.size() >= ZIP64_MAGIC_COUNT
+                || centralStart >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+        if (zip64) {
+            long zip64End = out.count();
+            writeInt(ZIP64_END);
+            writeLong(44);
+            writeShort(VERSION_ZIP64);
+            writeShort(VERSION_ZIP64);
+            writeInt(0);
+            writeInt(0);
+            writeLong(entries.size());
+            writeLong(entries.size());
+            writeLong(centralSize);
+            writeLong(centralStart);
+
+            writeInt(ZIP64_LOCATOR);
+            writeInt(0);
+            writeLong(zip64End);
+            writeInt(1);
+        }
+
+        writeInt(END);
+        writeShort(0);
+        writeShort(0);
+        writeShort(Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+        writeShort(Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+        writeInt(Math.min(centralSize, ZIP64_MAGIC));
+        writeInt(Math.min(centralStart, ZIP64_MAGIC));
+        writeShort(0);
+        out.flush();
+        if (pool != null) {
+            pool.giveBuffer(out.release());
+        }
+    }
+
+    private void writeLocalHeader(Entry entry, boolean sizesKnown) throws IOException {
+        boolean zip64 = sizesKnown && (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC);
+        writeInt(LOCAL_HEADER);
+        writeShort(zip64 ? VERSION_ZIP64 : VERSION);
+        writeShort(entry.flags);
+        writeShort(DEFLATED);
+        writeInt(dosTime);
+        if (!sizesKnown) {
+            writeInt(0);
+            writeInt(0);
+            writeInt(0);
+        } else if (zip64) {
+            writeInt(entry.crc);
+            writeInt(ZIP64_MAGIC);
+            writeInt(ZIP64_MAGIC);
+        } else {
+            writeInt(entry.crc);
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+        writeShort(entry.name.length);
+        writeShort(zip64 ? 20 : 0);
+        out.write(entry.name);
+        if (zip64) {
+            writeShort(ZIP64_EXTRA);
+            writeShort(16);
+            writeLong(entry.size);
+            writeLong(entry.compressedSize);
+        }
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        boolean largeSize = entry.size >= ZIP64_MAGIC;
+        boolean largeCompressed = entry.compressedSize >= ZIP64_MAGIC;
+        boolean largeOffset = entry.offset >= ZIP64_MAGIC;
+        int extraLength = (largeSize ? 8 : 0) + (largeCompressed ? 8 : 0) + (largeOffset ? 8 : 0);
+        boolean zip64 = extraLength > 0;
+
+        writeInt(CENTRAL_HEADER);
+        writeShort(zip64 ? VERSION_ZIP64 : VERSION);
+        writeShort(zip64 ? VERSION_ZIP64 : VERSION);
+        writeShort(entry.flags);
+        writeShort(DEFLATED);
+        writeInt(dosTime);
+        writeInt(entry.crc);
+        writeInt(largeCompressed ? ZIP64_MAGIC : entry.compressedSize);
+        writeInt(largeSize ? ZIP64_MAGIC : entry.size);
+        writeShort(entry.name.length);
+        writeShort(zip64 ? extraLength + 4 : 0);
+        writeShort(0);
+        writeShort(0);
+        writeShort(0);
+        writeInt(0);
+        writeInt(largeOffset ? ZIP64_MAGIC : entry.offset);
+        out.write(entry.name);
+        if (zip64) {
+            // A ordem dos campos no extra zip64 é fixa: tamanho, tamanho comprimido, offset
+            writeShort(ZIP64_EXTRA);
+            writeShort(extraLength);
+            if (largeSize) {
+                writeLong(entry.size);
+            }
+            if (largeCompressed) {
+                writeLong(entry.compressedSize);
+            }
+            if (largeOffset) {
+                writeLong(entry.offset);
+            }
+        }
+    }
+
+    private void writeShort(int value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        out.write(scratch, 0, 2);
+    }
+
+    private void writeInt(long value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        scratch[2] = (byte) (value >>> 16);
+        scratch[3] = (byte) (value >>> 24);
+        out.write(scratch, 0, 4);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        out.write(scratch, 0, 8);
+    }
+
+    private static int dosTime(LocalDateTime time) {
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private static final class Entry {
+        final String path;
+        final byte[] name;
+        final long offset;
+        final int flags;
+        long crc;
+        long size;
+        long compressedSize;
+
+        Entry(String name, long offset, int flags) {
+            this.path = name;
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.offset = offset;
+            this.flags = flags;
+        }
+    }
+
+    /**
+     * Buffer de saída que conta os bytes escritos (offsets das entradas).
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream target;
+        private byte[] buffer;
+        private int position;
+        private long count;
+
+        CountingOutputStream(OutputStream target, byte[] buffer) {
+            this.target = target;
+            this.buffer = buffer;
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) b;
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length - position) {
+                flushBuffer();
+                if (length >= buffer.length) {
+                    target.write(bytes, offset, length);
+                    count += length;
+                    return;
+                }
+            }
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+            target.flush();
+        }
+
+        /**
+         * Entrega o buffer (já descarregado) para reaproveitamento; o stream não pode mais ser usado.
+         */
+        byte[] release() {
+            byte[] released = buffer;
+            buffer = null;
+            return released;
+        }
+
+        private void flushBuffer() throws IOException {
+            if (position > 0) {
+                target.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
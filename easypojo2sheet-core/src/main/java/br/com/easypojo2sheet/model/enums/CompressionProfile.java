@@ -0,0 +1,53 @@
+package br.com.easypojo2sheet.model.enums;
+
+import java.util.zip.Deflater;
+
+/**
+ * Perfis de compressão do arquivo gerado e dos arquivos temporários do SXSSF.
+ */
+public enum CompressionProfile {
+
+    /**
+     * Menor uso de CPU: compressão mínima e temporários sem compressão. Indicado para disco local.
+     */
+    FASTEST(Deflater.BEST_SPEED, false),
+
+    /**
+     * Nível padrão do zip e temporários sem compressão (comportamento anterior aos perfis).
+     */
+    BALANCED(Deflater.DEFAULT_COMPRESSION, false),
+
+    /**
+     * Menor arquivo: compressão máxima. Os temporários são comprimidos (gzip rápido), reduzindo o
+     * uso de disco durante a exportação. Indicado para envio por links lentos.
+     */
+    SMALLEST(Deflater.BEST_COMPRESSION, true),
+
+    /**
+     * Sem compressão. As entradas continuam no formato DEFLATE, com blocos apenas armazenados,
+     * para que o pacote possa ser escrito em streaming.
+     */
+    STORED(Deflater.NO_COMPRESSION, false);
+
+    private final int level;
+    private final boolean compressTempFiles;
+
+    CompressionProfile(int level, boolean compressTempFiles) {
+        this.level = level;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    /**
+     * Nível do {@link Deflater} usado nas entradas do zip.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Indica se os arquivos temporários do SXSSF são comprimidos.
+     */
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+}
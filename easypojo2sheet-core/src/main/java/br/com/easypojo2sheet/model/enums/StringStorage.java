@@ -0,0 +1,24 @@
+package br.com.easypojo2sheet.model.enums;
+
+/**
+ * Forma de armazenar textos no arquivo gerado (engine NATIVE).
+ */
+public enum StringStorage {
+
+    /**
+     * Coluna: segue o modo do writer. Writer: decide por coluna a partir de uma amostra dos valores,
+     * usando shared strings para colunas com muita repetição (categóricas).
+     */
+    AUTO,
+
+    /**
+     * Texto gravado na própria célula (inline string).
+     */
+    INLINE,
+
+    /**
+     * Texto gravado uma única vez na tabela de shared strings e referenciado pelas células.
+     * A tabela é limitada; ao atingir o limite, novos valores passam a ser gravados inline.
+     */
+    SHARED
+}
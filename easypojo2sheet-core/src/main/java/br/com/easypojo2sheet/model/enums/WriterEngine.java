@@ -0,0 +1,17 @@
+package br.com.easypojo2sheet.model.enums;
+
+/**
+ * Implementação usada para gerar o arquivo Excel.
+ */
+public enum WriterEngine {
+
+    /**
+     * Apache POI SXSSF (padrão): linhas em janela de memória e arquivos temporários.
+     */
+    POI,
+
+    /**
+     * Escrita direta do SpreadsheetML no zip de saída, sem arquivos temporários nem objetos por célula.
+     */
+    NATIVE
+}
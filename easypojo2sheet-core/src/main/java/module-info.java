@@ -1,8 +1,14 @@
 module easypojsheet.core {
     requires java.base;
+    // Memória do heap para a janela adaptativa do SXSSF
+    requires java.management;
     // Apache POI modules for Excel generation
     requires org.apache.poi.poi;
     requires org.apache.poi.ooxml;
+    // Zip do SXSSF, para aplicar o nível de compressão
+    requires org.apache.commons.compress;
+    // ResultSet na API de exportação direta do JDBC
+    requires transitive java.sql;
 
 
     // Optionally required by POI at compile-time (safe to include)
@@ -18,4 +24,9 @@ module easypojsheet.core {
     exports br.com.easypojo2sheet.exception;
     exports br.com.easypojo2sheet.model.enums;
     exports br.com.easypojo2sheet.core.writer.excel;
+    exports br.com.easypojo2sheet.core.spi;
+    exports br.com.easypojo2sheet.core.jdbc;
+
+    // Metadados gerados em tempo de compilação pelo easypojo2sheet-processor
+    uses br.com.easypojo2sheet.core.spi.SheetMetadataProvider;
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class BatchExporterTest {
+
+    @Spreadsheet(name = "Extrato")
+    static class Lancamento {
+        @SheetColumn(order = 1)
+        String cliente;
+
+        @SheetColumn(order = 2, numberFormat = "#,##0.00")
+        double valor;
+
+        Lancamento(String cliente, double valor) {
+            this.cliente = cliente;
+            this.valor = valor;
+        }
+    }
+
+    private static List<Lancamento> extrato(int cliente) {
+        return IntStream.range(0, 20 + cliente % 50)
+                .mapToObj(i -> new Lancamento("Cliente " + cliente, i * 10.5))
+                .toList();
+    }
+
+    @Test
+    public void exportsOneWorkbookPerJobAcrossThreads() throws Exception {
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        List<BatchJob<Lancamento>> jobs = new ArrayList<>();
+        long expectedRecords = 0;
+        for (int cliente = 0; cliente < 300; cliente++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outputs.add(out);
+            jobs.add(BatchJob.of(out, extrato(cliente)));
+            expectedRecords += extrato(cliente).size();
+        }
+
+        BatchExportResult result = ExcelExporter.batch(Lancamento.class)
+                .threads(4)
+                .build()
+                .export(jobs);
+
+        Assert.assertEquals(300, result.getWorkbookCount());
+        Assert.assertEquals(expectedRecords, result.getRecordCount());
+        Assert.assertTrue(result.getFailures().isEmpty());
+        Assert.assertTrue(result.getWorkbooksPerSecond() > 0);
+
+        // Workbooks gerados com buffers reaproveitados continuam independentes entre si
+        for (int cliente = 0; cliente < 300; cliente += 37) {
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputs.get(cliente).toByteArray()))) {
+                Sheet sheet = workbook.getSheet("Extrato");
+                Assert.assertEquals(extrato(cliente).size(), sheet.getLastRowNum());
+                Assert.assertEquals("Cliente " + cliente, sheet.getRow(1).getCell(0).getStringCellValue());
+                Assert.assertEquals("#,##0.00", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+            }
+        }
+    }
+
+    @Test
+    public void recordsFailedJobWithoutStoppingTheBatch() {
+        Iterable<Lancamento> broken = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Lancamento next() {
+                throw new IllegalStateException("cursor fechado");
+            }
+        };
+
+        BatchExportResult result = ExcelExporter.batch(Lancamento.class)
+                .threads(2)
+                .build()
+                .export(IntStream.range(0, 10).mapToObj(i -> i == 3
+                        ? BatchJob.of(new ByteArrayOutputStream(), broken)
+                        : BatchJob.of(new ByteArrayOutputStream(), extrato(i))));
+
+        Assert.assertEquals(9, result.getWorkbookCount());
+        Assert.assertEquals(1, result.getFailures().size());
+        Assert.assertEquals("Erro ao exportar o workbook 3 (OutputStream)", result.getFailures().get(0).getMessage());
+    }
+}
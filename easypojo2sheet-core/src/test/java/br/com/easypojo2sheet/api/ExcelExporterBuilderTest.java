@@ -9,6 +9,7 @@ import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ExcelExporterBuilderTest {
 
@@ -35,6 +36,14 @@ public class ExcelExporterBuilderTest {
                 .build();
     }
 
+    @Test(expected = ExcelExportException.class)
+    public void validate_mustFail_whenStreamWithoutEntityClass() throws Exception {
+        ExcelExporter.<P>builder()
+                .data(Stream.of(new P(1, "a", LocalDate.now())))
+                .outputStream(new ByteArrayOutputStream())
+                .build();
+    }
+
     @Test(expected = ExcelExportException.class)
     public void validate_mustFail_whenNoOutputProvided() throws Exception {
         ExcelExporter.<P>builder()
@@ -3,13 +3,24 @@ package br.com.easypojo2sheet.api;
 import br.com.easypojo2sheet.annotation.SheetColumn;
 import br.com.easypojo2sheet.annotation.Spreadsheet;
 import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public class ExcelExporterTest {
 
@@ -29,6 +40,16 @@ public class ExcelExporterTest {
         }
     }
 
+    @Spreadsheet(startRow = 2)
+    private static class Deslocado {
+        @SheetColumn
+        private long id;
+
+        Deslocado(long id) {
+            this.id = id;
+        }
+    }
+
     @Test(expected = ExcelExportException.class)
     public void shouldThrowWhenExceedingRowLimit() throws Exception {
         // 524_288 + 1 elementos
@@ -45,6 +66,37 @@ public class ExcelExporterTest {
                 .export();
     }
 
+    @Test
+    public void rowLimitCountsHeaderAndStartRow() throws Exception {
+        // 10 linhas: duas em branco, o header e 7 de dados, nas duas engines
+        for (WriterEngine engine : WriterEngine.values()) {
+            List<Deslocado> cabem = LongStream.range(0, 7).mapToObj(Deslocado::new).toList();
+            ExportResult result = ExcelExporter.<Deslocado>builder()
+                    .data(cabem)
+                    .outputStream(new ByteArrayOutputStream())
+                    .engine(engine)
+                    .maxRowsPerSheet(10)
+                    .build()
+                    .export();
+            Assert.assertEquals(7, result.getRecordCount());
+
+            List<Deslocado> excedem = LongStream.range(0, 8).mapToObj(Deslocado::new).toList();
+            try {
+                ExcelExporter.<Deslocado>builder()
+                        .data(excedem)
+                        .outputStream(new ByteArrayOutputStream())
+                        .engine(engine)
+                        .maxRowsPerSheet(10)
+                        .build()
+                        .export();
+                Assert.fail("Deveria exceder o limite com " + engine);
+            } catch (ExcelExportException e) {
+                // Recusado antes de escrever, não pelo writer no meio da planilha
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("Considere usar sheetRollover"));
+            }
+        }
+    }
+
     @Test
     public void happyPath_nonStreaming_and_streaming() throws Exception {
         List<Pojo> data = List.of(
@@ -63,7 +115,7 @@ public class ExcelExporterTest {
 
         // streaming
         ByteArrayOutputStream bos2 = new ByteArrayOutputStream();
-        ExcelExporter.<Pojo>builder()
+        ExportResult result = ExcelExporter.<Pojo>builder()
                 .data(data)
                 .outputStream(bos2)
                 .streamingMode(true)
@@ -71,5 +123,102 @@ public class ExcelExporterTest {
                 .build()
                 .export();
         Assert.assertTrue(bos2.size() > 0);
+        Assert.assertEquals(2, result.getRecordCount());
+        Assert.assertEquals(10, result.getWindowSize());
+    }
+
+    @Test
+    public void consumesStreamLazilyDuringExport() throws Exception {
+        AtomicInteger consumed = new AtomicInteger();
+        for (WriterEngine engine : WriterEngine.values()) {
+            consumed.set(0);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ExcelExporter<Pojo> exporter = ExcelExporter.<Pojo>builder()
+                    .entityClass(Pojo.class)
+                    .data(IntStream.range(0, 500)
+                            .peek(i -> consumed.incrementAndGet())
+                            .mapToObj(i -> new Pojo(i, "n" + i, LocalDate.of(2024, 1, 1))))
+                    .outputStream(bos)
+                    .engine(engine)
+                    .build();
+            Assert.assertEquals(0, consumed.get());
+
+            ExportResult result = exporter.export();
+
+            Assert.assertEquals(500, consumed.get());
+            Assert.assertEquals(500, result.getRecordCount());
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bos.toByteArray()))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                Assert.assertEquals(500, sheet.getLastRowNum());
+                Assert.assertEquals("n499", sheet.getRow(500).getCell(2).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    public void nativeEngineWritesReadableWorkbook() throws Exception {
+        List<Pojo> data = List.of(
+                new Pojo(1, "Alice", LocalDate.of(2024, 1, 1)),
+                new Pojo(2, "Bob", LocalDate.of(2024, 2, 2))
+        );
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ExcelExporter.<Pojo>builder()
+                .data(data)
+                .outputStream(bos)
+                .engine(WriterEngine.NATIVE)
+                .build()
+                .export();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bos.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Assert.assertEquals("Pojo", sheet.getSheetName());
+            // Mesma ordem (order, depois nome) usada pelo writer POI: date, id, name
+            Assert.assertEquals("name", sheet.getRow(0).getCell(2).getStringCellValue());
+            Assert.assertEquals(LocalDate.of(2024, 2, 2).atStartOfDay(),
+                    sheet.getRow(2).getCell(0).getLocalDateTimeCellValue());
+            Assert.assertEquals(2.0, sheet.getRow(2).getCell(1).getNumericCellValue(), 0.0);
+            Assert.assertEquals("Bob", sheet.getRow(2).getCell(2).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void exportAsyncRunsManyExportsConcurrently() throws Exception {
+        List<CompletableFuture<ExportResult>> futures = new ArrayList<>();
+        for (int n = 0; n < 100; n++) {
+            List<Pojo> rows = new ArrayList<>();
+            for (int i = 0; i <= n % 20; i++) {
+                rows.add(new Pojo(i, "n" + i, LocalDate.of(2024, 1, 1)));
+            }
+            futures.add(ExcelExporter.<Pojo>builder()
+                    .data(rows)
+                    .outputStream(new ByteArrayOutputStream())
+                    .engine(n % 2 == 0 ? WriterEngine.POI : WriterEngine.NATIVE)
+                    .build()
+                    .exportAsync());
+        }
+
+        for (int n = 0; n < futures.size(); n++) {
+            Assert.assertEquals(n % 20 + 1, futures.get(n).get(30, TimeUnit.SECONDS).getRecordCount());
+        }
+    }
+
+    @Test
+    public void exportAsyncCompletesExceptionallyOnFailure() throws Exception {
+        CompletableFuture<ExportResult> future = ExcelExporter.<Pojo>builder()
+                .entityClass(Pojo.class)
+                .data(Stream.<Pojo>generate(() -> {
+                    throw new IllegalStateException("cursor fechado");
+                }))
+                .outputStream(new ByteArrayOutputStream())
+                .build()
+                .exportAsync(Runnable::run);
+
+        try {
+            future.get(30, TimeUnit.SECONDS);
+            Assert.fail("O future deveria falhar");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ExcelExportException);
+        }
     }
 }
@@ -0,0 +1,181 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+public class ExportSubscriberTest {
+
+    @Spreadsheet(name = "Eventos")
+    static class Event {
+        @SheetColumn(order = 1)
+        long id;
+
+        @SheetColumn(order = 2)
+        String type;
+
+        Event(long id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Emite os itens na thread que pede a demanda e registra quantos ficaram pendentes no subscriber.
+     */
+    static final class CountingPublisher implements Flow.Publisher<Event> {
+        private final int total;
+        private long requested;
+        private long emitted;
+        private long maxOutstanding;
+
+        CountingPublisher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Event> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    maxOutstanding = Math.max(maxOutstanding, requested - emitted);
+                    while (emitted < requested && emitted < total) {
+                        subscriber.onNext(new Event(emitted, emitted % 2 == 0 ? "LOGIN" : "LOGOUT"));
+                        emitted++;
+                    }
+                    if (emitted == total) {
+                        emitted++;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    @Test
+    public void exportsPublishedItemsInBatches() throws Exception {
+        for (WriterEngine engine : WriterEngine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportSubscriber<Event> subscriber = ExcelExporter.<Event>builder()
+                    .entityClass(Event.class)
+                    .outputStream(out)
+                    .engine(engine)
+                    .buildSubscriber(100);
+
+            CountingPublisher publisher = new CountingPublisher(1_050);
+            publisher.subscribe(subscriber);
+            ExportResult result = subscriber.getResult().get(30, TimeUnit.SECONDS);
+
+            Assert.assertEquals(1_050, result.getRecordCount());
+            // Nunca mais do que dois lotes pedidos e ainda não consumidos
+            Assert.assertEquals(200, publisher.maxOutstanding);
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheet("Eventos");
+                Assert.assertEquals(1_050, sheet.getLastRowNum());
+                Assert.assertEquals("LOGOUT", sheet.getRow(1_050).getCell(1).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    public void subscribersFromSameBuilderExportIndependently() throws Exception {
+        ExcelExporterBuilder<Event> builder = ExcelExporter.<Event>builder().entityClass(Event.class);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        ExportSubscriber<Event> firstSubscriber = builder.outputStream(first).buildSubscriber(10);
+        ExportSubscriber<Event> secondSubscriber = builder.outputStream(second).buildSubscriber(10);
+
+        new CountingPublisher(30).subscribe(firstSubscriber);
+        new CountingPublisher(50).subscribe(secondSubscriber);
+
+        Assert.assertEquals(30, firstSubscriber.getResult().get(30, TimeUnit.SECONDS).getRecordCount());
+        Assert.assertEquals(50, secondSubscriber.getResult().get(30, TimeUnit.SECONDS).getRecordCount());
+        // A fila dos assinantes não vira a fonte de dados do builder
+        Assert.assertThrows(ExcelExportException.class, builder::build);
+    }
+
+    @Test
+    public void stopsWriterWhenPublisherExceedsDemand() throws Exception {
+        Thread[] writer = new Thread[1];
+        ExportSubscriber<Event> subscriber = ExcelExporter.<Event>builder()
+                .entityClass(Event.class)
+                .outputStream(new ByteArrayOutputStream())
+                .buildSubscriber(10, task -> {
+                    writer[0] = new Thread(task);
+                    writer[0].start();
+                });
+
+        // Emite cinco itens a mais do que cada pedido
+        subscriber.onSubscribe(new Flow.Subscription() {
+            private long emitted;
+
+            @Override
+            public void request(long n) {
+                for (long i = 0; i < n + 5; i++) {
+                    subscriber.onNext(new Event(emitted++, "LOGIN"));
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        try {
+            subscriber.getResult().get(30, TimeUnit.SECONDS);
+            Assert.fail("O resultado deveria falhar");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        writer[0].join(TimeUnit.SECONDS.toMillis(30));
+        Assert.assertFalse("A thread de escrita deveria terminar", writer[0].isAlive());
+    }
+
+    @Test
+    public void failsResultWhenPublisherFails() throws Exception {
+        ExportSubscriber<Event> subscriber = ExcelExporter.<Event>builder()
+                .entityClass(Event.class)
+                .outputStream(new ByteArrayOutputStream())
+                .buildSubscriber(10);
+
+        try (SubmissionPublisher<Event> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            publisher.submit(new Event(1, "LOGIN"));
+            publisher.closeExceptionally(new IllegalStateException("falha no cursor"));
+
+            subscriber.getResult().get(30, TimeUnit.SECONDS);
+            Assert.fail("O resultado deveria falhar");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            Assert.assertEquals("falha no cursor", cause.getMessage());
+        }
+    }
+
+    @Test(expected = ExcelExportException.class)
+    public void rejectsBatchSizeWhoseQueueOverflows() {
+        ExcelExporter.<Event>builder()
+                .entityClass(Event.class)
+                .outputStream(new ByteArrayOutputStream())
+                .buildSubscriber(Integer.MAX_VALUE);
+    }
+}
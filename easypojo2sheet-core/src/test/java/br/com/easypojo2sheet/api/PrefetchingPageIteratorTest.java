@@ -0,0 +1,115 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class PrefetchingPageIteratorTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Spreadsheet
+    static class Row {
+        @SheetColumn
+        int id;
+
+        Row(int id) {
+            this.id = id;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readsPagesInOrderKeepingAtMostTwoInMemory() {
+        AtomicInteger consumed = new AtomicInteger();
+        Map<Integer, Integer> consumedWhenFetched = new ConcurrentHashMap<>();
+        PageFetcher<Integer> fetcher = page -> {
+            consumedWhenFetched.put(page, consumed.get());
+            return page < 6 ? IntStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE).boxed().toList() : List.of();
+        };
+
+        List<Integer> rows = new ArrayList<>();
+        PrefetchingPageIterator<Integer> iterator = new PrefetchingPageIterator<>(fetcher, executor);
+        while (iterator.hasNext()) {
+            rows.add(iterator.next());
+            consumed.incrementAndGet();
+        }
+
+        Assert.assertEquals(IntStream.range(0, 6 * PAGE_SIZE).boxed().toList(), rows);
+        Assert.assertEquals(7, consumedWhenFetched.size());
+        // A página N só é buscada depois que a N-2 foi toda escrita
+        for (int page = 2; page <= 6; page++) {
+            Assert.assertTrue("página " + page, consumedWhenFetched.get(page) >= (page - 1) * PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void propagatesFetchFailure() {
+        PrefetchingPageIterator<Integer> iterator = new PrefetchingPageIterator<>(page -> {
+            if (page == 2) {
+                throw new IllegalStateException("timeout no banco");
+            }
+            return List.of(page);
+        }, executor);
+
+        Assert.assertEquals(Integer.valueOf(0), iterator.next());
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        try {
+            iterator.hasNext();
+            Assert.fail("Deveria propagar a falha da busca");
+        } catch (ExcelExportException e) {
+            Assert.assertEquals("Erro ao buscar a página 2", e.getMessage());
+            Assert.assertEquals("timeout no banco", e.getCause().getMessage());
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void failsWhenFetchThreadIsInterrupted() {
+        PrefetchingPageIterator<Integer> iterator = new PrefetchingPageIterator<>(List::of, executor);
+
+        Assert.assertEquals(Integer.valueOf(0), iterator.next());
+        // Interrompe a busca enquanto ela espera entregar a próxima página
+        executor.shutdownNow();
+        try {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            Assert.fail("Deveria falhar com a busca interrompida");
+        } catch (ExcelExportException e) {
+            Assert.assertTrue(e.getCause() instanceof InterruptedException);
+        }
+    }
+
+    @Test
+    public void exportsPagedSource() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = ExcelExporter.<Row>builder()
+                .entityClass(Row.class)
+                .pagedSource(page -> page < 3 ? List.of(new Row(page * 2), new Row(page * 2 + 1)) : List.of())
+                .outputStream(out)
+                .build()
+                .export();
+
+        Assert.assertEquals(6, result.getRecordCount());
+        Assert.assertTrue(out.size() > 0);
+    }
+}
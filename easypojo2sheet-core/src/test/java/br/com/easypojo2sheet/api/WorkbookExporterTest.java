@@ -0,0 +1,122 @@
+package br.com.easypojo2sheet.api;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class WorkbookExporterTest {
+
+    @Spreadsheet(name = "Clientes", freezeHeader = true)
+    static class Cliente {
+        @SheetColumn(order = 1)
+        String nome;
+
+        @SheetColumn(order = 2, numberFormat = "#,##0.00")
+        double limite;
+
+        Cliente(String nome, double limite) {
+            this.nome = nome;
+            this.limite = limite;
+        }
+    }
+
+    @Spreadsheet(name = "Faturas")
+    static class Fatura {
+        @SheetColumn(order = 1)
+        long numero;
+
+        @SheetColumn(order = 2, numberFormat = "#,##0.00")
+        double valor;
+
+        Fatura(long numero, double valor) {
+            this.numero = numero;
+            this.valor = valor;
+        }
+    }
+
+    @Spreadsheet(name = "Clientes (2)")
+    static class ClienteInativo {
+        @SheetColumn(order = 1)
+        String nome;
+
+        ClienteInativo(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    @Test
+    public void exportsEachEntityToItsOwnSheetSharingStyles() throws Exception {
+        for (WriterEngine engine : WriterEngine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportResult result = ExcelExporter.workbook()
+                    .sheet(Cliente.class, List.of(new Cliente("Ana", 1500), new Cliente("Bruno", 320.5)))
+                    .sheet(Fatura.class, IntStream.range(0, 300).mapToObj(i -> new Fatura(i, i * 1.25)))
+                    .outputStream(out)
+                    .engine(engine)
+                    .build()
+                    .export();
+
+            Assert.assertEquals(302, result.getRecordCount());
+            Assert.assertEquals(2, result.getSheetCount());
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Assert.assertEquals("Clientes", workbook.getSheetName(0));
+                Assert.assertEquals("Faturas", workbook.getSheetName(1));
+
+                Sheet clientes = workbook.getSheetAt(0);
+                Sheet faturas = workbook.getSheetAt(1);
+                Assert.assertEquals("Bruno", clientes.getRow(2).getCell(0).getStringCellValue());
+                Assert.assertNotNull(clientes.getPaneInformation());
+                Assert.assertEquals(299 * 1.25, faturas.getRow(300).getCell(1).getNumericCellValue(), 0.0);
+
+                // Mesmo formato nas duas entidades: um único estilo no workbook
+                Assert.assertEquals(engine.name(), clientes.getRow(1).getCell(1).getCellStyle().getIndex(),
+                        faturas.getRow(1).getCell(1).getCellStyle().getIndex());
+            }
+        }
+    }
+
+    @Test
+    public void rolloverSkipsNamesOfOtherSheets() throws Exception {
+        for (WriterEngine engine : WriterEngine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportResult result = ExcelExporter.workbook()
+                    .sheet(Cliente.class, IntStream.range(0, 5).mapToObj(i -> new Cliente("C" + i, i)))
+                    .sheet(ClienteInativo.class, List.of(new ClienteInativo("Inativo")))
+                    .outputStream(out)
+                    .engine(engine)
+                    .sheetRollover(true)
+                    .maxRowsPerSheet(4)
+                    .adaptiveWindow(true)
+                    .build()
+                    .export();
+
+            // 5 clientes em blocos de 3: a continuação pula "Clientes (2)", que é de outra entidade
+            Assert.assertEquals(3, result.getSheetCount());
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                List<String> names = IntStream.range(0, workbook.getNumberOfSheets())
+                        .mapToObj(workbook::getSheetName).toList();
+                Assert.assertEquals(engine.name(), List.of("Clientes", "Clientes (3)", "Clientes (2)"), names);
+                Assert.assertEquals("Inativo", workbook.getSheet("Clientes (2)").getRow(1).getCell(0).getStringCellValue());
+            }
+        }
+    }
+
+    @Test(expected = ExcelExportException.class)
+    public void failsOnDuplicateSheetNames() {
+        ExcelExporter.workbook()
+                .sheet(Cliente.class, List.of(new Cliente("Ana", 1)))
+                .sheet(Cliente.class, List.of(new Cliente("Bruno", 2)))
+                .outputStream(new ByteArrayOutputStream())
+                .build();
+    }
+}
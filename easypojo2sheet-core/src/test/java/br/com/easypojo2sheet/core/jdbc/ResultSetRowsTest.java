@@ -0,0 +1,169 @@
+package br.com.easypojo2sheet.core.jdbc;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.api.ExcelExporter;
+import br.com.easypojo2sheet.api.ExportResult;
+import br.com.easypojo2sheet.model.enums.WriterEngine;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ResultSetRowsTest {
+
+    @Spreadsheet(name = "Pedidos", freezeHeader = true)
+    static class PedidoOverrides {
+        @SheetColumn(name = "Cliente", order = 1)
+        String nomeCliente;
+
+        @SheetColumn(name = "Total", numberFormat = "#,##0.00")
+        double valorTotal;
+    }
+
+    private Connection connection;
+
+    @Before
+    public void createTable() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:pedidos;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE PEDIDO (ID BIGINT, NOME_CLIENTE VARCHAR(50), VALOR_TOTAL DECIMAL(10,2),"
+                    + " ENTREGA DATE, CRIADO_EM TIMESTAMP, PAGO BOOLEAN)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO PEDIDO VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= 250; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Cliente " + i);
+                insert.setBigDecimal(3, new java.math.BigDecimal(i + ".50"));
+                insert.setObject(4, LocalDate.of(2024, 1, 1).plusDays(i));
+                insert.setObject(5, LocalDateTime.of(2024, 1, 1, 10, 30).plusHours(i));
+                if (i % 10 == 0) {
+                    insert.setNull(6, java.sql.Types.BOOLEAN);
+                } else {
+                    insert.setBoolean(6, i % 2 == 0);
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @After
+    public void dropTable() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE PEDIDO");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void readsTypedValuesAndAppliesFetchSize() throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM PEDIDO ORDER BY ID")) {
+            int[] fetchSize = {-1};
+            ResultSetRows rows = new ResultSetRows(recordingFetchSize(rs, fetchSize), 64);
+            Assert.assertEquals(64, fetchSize[0]);
+
+            Object[] first = rows.next();
+            Assert.assertEquals(1L, first[0]);
+            Assert.assertEquals("Cliente 1", first[1]);
+            Assert.assertEquals(1.5, first[2]);
+            Assert.assertEquals(LocalDate.of(2024, 1, 2), first[3]);
+            Assert.assertEquals(LocalDateTime.of(2024, 1, 1, 11, 30), first[4]);
+            Assert.assertEquals(Boolean.FALSE, first[5]);
+
+            int count = 1;
+            Object[] last = first;
+            while (rows.hasNext()) {
+                last = rows.next();
+                count++;
+            }
+            Assert.assertEquals(250, count);
+            Assert.assertNull("NULL do banco continua null", last[5]);
+        }
+    }
+
+    /**
+     * O H2 ignora o fetch size em resultados locais, então o valor pedido é registrado por um proxy.
+     */
+    private static ResultSet recordingFetchSize(ResultSet rs, int[] fetchSize) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("setFetchSize")) {
+                        fetchSize[0] = (Integer) args[0];
+                    }
+                    try {
+                        return method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Test
+    public void exportsResultSetWithBothEngines() throws Exception {
+        for (WriterEngine engine : WriterEngine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportResult result;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT ID, NOME_CLIENTE, VALOR_TOTAL, ENTREGA FROM PEDIDO ORDER BY ID")) {
+                result = ExcelExporter.fromResultSet(rs)
+                        .outputStream(out)
+                        .engine(engine)
+                        .build()
+                        .export();
+            }
+
+            Assert.assertEquals(250, result.getRecordCount());
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheet("PEDIDO");
+                Assert.assertNotNull(engine.name(), sheet);
+                Assert.assertEquals("NOME_CLIENTE", sheet.getRow(0).getCell(1).getStringCellValue());
+                Row row = sheet.getRow(250);
+                Assert.assertEquals(250.0, row.getCell(0).getNumericCellValue(), 0.0);
+                Assert.assertEquals(250.5, row.getCell(2).getNumericCellValue(), 0.0);
+                Assert.assertEquals(CellType.NUMERIC, row.getCell(3).getCellType());
+                Assert.assertEquals(LocalDate.of(2024, 9, 7), row.getCell(3).getLocalDateTimeCellValue().toLocalDate());
+            }
+        }
+    }
+
+    @Test
+    public void appliesSpreadsheetOverridesByColumnName() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT ID, VALOR_TOTAL, NOME_CLIENTE FROM PEDIDO ORDER BY ID")) {
+            ExcelExporter.fromResultSet(rs, PedidoOverrides.class, 100)
+                    .outputStream(out)
+                    .build()
+                    .export();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Pedidos");
+            Row header = sheet.getRow(0);
+            // Cliente tem order 1; as demais seguem a ordem do SELECT
+            Assert.assertEquals("Cliente", header.getCell(0).getStringCellValue());
+            Assert.assertEquals("ID", header.getCell(1).getStringCellValue());
+            Assert.assertEquals("Total", header.getCell(2).getStringCellValue());
+            Assert.assertEquals("#,##0.00", sheet.getRow(1).getCell(2).getCellStyle().getDataFormatString());
+            Assert.assertNotNull(sheet.getPaneInformation());
+        }
+    }
+}
@@ -12,6 +12,11 @@ public class ColumnMetadataTest {
 
     private static class Dummy {
         String prop;
+        int quantity;
+        Double total;
+        Object anything;
+        java.util.Date legacy;
+        java.util.List<String> tags;
     }
 
     @Test
@@ -33,4 +38,23 @@ public class ColumnMetadataTest {
         );
         Assert.assertFalse(meta.hasPropertyPath());
     }
+
+    @Test
+    public void valueKind_resolvedFromDeclaredType() throws Exception {
+        Assert.assertEquals(ValueKind.STRING, column("prop", "").getValueKind());
+        Assert.assertEquals(ValueKind.NUMBER, column("quantity", "").getValueKind());
+        Assert.assertEquals(ValueKind.NUMBER, column("total", "").getValueKind());
+        // Tipos que aceitam subclasses com outro mapeamento, listas e property são decididos pelo valor
+        Assert.assertEquals(ValueKind.DYNAMIC, column("anything", "").getValueKind());
+        Assert.assertEquals(ValueKind.DYNAMIC, column("legacy", "").getValueKind());
+        Assert.assertEquals(ValueKind.DYNAMIC, column("tags", "").getValueKind());
+        Assert.assertEquals(ValueKind.DYNAMIC, column("prop", "length").getValueKind());
+    }
+
+    private static ColumnMetadata column(String field, String propertyPath) throws Exception {
+        return new ColumnMetadata(
+                Dummy.class.getDeclaredField(field), field, 1, 10, propertyPath, "", "",
+                HorizontalAlignment.LEFT, VerticalAlignment.BOTTOM, ", ", ListRenderStrategy.AGGREGATE, null
+        );
+    }
 }
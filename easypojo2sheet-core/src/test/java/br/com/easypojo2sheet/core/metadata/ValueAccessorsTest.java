@@ -0,0 +1,115 @@
+package br.com.easypojo2sheet.core.metadata;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+public class ValueAccessorsTest {
+
+    static class Bean {
+        private String name = "bean";
+        private double value = 1.5;
+
+        public String getName() {
+            return name;
+        }
+
+        private int secret() {
+            return 42;
+        }
+    }
+
+    record Point(int x, String label) {
+    }
+
+    @Test
+    public void fieldAccessor_readsPrivateField() throws Exception {
+        Field f = Bean.class.getDeclaredField("value");
+        ValueAccessor accessor = ValueAccessors.forField(f);
+
+        Assert.assertEquals(1.5, accessor.get(new Bean()));
+    }
+
+    @Test
+    public void methodAccessor_usesGeneratedLambda() throws Exception {
+        Method m = Bean.class.getDeclaredMethod("getName");
+        ValueAccessor accessor = ValueAccessors.forMethod(m);
+
+        Assert.assertEquals("bean", accessor.get(new Bean()));
+        // Classes geradas pelo LambdaMetafactory são hidden classes
+        Assert.assertTrue(accessor.getClass().isHidden());
+    }
+
+    @Test
+    public void methodAccessor_readsPrivateMethodAndBoxesPrimitive() throws Exception {
+        Method m = Bean.class.getDeclaredMethod("secret");
+        ValueAccessor accessor = ValueAccessors.forMethod(m);
+
+        Assert.assertEquals(42, accessor.get(new Bean()));
+    }
+
+    @Test
+    public void recordField_usesComponentAccessor() throws Exception {
+        ValueAccessor x = ValueAccessors.forField(Point.class.getDeclaredField("x"));
+        ValueAccessor label = ValueAccessors.forField(Point.class.getDeclaredField("label"));
+
+        Point p = new Point(7, "sete");
+        Assert.assertEquals(7, x.get(p));
+        Assert.assertEquals("sete", label.get(p));
+    }
+
+    @Test
+    public void doubleAccessor_readsNumericPrimitivesOnly() throws Exception {
+        DoubleAccessor value = ValueAccessors.forDouble(Bean.class.getDeclaredField("value"), null);
+        DoubleAccessor secret = ValueAccessors.forDouble(null, Bean.class.getDeclaredMethod("secret"));
+        DoubleAccessor x = ValueAccessors.forDouble(Point.class.getDeclaredField("x"), null);
+
+        Assert.assertEquals(1.5, value.getDouble(new Bean()), 0.0);
+        Assert.assertEquals(42, secret.getDouble(new Bean()), 0.0);
+        Assert.assertEquals(7, x.getDouble(new Point(7, "sete")), 0.0);
+        Assert.assertNull(ValueAccessors.forDouble(Bean.class.getDeclaredField("name"), null));
+        Assert.assertNull(ValueAccessors.forDouble(null, Bean.class.getDeclaredMethod("getName")));
+    }
+
+    @Test
+    public void columnMetadata_exposesDoubleAccessorForPrimitiveColumns() throws Exception {
+        ColumnMetadata primitive = ColumnMetadata.builder()
+                .field(Bean.class.getDeclaredField("value"))
+                .columnName("value")
+                .build();
+        ColumnMetadata explicit = ColumnMetadata.builder()
+                .field(Bean.class.getDeclaredField("value"))
+                .columnName("fixo")
+                .accessor(instance -> 2.0)
+                .build();
+
+        Assert.assertTrue(primitive.hasDoubleAccessor());
+        Assert.assertEquals(1.5, primitive.extractDouble(new Bean()), 0.0);
+        // O accessor do campo poderia divergir do informado
+        Assert.assertFalse(explicit.hasDoubleAccessor());
+    }
+
+    @Test
+    public void columnMetadata_buildsAccessorOnce() throws Exception {
+        ColumnMetadata column = ColumnMetadata.builder()
+                .field(Bean.class.getDeclaredField("name"))
+                .columnName("name")
+                .build();
+
+        Assert.assertNotNull(column.getAccessor());
+        Assert.assertEquals("bean", column.extractValue(new Bean()));
+        Assert.assertNull(column.extractValue(null));
+    }
+
+    @Test
+    public void columnMetadata_prefersExplicitAccessor() throws Exception {
+        ColumnMetadata column = ColumnMetadata.builder()
+                .columnName("fixo")
+                .accessor(instance -> "fixo")
+                .build();
+
+        Assert.assertEquals("fixo", column.extractValue(new Bean()));
+    }
+}
@@ -104,4 +104,20 @@ public class MetadataExtractorTest {
     public void mustThrowWhenClassNotAnnotated() throws Exception {
         MetadataExtractor.extractMetadata(NotAnnotated.class);
     }
+
+    @Spreadsheet
+    record RecordEntity(@SheetColumn(name = "Código", order = 1) Long id,
+                        @SheetColumn(name = "Nome", order = 2) String name) {
+    }
+
+    @Test
+    public void recordComponents_generateOneColumnEach() throws Exception {
+        List<ColumnMetadata> cols = MetadataExtractor.extractMetadata(RecordEntity.class).getColumns();
+
+        Assert.assertEquals(2, cols.size());
+        Assert.assertEquals("Código", cols.get(0).getColumnName());
+        Assert.assertFalse(cols.get(0).isMethod());
+        Assert.assertEquals(10L, cols.get(0).extractValue(new RecordEntity(10L, "x")));
+        Assert.assertEquals("Nome", cols.get(1).getColumnName());
+    }
 }
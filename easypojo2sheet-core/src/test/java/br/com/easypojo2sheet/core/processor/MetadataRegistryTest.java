@@ -0,0 +1,60 @@
+package br.com.easypojo2sheet.core.processor;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetadataRegistryTest {
+
+    @Spreadsheet(name = "Cache")
+    static class Cached {
+        @SheetColumn(order = 1)
+        String name;
+    }
+
+    static class NotAnnotated {
+        String x;
+    }
+
+    @Test
+    public void getMetadata_returnsSameInstance() {
+        SheetMetadata first = MetadataRegistry.getMetadata(Cached.class);
+        SheetMetadata second = MetadataRegistry.getMetadata(Cached.class);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals("Cache", first.getSheetName());
+    }
+
+    @Test
+    public void invalidate_forcesNewExtraction() {
+        MetadataRegistry.register(Cached.class);
+        SheetMetadata before = MetadataRegistry.getMetadata(Cached.class);
+
+        MetadataRegistry.invalidate(Cached.class);
+        SheetMetadata afterInvalidate = MetadataRegistry.getMetadata(Cached.class);
+        Assert.assertNotSame(before, afterInvalidate);
+
+        MetadataRegistry.invalidateAll();
+        Assert.assertNotSame(afterInvalidate, MetadataRegistry.getMetadata(Cached.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cachedColumns_areImmutable() {
+        MetadataRegistry.getMetadata(Cached.class).getColumns().clear();
+    }
+
+    @Test
+    public void errors_areNotCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                MetadataRegistry.getMetadata(NotAnnotated.class);
+                Assert.fail("Deveria lançar ExcelExportException");
+            } catch (ExcelExportException expected) {
+                // esperado nas duas chamadas
+            }
+        }
+    }
+}
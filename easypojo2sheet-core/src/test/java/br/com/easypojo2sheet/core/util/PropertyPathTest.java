@@ -0,0 +1,71 @@
+package br.com.easypojo2sheet.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+public class PropertyPathTest {
+
+    static class Pedido {
+        Vendedor vendedor;
+        List<Produto> produtos;
+        Totais totais;
+
+        Pedido(Vendedor vendedor, List<Produto> produtos, Totais totais) {
+            this.vendedor = vendedor;
+            this.produtos = produtos;
+            this.totais = totais;
+        }
+    }
+
+    static class Vendedor {
+        String nome;
+        Vendedor(String nome) { this.nome = nome; }
+    }
+
+    static class Produto {
+        String sku;
+        BigDecimal preco;
+        Produto(String sku, String preco) { this.sku = sku; this.preco = new BigDecimal(preco); }
+    }
+
+    // Campo com nome de agregação: não é lista, então deve ser lido como campo
+    static class Totais {
+        BigDecimal sum;
+        Totais(String sum) { this.sum = new BigDecimal(sum); }
+    }
+
+    private final Pedido pedido = new Pedido(
+            new Vendedor("Ana"),
+            Arrays.asList(new Produto("A1", "10.00"), new Produto("B2", "5.50")),
+            new Totais("99.90"));
+
+    @Test
+    public void compile_isCachedPerPath() {
+        Assert.assertSame(PropertyPath.compile("vendedor.nome"), PropertyPath.compile("vendedor.nome"));
+        Assert.assertEquals("vendedor.nome", PropertyPath.compile("vendedor.nome").getPath());
+    }
+
+    @Test
+    public void extract_nestedIndexAndAggregation() {
+        Assert.assertEquals("Ana", PropertyPath.compile("vendedor.nome").extract(pedido, ", "));
+        Assert.assertEquals("B2", PropertyPath.compile("produtos[1].sku").extract(pedido, ", "));
+        Assert.assertEquals(new BigDecimal("15.50"), PropertyPath.compile("produtos.sum.preco").extract(pedido, ", "));
+        Assert.assertEquals("A1; B2", PropertyPath.compile("produtos.join.sku").extract(pedido, "; "));
+        Assert.assertEquals(2, PropertyPath.compile("produtos.size").extract(pedido, ", "));
+    }
+
+    @Test
+    public void aggregationName_onNonList_isTreatedAsField() {
+        Assert.assertEquals(new BigDecimal("99.90"), PropertyPath.compile("totais.sum").extract(pedido, ", "));
+    }
+
+    @Test
+    public void nullIntermediate_returnsNull() {
+        Pedido semVendedor = new Pedido(null, List.of(), null);
+        Assert.assertNull(PropertyPath.compile("vendedor.nome").extract(semVendedor, ", "));
+    }
+}
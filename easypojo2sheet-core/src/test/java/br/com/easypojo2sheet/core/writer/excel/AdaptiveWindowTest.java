@@ -0,0 +1,62 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveWindowTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+    private final SXSSFSheet sheet = workbook.createSheet();
+    private final AtomicLong headroom = new AtomicLong();
+
+    @After
+    public void close() throws Exception {
+        workbook.close();
+    }
+
+    @Test
+    public void shrinksImmediatelyWhenHeapIsShort() {
+        headroom.set(MB);
+        AdaptiveWindow window = new AdaptiveWindow(sheet, 300, 100, headroom::get);
+
+        window.onRow();
+
+        // 10% de 1 MB para linhas de ~48 KB: abaixo do mínimo
+        Assert.assertEquals(AdaptiveWindow.MIN_WINDOW, window.windowSize());
+    }
+
+    @Test
+    public void growsAtMostTwiceEachCheckUpToTheLimit() {
+        headroom.set(4096 * MB);
+        AdaptiveWindow window = new AdaptiveWindow(sheet, 4, 100, headroom::get);
+
+        window.onRow();
+        Assert.assertEquals(200, window.windowSize());
+
+        for (int i = 0; i < AdaptiveWindow.CHECK_INTERVAL - 1; i++) {
+            window.onRow();
+        }
+        Assert.assertEquals(200, window.windowSize());
+        window.onRow();
+        Assert.assertEquals(400, window.windowSize());
+
+        for (int i = 0; i < AdaptiveWindow.CHECK_INTERVAL * 10; i++) {
+            window.onRow();
+        }
+        Assert.assertEquals(AdaptiveWindow.MAX_WINDOW, window.windowSize());
+    }
+
+    @Test
+    public void measuresHeadroomFromJvm() {
+        long free = AdaptiveWindow.heapHeadroom();
+        Assert.assertTrue(free > 0);
+        Assert.assertTrue(free <= Runtime.getRuntime().maxMemory());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+public class ExcelDatesTest {
+
+    @Test
+    public void matchesPoiInBothDateSystems() {
+        for (boolean date1904 : new boolean[]{false, true}) {
+            ExcelDates dates = new ExcelDates(date1904, null);
+            for (LocalDate date = LocalDate.of(1899, 12, 25); date.isBefore(LocalDate.of(1904, 2, 1)); date = date.plusDays(1)) {
+                Assert.assertEquals(date.toString(), DateUtil.getExcelDate(date, date1904), dates.serial(date), 0.0);
+            }
+            LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999);
+            Assert.assertEquals(DateUtil.getExcelDate(dateTime, date1904), dates.serial(dateTime), 0.0);
+        }
+    }
+
+    @Test
+    public void countsFictitiousLeapDayOf1900() {
+        ExcelDates dates = new ExcelDates(false, null);
+
+        Assert.assertEquals(1, dates.serial(LocalDate.of(1900, 1, 1)), 0.0);
+        Assert.assertEquals(59, dates.serial(LocalDate.of(1900, 2, 28)), 0.0);
+        // 60 é o 29/02/1900 que só existe no Excel
+        Assert.assertEquals(61, dates.serial(LocalDate.of(1900, 3, 1)), 0.0);
+        Assert.assertEquals(-1, dates.serial(LocalDate.of(1899, 12, 31)), 0.0);
+        Assert.assertEquals(0, new ExcelDates(true, null).serial(LocalDate.of(1904, 1, 1)), 0.0);
+    }
+
+    @Test
+    public void convertsInstantsToConfiguredZone() {
+        ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+        ExcelDates dates = new ExcelDates(false, saoPaulo);
+
+        // Antes, durante e depois do horário de verão de 2018/2019, com o offset em cache
+        for (String text : new String[]{"2018-11-03T12:00:00Z", "2018-11-04T12:00:00Z", "2019-02-17T01:59:59Z",
+                "2019-02-17T02:00:00Z", "2018-11-03T23:30:00Z"}) {
+            Instant instant = Instant.parse(text);
+            double expected = DateUtil.getExcelDate(LocalDateTime.ofInstant(instant, saoPaulo));
+            Assert.assertEquals(text, expected, dates.serial(instant), 0.0);
+            Assert.assertEquals(text, expected, dates.serial(Date.from(instant)), 0.0);
+            Assert.assertEquals(text, expected, dates.serial(instant.atOffset(ZoneOffset.ofHours(5))), 0.0);
+            Assert.assertEquals(text, expected, dates.serial(instant.atZone(ZoneId.of("Asia/Tokyo"))), 0.0);
+        }
+    }
+
+    @Test
+    public void keepsLocalTimeOfOffsetsWithoutConfiguredZone() {
+        ExcelDates dates = new ExcelDates(false, null);
+        LocalDateTime local = LocalDateTime.of(2024, 5, 10, 8, 30);
+
+        Assert.assertEquals(DateUtil.getExcelDate(local), dates.serial(OffsetDateTime.of(local, ZoneOffset.ofHours(9))), 0.0);
+        Assert.assertEquals(DateUtil.getExcelDate(local), dates.serial(ZonedDateTime.of(local, ZoneId.of("UTC"))), 0.0);
+        Date date = new Date(1_715_329_800_123L);
+        Assert.assertEquals(DateUtil.getExcelDate(date), dates.serial(date), 0.0);
+        Assert.assertEquals(0.75, dates.serial(LocalTime.of(18, 0)), 0.0);
+    }
+}
@@ -4,12 +4,20 @@ import br.com.easypojo2sheet.annotation.SheetColumn;
 import br.com.easypojo2sheet.annotation.Spreadsheet;
 import br.com.easypojo2sheet.core.metadata.SheetMetadata;
 import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
 import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,6 +44,32 @@ public class ExcelStreamingWriterTest {
 
     static class Item { String sku; Item(String s){ this.sku = s; } }
 
+    @Spreadsheet(name = "Razao")
+    static class Ledger {
+        @SheetColumn(order = 1)
+        String account;
+
+        @SheetColumn(order = 2, numberFormat = "#,##0.00")
+        Double debit;
+
+        @SheetColumn(order = 3, numberFormat = "#,##0.00")
+        Double credit;
+
+        @SheetColumn(order = 4)
+        LocalDate posted;
+
+        @SheetColumn(order = 5, dateFormat = "dd/MM/yyyy")
+        LocalDate settled;
+
+        Ledger(String account, double value, LocalDate date) {
+            this.account = account;
+            this.debit = value;
+            this.credit = -value;
+            this.posted = date;
+            this.settled = date;
+        }
+    }
+
     @Test
     public void writesHeaderAndExpandsRowsWithMerge() throws Exception {
         SheetMetadata metadata = MetadataExtractor.extractMetadata(Order.class);
@@ -73,4 +107,184 @@ public class ExcelStreamingWriterTest {
         // Second order with single item, no additional row
         Assert.assertEquals("C", sheet.getRow(3).getCell(2).getStringCellValue());
     }
+
+    @Test
+    public void appliesCompressionProfileToPackageAndTempFiles() throws Exception {
+        List<Order> data = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            data.add(new Order(String.valueOf(i), "Cliente " + (i % 50), List.of(new Item("SKU-" + (i % 20)))));
+        }
+
+        byte[] smallest = export(data, CompressionProfile.SMALLEST);
+        byte[] fastest = export(data, CompressionProfile.FASTEST);
+        byte[] stored = export(data, CompressionProfile.STORED);
+
+        Assert.assertTrue(smallest.length <= fastest.length);
+        Assert.assertTrue(fastest.length < stored.length);
+        // SMALLEST também usa temporários comprimidos; o conteúdo deve ser o mesmo
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(smallest))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Assert.assertEquals("4999", sheet.getRow(5_000).getCell(0).getStringCellValue());
+            Assert.assertEquals("SKU-19", sheet.getRow(5_000).getCell(2).getStringCellValue());
+        }
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(stored))) {
+            Assert.assertEquals("Cliente 49", workbook.getSheetAt(0).getRow(5_000).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void mergesGroupsLargerThanTheWindow() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new Item("S" + i));
+        }
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Order.class),
+                ExcelWriterOptions.builder().windowSize(5).build());
+
+        writer.write(List.of(new Order("1", "Alice", items)));
+
+        Assert.assertEquals(5, writer.getWindowSize());
+        Assert.assertEquals(2, writer.getWorkbook().getSheetAt(0).getNumMergedRegions());
+        writer.dispose();
+    }
+
+    @Test
+    public void reportsAdaptiveWindow() throws Exception {
+        List<Order> data = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            data.add(new Order(String.valueOf(i), "Cliente", List.of(new Item("A"))));
+        }
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Order.class),
+                ExcelWriterOptions.builder().adaptiveWindow(true).build());
+
+        writer.write(data);
+
+        Assert.assertTrue(writer.getWindowSize() >= AdaptiveWindow.MIN_WINDOW);
+        Assert.assertTrue(writer.getWindowSize() <= AdaptiveWindow.MAX_WINDOW);
+        writer.dispose();
+    }
+
+    @Test
+    public void rollsOverToNewSheetRepeatingHeader() throws Exception {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(Order.class);
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(metadata,
+                ExcelWriterOptions.builder().sheetRollover(true).maxRowsPerSheet(4).build());
+
+        // 5 itens: 3 linhas na primeira planilha (header + 3) e 2 na segunda
+        List<Item> items = List.of(new Item("A"), new Item("B"), new Item("C"), new Item("D"), new Item("E"));
+        writer.write(List.of(new Order("1", "Alice", items), new Order("2", "Bob", List.of(new Item("F")))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        writer.dispose();
+
+        Assert.assertEquals(2, writer.getSheetCount());
+        try (XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet first = wb.getSheetAt(0);
+            Sheet second = wb.getSheetAt(1);
+            Assert.assertEquals(metadata.getSheetName() + " (2)", second.getSheetName());
+            Assert.assertEquals(3, first.getLastRowNum());
+            Assert.assertEquals(3, second.getLastRowNum());
+
+            // Header repetido e valores do objeto repetidos na continuação do grupo
+            Assert.assertEquals("id", second.getRow(0).getCell(0).getStringCellValue());
+            Assert.assertEquals("1", second.getRow(1).getCell(0).getStringCellValue());
+            Assert.assertEquals("D", second.getRow(1).getCell(2).getStringCellValue());
+            Assert.assertEquals("2", second.getRow(3).getCell(0).getStringCellValue());
+
+            Assert.assertEquals("A2:A4", first.getMergedRegion(0).formatAsString());
+            Assert.assertEquals(2, first.getNumMergedRegions());
+            Assert.assertEquals("A2:A3", second.getMergedRegion(0).formatAsString());
+            Assert.assertEquals(2, second.getNumMergedRegions());
+        }
+    }
+
+    @Test
+    public void sharesStylesBetweenColumnsAndSheetsWithSameFormat() throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Ledger.class),
+                ExcelWriterOptions.builder().sheetRollover(true).maxRowsPerSheet(11).build());
+        List<Ledger> data = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            data.add(new Ledger("1.1." + i, i * 2.5, LocalDate.of(2024, 3, 1).plusDays(i)));
+        }
+        writer.write(data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        writer.dispose();
+
+        Assert.assertEquals(3, writer.getSheetCount());
+        try (XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            // Padrão, header, texto, número e data: um estilo por formatação, em todas as planilhas
+            Assert.assertEquals(5, wb.getNumCellStyles());
+            Sheet last = wb.getSheetAt(2);
+            Assert.assertEquals(last.getRow(1).getCell(1).getCellStyle().getIndex(),
+                    last.getRow(1).getCell(2).getCellStyle().getIndex());
+            Assert.assertEquals(last.getRow(1).getCell(3).getCellStyle().getIndex(),
+                    last.getRow(1).getCell(4).getCellStyle().getIndex());
+            Assert.assertEquals("#,##0.00", last.getRow(1).getCell(2).getCellStyle().getDataFormatString());
+            Assert.assertEquals("dd/mm/yyyy", last.getRow(1).getCell(4).getCellStyle().getDataFormatString());
+        }
+    }
+
+    @Spreadsheet
+    static class Alinhado {
+        @SheetColumn(order = 1, align = HorizontalAlignment.RIGHT)
+        String codigo;
+
+        @SheetColumn(order = 2, align = HorizontalAlignment.CENTER)
+        Integer quantidade;
+
+        @SheetColumn(order = 3)
+        LocalDate data;
+
+        Alinhado(String codigo, Integer quantidade, LocalDate data) {
+            this.codigo = codigo;
+            this.quantidade = quantidade;
+            this.data = data;
+        }
+    }
+
+    @Test
+    public void createsDateStyleOnlyForColumnsThatMayHoldDates() throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Alinhado.class),
+                ExcelWriterOptions.builder().build());
+        writer.write(List.of(new Alinhado("A-1", 3, LocalDate.of(2024, 3, 1))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        writer.dispose();
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            // Padrão, header, texto à direita, texto centralizado, texto da data e data: nenhum estilo
+            // de data para as colunas de texto e número
+            Assert.assertEquals(6, wb.getNumCellStyles());
+            Assert.assertEquals("dd/mm/yyyy", wb.getSheetAt(0).getRow(1).getCell(2).getCellStyle().getDataFormatString());
+        }
+    }
+
+    @Test
+    public void failsWhenSheetLimitIsExceededWithoutRollover() throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Order.class),
+                ExcelWriterOptions.builder().maxRowsPerSheet(3).build());
+        List<Item> items = List.of(new Item("A"), new Item("B"), new Item("C"));
+
+        try {
+            writer.write(List.of(new Order("1", "Alice", items)));
+            Assert.fail("Deveria falhar ao exceder o limite de linhas");
+        } catch (ExcelExportException e) {
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().startsWith("Limite de 3 linhas"));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static byte[] export(List<Order> data, CompressionProfile profile) throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(Order.class),
+                ExcelWriterOptions.builder().compressionProfile(profile).build());
+        writer.write(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
 }
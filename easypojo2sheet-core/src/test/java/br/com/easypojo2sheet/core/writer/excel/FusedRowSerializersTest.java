@@ -0,0 +1,135 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class FusedRowSerializersTest {
+
+    @Spreadsheet
+    static class Sale {
+        @SheetColumn(order = 1)
+        String code;
+
+        @SheetColumn(order = 2)
+        int quantity;
+
+        @SheetColumn(order = 3, numberFormat = "#,##0.00")
+        double price;
+
+        @SheetColumn(order = 4, dateFormat = "dd/MM/yyyy")
+        LocalDate date;
+
+        @SheetColumn(order = 5)
+        Boolean paid;
+
+        // Tipo decidido pelo valor em tempo de execução
+        @SheetColumn(order = 6)
+        Object extra;
+
+        @SheetColumn(order = 7, property = "customer.name")
+        Customer customer;
+
+        Sale(String code, int quantity, double price, LocalDate date, Boolean paid, Object extra, Customer customer) {
+            this.code = code;
+            this.quantity = quantity;
+            this.price = price;
+            this.date = date;
+            this.paid = paid;
+            this.extra = extra;
+            this.customer = customer;
+        }
+
+        @SheetColumn(name = "Total", order = 8)
+        public double getTotal() {
+            return quantity * price;
+        }
+    }
+
+    static class Customer {
+        String name;
+
+        Customer(String name) {
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void createsSerializerOncePerMetadata() {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(Sale.class);
+
+        RowSerializer serializer = FusedRowSerializers.get(metadata);
+
+        Assert.assertNotNull(serializer);
+        Assert.assertTrue(serializer.getClass().isHidden());
+        Assert.assertSame(serializer, FusedRowSerializers.get(metadata));
+    }
+
+    @Test
+    public void writesSameCellsAsColumnLoop() throws Exception {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(Sale.class);
+        List<Sale> data = List.of(
+                new Sale("A1", 2, 10.5, LocalDate.of(2024, 1, 31), true, 42L, new Customer("Ana")),
+                new Sale("B2", 0, 0.0, null, null, "texto", null),
+                new Sale(null, 3, 1.25, LocalDate.of(2023, 12, 1), false, null, new Customer(null))
+        );
+
+        ExcelStreamingWriter loop = new ExcelStreamingWriter(metadata, ExcelWriterOptions.builder()
+                .windowSize(-1)
+                .build());
+        ExcelStreamingWriter fused = new ExcelStreamingWriter(metadata, ExcelWriterOptions.builder()
+                .windowSize(-1)
+                .fusedRowSerializer(true)
+                .build());
+
+        try {
+            loop.write(data);
+            fused.write(data);
+
+            Sheet expected = loop.getWorkbook().getSheetAt(0);
+            Sheet actual = fused.getWorkbook().getSheetAt(0);
+
+            for (int r = 1; r <= data.size(); r++) {
+                Row expectedRow = expected.getRow(r);
+                Row actualRow = actual.getRow(r);
+                Assert.assertEquals(expectedRow.getLastCellNum(), actualRow.getLastCellNum());
+
+                for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                    assertSameCell(expectedRow.getCell(c), actualRow.getCell(c));
+                }
+            }
+
+            Assert.assertEquals(21.0, actual.getRow(1).getCell(7).getNumericCellValue(), 0.0);
+            Assert.assertEquals("Ana", actual.getRow(1).getCell(6).getStringCellValue());
+        } finally {
+            loop.dispose();
+            fused.dispose();
+        }
+    }
+
+    private static void assertSameCell(Cell expected, Cell actual) {
+        String where = "célula " + expected.getAddress();
+        Assert.assertEquals(where, expected.getCellType(), actual.getCellType());
+
+        if (expected.getCellType() == CellType.NUMERIC) {
+            Assert.assertEquals(where, expected.getNumericCellValue(), actual.getNumericCellValue(), 0.0);
+        } else if (expected.getCellType() == CellType.BOOLEAN) {
+            Assert.assertEquals(where, expected.getBooleanCellValue(), actual.getBooleanCellValue());
+        } else if (expected.getCellType() == CellType.STRING) {
+            Assert.assertEquals(where, expected.getStringCellValue(), actual.getStringCellValue());
+        }
+        Assert.assertEquals(where, expected.getCellStyle().getDataFormatString(),
+                actual.getCellStyle().getDataFormatString());
+        Assert.assertEquals(where, expected.getCellStyle().getAlignment(), actual.getCellStyle().getAlignment());
+    }
+}
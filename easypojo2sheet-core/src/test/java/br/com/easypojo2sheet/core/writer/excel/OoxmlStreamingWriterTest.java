@@ -0,0 +1,411 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import br.com.easypojo2sheet.model.enums.CompressionProfile;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
+import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class OoxmlStreamingWriterTest {
+
+    @Spreadsheet(name = "Vendas & Cia", freezeHeader = true, startRow = 1)
+    static class Sale {
+        @SheetColumn(name = "Código", order = 1, width = 15)
+        String code;
+
+        @SheetColumn(order = 2, align = HorizontalAlignment.RIGHT)
+        Integer quantity;
+
+        @SheetColumn(order = 3, numberFormat = "#,##0.00")
+        double price;
+
+        @SheetColumn(order = 4, numberFormat = "0.000%")
+        Double rate;
+
+        @SheetColumn(order = 5, dateFormat = "dd/MM/yyyy")
+        LocalDate date;
+
+        @SheetColumn(order = 6, dateFormat = "dd/MM/yyyy HH:mm")
+        LocalDateTime createdAt;
+
+        @SheetColumn(order = 7)
+        Boolean paid;
+
+        Sale(String code, Integer quantity, double price, Double rate, LocalDate date,
+             LocalDateTime createdAt, Boolean paid) {
+            this.code = code;
+            this.quantity = quantity;
+            this.price = price;
+            this.rate = rate;
+            this.date = date;
+            this.createdAt = createdAt;
+            this.paid = paid;
+        }
+    }
+
+    @Spreadsheet
+    static class Order {
+        @SheetColumn(order = 1)
+        String id;
+
+        @SheetColumn(order = 2, listStrategy = ListRenderStrategy.EXPAND_ROWS_WITH_MERGED_ROWS, property = "sku")
+        List<Item> items;
+
+        Order(String id, List<Item> items) {
+            this.id = id;
+            this.items = items;
+        }
+    }
+
+    static class Item {
+        String sku;
+
+        Item(String sku) {
+            this.sku = sku;
+        }
+    }
+
+    @Spreadsheet
+    static class Event {
+        @SheetColumn(order = 1, dateFormat = "dd/MM/yyyy HH:mm")
+        Instant at;
+
+        @SheetColumn(order = 2)
+        LocalTime time;
+
+        @SheetColumn(order = 3, dateFormat = "dd/MM/yyyy HH:mm")
+        ZonedDateTime zoned;
+
+        @SheetColumn(order = 4)
+        LocalDate day;
+
+        Event(Instant at, LocalTime time, ZonedDateTime zoned, LocalDate day) {
+            this.at = at;
+            this.time = time;
+            this.zoned = zoned;
+            this.day = day;
+        }
+    }
+
+    @Spreadsheet
+    static class Ticket {
+        @SheetColumn(order = 1)
+        String code;
+
+        @SheetColumn(order = 2)
+        String status;
+
+        @SheetColumn(order = 3, stringStorage = StringStorage.SHARED)
+        String team;
+
+        Ticket(String code, String status, String team) {
+            this.code = code;
+            this.status = status;
+            this.team = team;
+        }
+    }
+
+    @Test
+    public void sharesStringsOfCategoricalColumnsOnly() throws Exception {
+        List<Ticket> data = new ArrayList<>();
+        String[] statuses = {"ABERTO", "FECHADO", "PENDENTE"};
+        for (int i = 0; i < 300; i++) {
+            data.add(new Ticket("T-" + i, statuses[i % statuses.length], "Time " + (i % 2)));
+        }
+
+        byte[] bytes = nativeWriter(Ticket.class, data, ExcelWriterOptions.builder()
+                .stringStorage(StringStorage.AUTO)
+                .build());
+
+        String sst = entry(bytes, "xl/sharedStrings.xml");
+        // team (anotada) e status (amostragem) usam a tabela; code (valores únicos) continua inline
+        Assert.assertTrue(sst, sst.contains("uniqueCount=\"5\""));
+        Assert.assertFalse(sst.contains("T-1"));
+        Assert.assertTrue(entry(bytes, "xl/worksheets/sheet1.xml").contains("t=\"s\""));
+
+        try (Workbook expected = read(poi(Ticket.class, data)); Workbook actual = read(bytes)) {
+            assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), data.size() + 1);
+        }
+    }
+
+    @Test
+    public void keepsSharedStringsTableBounded() throws Exception {
+        List<Ticket> data = List.of(
+                new Ticket("1", "A", "Alfa"),
+                new Ticket("2", "B", "Beta"),
+                new Ticket("3", "C", "Alfa"),
+                new Ticket("4", "D", "Gama"),
+                new Ticket("5", "E", "Delta"));
+
+        byte[] bytes = nativeWriter(Ticket.class, data, ExcelWriterOptions.builder()
+                .sharedStringsLimit(2)
+                .build());
+
+        Assert.assertTrue(entry(bytes, "xl/sharedStrings.xml").contains("uniqueCount=\"2\""));
+        try (Workbook expected = read(poi(Ticket.class, data)); Workbook actual = read(bytes)) {
+            assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), data.size() + 1);
+        }
+    }
+
+    @Test
+    public void compressesSheetInParallelBlocks() throws Exception {
+        List<Ticket> data = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            data.add(new Ticket("T-" + i, i % 3 == 0 ? "ABERTO" : "FECHADO", "Time " + (i % 7)));
+        }
+
+        byte[] bytes = nativeWriter(Ticket.class, data, ExcelWriterOptions.builder()
+                .compressionThreads(3)
+                .build());
+
+        try (Workbook expected = read(poi(Ticket.class, data)); Workbook actual = read(bytes)) {
+            assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), data.size() + 1);
+        }
+    }
+
+    @Test
+    public void storesEntriesUncompressedWithStoredProfile() throws Exception {
+        List<Ticket> data = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            data.add(new Ticket("T-" + i, "ABERTO", "Time 1"));
+        }
+
+        byte[] balanced = nativeWriter(Ticket.class, data, ExcelWriterOptions.defaults());
+        byte[] stored = nativeWriter(Ticket.class, data, ExcelWriterOptions.builder()
+                .compressionProfile(CompressionProfile.STORED)
+                .build());
+
+        Assert.assertTrue(stored.length > entry(stored, "xl/worksheets/sheet1.xml").length());
+        Assert.assertTrue(balanced.length * 4 < stored.length);
+        try (Workbook expected = read(balanced); Workbook actual = read(stored)) {
+            assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), data.size() + 1);
+        }
+    }
+
+    @Test
+    public void omitsSharedStringsPartWhenAllInline() throws Exception {
+        byte[] bytes = nativeWriter(Sale.class, List.of(
+                new Sale("A", 1, 1.0, null, null, null, null)), ExcelWriterOptions.defaults());
+
+        Assert.assertNull(entry(bytes, "xl/sharedStrings.xml"));
+    }
+
+    @Test
+    public void producesSameCellsAsPoiWriter() throws Exception {
+        List<Sale> data = List.of(
+                new Sale("A<1> & \"B\"", 2, 10.5, 0.125, LocalDate.of(2024, 1, 31),
+                        LocalDateTime.of(2024, 1, 31, 13, 45, 10), true),
+                new Sale("  espaços  ", null, 1e-7, Double.NaN, null, null, false),
+                new Sale("ação 日本 😀 \u0001", -3, 123456789.125, null, LocalDate.of(1899, 12, 31), null, null)
+        );
+
+        try (Workbook expected = read(poi(Sale.class, data)); Workbook actual = read(nativeWriter(Sale.class, data))) {
+            Sheet expectedSheet = expected.getSheetAt(0);
+            Sheet actualSheet = actual.getSheetAt(0);
+
+            Assert.assertEquals("Vendas & Cia", actual.getSheetName(0));
+            assertSameSheet(expectedSheet, actualSheet, data.size() + 2);
+            Assert.assertEquals(expectedSheet.getPaneInformation().getHorizontalSplitPosition(),
+                    actualSheet.getPaneInformation().getHorizontalSplitPosition());
+            for (int c = 0; c < 7; c++) {
+                Assert.assertEquals(expectedSheet.getColumnWidth(c), actualSheet.getColumnWidth(c));
+            }
+            Assert.assertTrue(actual.getFontAt(actualSheet.getRow(1).getCell(0).getCellStyle().getFontIndex()).getBold());
+        }
+    }
+
+    @Test
+    public void expandsRowsWithMergedRegionsLikePoiWriter() throws Exception {
+        List<Order> data = List.of(
+                new Order("1", List.of(new Item("A"), new Item("B"), new Item("C"))),
+                new Order("2", List.of(new Item("D"))),
+                new Order("3", List.of())
+        );
+
+        try (Workbook expected = read(poi(Order.class, data)); Workbook actual = read(nativeWriter(Order.class, data))) {
+            Sheet expectedSheet = expected.getSheetAt(0);
+            Sheet actualSheet = actual.getSheetAt(0);
+
+            assertSameSheet(expectedSheet, actualSheet, 6);
+            Assert.assertEquals(regions(expectedSheet), regions(actualSheet));
+            Assert.assertEquals(1, actualSheet.getNumMergedRegions());
+        }
+    }
+
+    @Test
+    public void rollsOverSheetsLikePoi() throws Exception {
+        List<Order> data = List.of(
+                new Order("1", List.of(new Item("A"), new Item("B"), new Item("C"), new Item("D"), new Item("E"))),
+                new Order("2", List.of(new Item("F"))),
+                new Order("3", List.of(new Item("G"), new Item("H"))));
+        ExcelWriterOptions options = ExcelWriterOptions.builder().sheetRollover(true).maxRowsPerSheet(4).build();
+
+        try (Workbook expected = read(poi(Order.class, data, options));
+             Workbook actual = read(nativeWriter(Order.class, data, options))) {
+            Assert.assertEquals(3, actual.getNumberOfSheets());
+            for (int i = 0; i < expected.getNumberOfSheets(); i++) {
+                Sheet expectedSheet = expected.getSheetAt(i);
+                Sheet actualSheet = actual.getSheetAt(i);
+                Assert.assertEquals(expectedSheet.getSheetName(), actualSheet.getSheetName());
+                Assert.assertEquals(expectedSheet.getLastRowNum(), actualSheet.getLastRowNum());
+                assertSameSheet(expectedSheet, actualSheet, 4);
+                Assert.assertEquals(regions(expectedSheet), regions(actualSheet));
+            }
+        }
+    }
+
+    @Test
+    public void writesDecimalsThatReadBackExactly() throws Exception {
+        double[] prices = {0.1, 0.29, -1234.56, 0.000001, 1e-7, 1.0 / 3, 999999999.999999, 4.35 * 100, -0.5};
+        List<Sale> data = new ArrayList<>();
+        for (double price : prices) {
+            data.add(new Sale("p", null, price, null, null, null, null));
+        }
+
+        byte[] bytes = nativeWriter(Sale.class, data);
+        Assert.assertTrue(entry(bytes, "xl/worksheets/sheet1.xml").contains("<v>-1234.56</v>"));
+        try (Workbook workbook = read(bytes)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int i = 0; i < prices.length; i++) {
+                Assert.assertEquals(prices[i], sheet.getRow(i + 2).getCell(2).getNumericCellValue(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void writesJavaTimeTypesInBothDateSystems() throws Exception {
+        ZoneId zone = ZoneId.of("America/Sao_Paulo");
+        Instant instant = Instant.parse("2024-03-10T15:30:00Z");
+        List<Event> data = List.of(
+                new Event(instant, LocalTime.of(6, 15), instant.atZone(ZoneId.of("UTC")), LocalDate.of(1904, 1, 2)),
+                new Event(null, null, null, null));
+
+        for (boolean date1904 : new boolean[]{false, true}) {
+            ExcelWriterOptions options = ExcelWriterOptions.builder().date1904(date1904).zoneId(zone).build();
+            try (Workbook expected = read(poi(Event.class, data, options));
+                 Workbook actual = read(nativeWriter(Event.class, data, options))) {
+                assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), data.size() + 1);
+
+                Row row = actual.getSheetAt(0).getRow(1);
+                Assert.assertEquals(LocalDateTime.of(2024, 3, 10, 12, 30), row.getCell(0).getLocalDateTimeCellValue());
+                Assert.assertEquals(LocalDateTime.of(2024, 3, 10, 12, 30), row.getCell(2).getLocalDateTimeCellValue());
+                Assert.assertEquals(LocalDate.of(1904, 1, 2), row.getCell(3).getLocalDateTimeCellValue().toLocalDate());
+                Assert.assertEquals(0.26041666, row.getCell(1).getNumericCellValue(), 1e-8);
+                Assert.assertEquals("hh:mm:ss", row.getCell(1).getCellStyle().getDataFormatString());
+            }
+        }
+    }
+
+    private static byte[] poi(Class<?> type, List<?> data) throws Exception {
+        return poi(type, data, ExcelWriterOptions.defaults());
+    }
+
+    private static byte[] poi(Class<?> type, List<?> data, ExcelWriterOptions options) throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(type), options);
+        writer.write(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] nativeWriter(Class<?> type, List<?> data) throws Exception {
+        return nativeWriter(type, data, ExcelWriterOptions.defaults());
+    }
+
+    private static byte[] nativeWriter(Class<?> type, List<?> data, ExcelWriterOptions options) throws Exception {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(type);
+        OoxmlStreamingWriter writer = new OoxmlStreamingWriter(metadata, options);
+        writer.write(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
+
+    private static String entry(byte[] bytes, String name) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().equals(name)) {
+                    return new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Workbook read(byte[] bytes) throws Exception {
+        return new XSSFWorkbook(new ByteArrayInputStream(bytes));
+    }
+
+    private static Set<String> regions(Sheet sheet) {
+        Set<String> regions = new HashSet<>();
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            regions.add(region.formatAsString());
+        }
+        return regions;
+    }
+
+    private static void assertSameSheet(Sheet expected, Sheet actual, int rows) {
+        for (int r = 0; r < rows; r++) {
+            Row expectedRow = expected.getRow(r);
+            Row actualRow = actual.getRow(r);
+            if (expectedRow == null) {
+                Assert.assertNull("linha " + r, actualRow);
+                continue;
+            }
+            Assert.assertEquals("linha " + r, expectedRow.getLastCellNum(), actualRow.getLastCellNum());
+
+            for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                assertSameCell(expectedRow.getCell(c), actualRow.getCell(c));
+            }
+        }
+    }
+
+    static void assertSameCell(Cell expected, Cell actual) {
+        String where = "célula " + expected.getAddress();
+        Assert.assertEquals(where, expected.getCellType(), actual.getCellType());
+
+        switch (expected.getCellType()) {
+            case NUMERIC -> Assert.assertEquals(where, expected.getNumericCellValue(), actual.getNumericCellValue(), 0.0);
+            case BOOLEAN -> Assert.assertEquals(where, expected.getBooleanCellValue(), actual.getBooleanCellValue());
+            case STRING -> Assert.assertEquals(where, expected.getStringCellValue(), actual.getStringCellValue());
+            case ERROR -> Assert.assertEquals(where, expected.getErrorCellValue(), actual.getErrorCellValue());
+            default -> {
+            }
+        }
+        if (expected.getCellType() != CellType.BLANK) {
+            Assert.assertEquals(where, expected.getCellStyle().getDataFormatString(),
+                    actual.getCellStyle().getDataFormatString());
+            Assert.assertEquals(where, expected.getCellStyle().getAlignment(), actual.getCellStyle().getAlignment());
+            Assert.assertEquals(where, expected.getCellStyle().getVerticalAlignment(),
+                    actual.getCellStyle().getVerticalAlignment());
+        }
+    }
+}
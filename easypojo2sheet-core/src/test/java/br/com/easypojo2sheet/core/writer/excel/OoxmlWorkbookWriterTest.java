@@ -0,0 +1,354 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import br.com.easypojo2sheet.exception.ExcelExportException;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+public class OoxmlWorkbookWriterTest {
+
+    @Spreadsheet(name = "Clientes")
+    static class Customer {
+        @SheetColumn(order = 1)
+        Long id;
+
+        @SheetColumn(order = 2, stringStorage = StringStorage.SHARED)
+        String city;
+
+        Customer(Long id, String city) {
+            this.id = id;
+            this.city = city;
+        }
+    }
+
+    @Spreadsheet(name = "Faturas", freezeHeader = true)
+    static class Invoice {
+        @SheetColumn(order = 1)
+        String number;
+
+        @SheetColumn(order = 2, numberFormat = "#,##0.00")
+        Double total;
+
+        @SheetColumn(order = 3, dateFormat = "dd/MM/yyyy")
+        LocalDate dueDate;
+
+        @SheetColumn(order = 4, stringStorage = StringStorage.SHARED)
+        String city;
+
+        Invoice(String number, Double total, LocalDate dueDate, String city) {
+            this.number = number;
+            this.total = total;
+            this.dueDate = dueDate;
+            this.city = city;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void writesSheetsInOrderWithOrWithoutExecutor() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        List<Invoice> invoices = new ArrayList<>();
+        String[] cities = {"Recife", "Natal", "Belém"};
+        for (int i = 0; i < 2_000; i++) {
+            customers.add(new Customer((long) i, cities[i % cities.length]));
+            invoices.add(new Invoice("NF-" + i, i * 1.5, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    cities[(i + 1) % cities.length]));
+        }
+
+        byte[] sequential = workbook(ExcelWriterOptions.defaults(), customers, invoices);
+        byte[] parallel = workbook(ExcelWriterOptions.builder().sheetExecutor(executor).build(), customers, invoices);
+
+        try (Workbook expected = read(sequential); Workbook actual = read(parallel);
+             Workbook poiCustomers = read(poi(Customer.class, customers));
+             Workbook poiInvoices = read(poi(Invoice.class, invoices))) {
+            Assert.assertEquals(2, actual.getNumberOfSheets());
+            Assert.assertEquals("Clientes", actual.getSheetName(0));
+            Assert.assertEquals("Faturas", actual.getSheetName(1));
+
+            assertSameSheet(poiCustomers.getSheetAt(0), expected.getSheetAt(0), customers.size() + 1);
+            assertSameSheet(poiInvoices.getSheetAt(0), expected.getSheetAt(1), invoices.size() + 1);
+            assertSameSheet(poiCustomers.getSheetAt(0), actual.getSheetAt(0), customers.size() + 1);
+            assertSameSheet(poiInvoices.getSheetAt(0), actual.getSheetAt(1), invoices.size() + 1);
+            Assert.assertNotNull(actual.getSheetAt(1).getPaneInformation());
+        }
+        assertValidCentralDirectory(parallel, 8);
+    }
+
+    @Test
+    public void propagatesFailureOfBackgroundSheet() throws Exception {
+        List<Invoice> failing = new AbstractList<>() {
+            @Override
+            public Invoice get(int index) {
+                throw new IllegalStateException("falha na fonte");
+            }
+
+            @Override
+            public int size() {
+                return 1;
+            }
+        };
+
+        OoxmlWorkbookWriter writer = new OoxmlWorkbookWriter(ExcelWriterOptions.builder().sheetExecutor(executor).build())
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), List.of(new Customer(1L, "Recife")))
+                .addSheet(MetadataExtractor.extractMetadata(Invoice.class), failing);
+
+        try {
+            writer.saveToStream(new ByteArrayOutputStream());
+            Assert.fail("Esperava falha da planilha gerada no executor");
+        } catch (ExcelExportException e) {
+            Assert.assertEquals("falha na fonte", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void stopsBackgroundSheetsWhenFirstSheetFails() throws Exception {
+        AtomicLong pulled = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(1);
+        // Fonte sem fim: só para se a planilha em segundo plano for cancelada
+        Iterator<Invoice> endless = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Invoice next() {
+                if (pulled.incrementAndGet() == 1_000) {
+                    started.countDown();
+                }
+                return new Invoice("NF", 1.5, LocalDate.of(2024, 1, 1), "Natal");
+            }
+        };
+        Iterator<Customer> failing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Customer next() {
+                try {
+                    started.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("falha na fonte");
+            }
+        };
+
+        OoxmlWorkbookWriter writer = new OoxmlWorkbookWriter(ExcelWriterOptions.builder().sheetExecutor(executor).build())
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), failing)
+                .addSheet(MetadataExtractor.extractMetadata(Invoice.class), endless);
+
+        try {
+            writer.saveToStream(new ByteArrayOutputStream());
+            Assert.fail("Esperava falha da primeira planilha");
+        } catch (ExcelExportException e) {
+            Assert.assertEquals("falha na fonte", e.getCause().getMessage());
+        }
+        long afterFailure = pulled.get();
+        Thread.sleep(200);
+        Assert.assertEquals("A planilha em segundo plano deveria ter parado", afterFailure, pulled.get());
+    }
+
+    @Test
+    public void rollsOverBackgroundSheetsAndNumbersParts() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            customers.add(new Customer((long) i, "Recife"));
+            invoices.add(new Invoice("NF-" + i, i * 1.5, LocalDate.of(2024, 1, 1), "Natal"));
+        }
+        ExcelWriterOptions options = ExcelWriterOptions.builder()
+                .sheetRollover(true)
+                .maxRowsPerSheet(11)
+                .sheetExecutor(executor)
+                .build();
+
+        OoxmlWorkbookWriter writer = new OoxmlWorkbookWriter(options)
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), customers)
+                .addSheet(MetadataExtractor.extractMetadata(Invoice.class), invoices);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+
+        // 25 linhas em blocos de 10 por planilha: 3 partes para cada entidade
+        Assert.assertEquals(6, writer.getSheetCount());
+        try (Workbook actual = read(out.toByteArray())) {
+            Assert.assertEquals(List.of("Clientes", "Clientes (2)", "Clientes (3)", "Faturas", "Faturas (2)", "Faturas (3)"),
+                    List.of(actual.getSheetName(0), actual.getSheetName(1), actual.getSheetName(2),
+                            actual.getSheetName(3), actual.getSheetName(4), actual.getSheetName(5)));
+            Assert.assertEquals(5, actual.getSheetAt(5).getLastRowNum());
+            Assert.assertEquals("NF-20", actual.getSheetAt(5).getRow(1).getCell(0).getStringCellValue());
+            Assert.assertNotNull(actual.getSheetAt(4).getPaneInformation());
+        }
+        assertValidCentralDirectory(out.toByteArray(), 12);
+    }
+
+    @Test
+    public void smallExportsReuseCachedStaticParts() throws Exception {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(Invoice.class);
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            invoices.add(new Invoice("NF-" + i, i * 1.5, LocalDate.of(2024, 1, 1).plusDays(i), "Natal"));
+        }
+
+        // Lista: pacote montado em memória; iterador: escrito direto no destino
+        byte[] first = save(new OoxmlWorkbookWriter().addSheet(metadata, invoices));
+        byte[] second = save(new OoxmlWorkbookWriter().addSheet(metadata, invoices));
+        byte[] streamed = save(new OoxmlWorkbookWriter().addSheet(metadata, invoices.iterator()));
+
+        try (Workbook expected = read(poi(Invoice.class, invoices))) {
+            for (byte[] bytes : List.of(first, second, streamed)) {
+                try (Workbook actual = read(bytes)) {
+                    assertSameSheet(expected.getSheetAt(0), actual.getSheetAt(0), invoices.size() + 1);
+                    Assert.assertEquals("#,##0.00",
+                            actual.getSheetAt(0).getRow(1).getCell(1).getCellStyle().getDataFormatString());
+                }
+                assertValidCentralDirectory(bytes, 7);
+            }
+        }
+        Assert.assertArrayEquals(entry(first, "xl/styles.xml"), entry(streamed, "xl/styles.xml"));
+        Assert.assertArrayEquals(entry(first, "[Content_Types].xml"), entry(second, "[Content_Types].xml"));
+    }
+
+    @Test
+    public void rollsOverSmallExportOfCachedSheet() throws Exception {
+        SheetMetadata metadata = MetadataExtractor.extractMetadata(Customer.class);
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            customers.add(new Customer((long) i, "Recife"));
+        }
+        ExcelWriterOptions options = ExcelWriterOptions.builder()
+                .sheetRollover(true)
+                .maxRowsPerSheet(11)
+                .build();
+
+        // A primeira exportação, sem rollover, deixa as partes de uma planilha no cache
+        save(new OoxmlWorkbookWriter().addSheet(metadata, customers.subList(0, 5)));
+        OoxmlWorkbookWriter writer = new OoxmlWorkbookWriter(options).addSheet(metadata, customers);
+        byte[] bytes = save(writer);
+
+        Assert.assertEquals(3, writer.getSheetCount());
+        try (Workbook actual = read(bytes)) {
+            Assert.assertEquals(3, actual.getNumberOfSheets());
+            Assert.assertEquals("Clientes (3)", actual.getSheetName(2));
+            Assert.assertEquals(5, actual.getSheetAt(2).getLastRowNum());
+        }
+        assertValidCentralDirectory(bytes, 9);
+    }
+
+    @Test(expected = ExcelExportException.class)
+    public void rejectsDuplicatedSheetNames() {
+        new OoxmlWorkbookWriter()
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), List.of())
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), List.of());
+    }
+
+    private static byte[] workbook(ExcelWriterOptions options, List<Customer> customers, List<Invoice> invoices)
+            throws Exception {
+        OoxmlWorkbookWriter writer = new OoxmlWorkbookWriter(options)
+                .addSheet(MetadataExtractor.extractMetadata(Customer.class), customers)
+                .addSheet(MetadataExtractor.extractMetadata(Invoice.class), invoices);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] save(OoxmlWorkbookWriter writer) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Conteúdo descomprimido de uma entrada do pacote.
+     */
+    private static byte[] entry(byte[] bytes, String name) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().equals(name)) {
+                    return zip.readAllBytes();
+                }
+            }
+        }
+        throw new AssertionError("Entrada não encontrada: " + name);
+    }
+
+    private static byte[] poi(Class<?> type, List<?> data) throws Exception {
+        ExcelStreamingWriter writer = new ExcelStreamingWriter(MetadataExtractor.extractMetadata(type));
+        writer.write(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveToStream(out);
+        return out.toByteArray();
+    }
+
+    private static Workbook read(byte[] bytes) throws Exception {
+        return new XSSFWorkbook(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Lê o pacote pelo diretório central (java.util.zip.ZipFile), conferindo o CRC de cada entrada.
+     */
+    private static void assertValidCentralDirectory(byte[] bytes, int entries) throws Exception {
+        File file = File.createTempFile("workbook", ".xlsx");
+        try {
+            Files.write(file.toPath(), bytes);
+            try (ZipFile zip = new ZipFile(file)) {
+                Assert.assertEquals(entries, zip.size());
+                for (ZipEntry entry : Collections.list(zip.entries())) {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Assert.assertEquals(entry.getName(), entry.getSize(), in.readAllBytes().length);
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    private static void assertSameSheet(Sheet expected, Sheet actual, int rows) {
+        for (int r = 0; r < rows; r++) {
+            Row expectedRow = expected.getRow(r);
+            Row actualRow = actual.getRow(r);
+            Assert.assertEquals("linha " + r, expectedRow.getLastCellNum(), actualRow.getLastCellNum());
+            for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                OoxmlStreamingWriterTest.assertSameCell(expectedRow.getCell(c), actualRow.getCell(c));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+
+public class ParallelDeflaterOutputStreamTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void producesSingleValidDeflateStream() throws Exception {
+        byte[] data = sampleXml(ParallelDeflaterOutputStream.BLOCK_SIZE * 9 + 123);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(target, 6, executor, 4);
+
+        // Escritas de tamanhos variados, cruzando as fronteiras dos blocos
+        Random random = new Random(42);
+        for (int offset = 0; offset < data.length; ) {
+            int length = Math.min(data.length - offset, 1 + random.nextInt(50_000));
+            out.write(data, offset, length);
+            offset += length;
+        }
+        out.finish();
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        Assert.assertEquals(crc.getValue(), out.crc());
+        Assert.assertEquals(data.length, out.size());
+        Assert.assertEquals(target.size(), out.compressedSize());
+        Assert.assertArrayEquals(data, inflate(target.toByteArray(), data.length));
+        Assert.assertTrue(target.size() < data.length / 4);
+    }
+
+    @Test
+    public void finishesEmptyStream() throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(target, 6, executor, 2);
+        out.finish();
+
+        Assert.assertEquals(0, out.size());
+        Assert.assertArrayEquals(new byte[0], inflate(target.toByteArray(), 0));
+    }
+
+    private static byte[] sampleXml(int size) {
+        StringBuilder xml = new StringBuilder(size + 100);
+        for (int row = 1; xml.length() < size; row++) {
+            xml.append("<row r=\"").append(row).append("\"><c r=\"A").append(row)
+                    .append("\" t=\"inlineStr\"><is><t>Cliente ").append(row * 7919 % 1000)
+                    .append("</t></is></c></row>");
+        }
+        xml.setLength(size);
+        return xml.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] inflate(byte[] compressed, int expectedLength) throws Exception {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] result = new byte[expectedLength + 1];
+            int length = 0;
+            while (!inflater.finished()) {
+                int count = inflater.inflate(result, length, result.length - length);
+                if (count == 0 && inflater.needsInput() && !inflater.finished()) {
+                    Assert.fail("Stream DEFLATE incompleto");
+                }
+                length += count;
+            }
+            Assert.assertEquals(expectedLength, length);
+            return Arrays.copyOf(result, length);
+        } finally {
+            inflater.end();
+        }
+    }
+}
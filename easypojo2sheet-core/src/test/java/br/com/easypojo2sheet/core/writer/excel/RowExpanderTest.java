@@ -0,0 +1,79 @@
+package br.com.easypojo2sheet.core.writer.excel;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class RowExpanderTest {
+
+    static class Order {
+        String id;
+        List<String> items;
+
+        Order(String id, List<String> items) {
+            this.id = id;
+            this.items = items;
+        }
+    }
+
+    private static List<ColumnMetadata> columns() throws Exception {
+        return List.of(
+                ColumnMetadata.builder().field(Order.class.getDeclaredField("id")).columnName("id").build(),
+                ColumnMetadata.builder().field(Order.class.getDeclaredField("items")).columnName("items")
+                        .listStrategy(ListRenderStrategy.EXPAND_ROWS_WITH_MERGED_ROWS).build());
+    }
+
+    @Test
+    public void expandsLazilyOverReusedRowView() throws Exception {
+        List<Order> orders = List.of(
+                new Order("a", List.of("x", "y", "z")),
+                new Order("b", List.of()),
+                new Order("c", null));
+        Iterator<Order> source = orders.iterator();
+        Iterator<RowExpander.ExpandedRow<Order>> rows = RowExpander.expand(source, columns());
+
+        RowExpander.ExpandedRow<Order> first = rows.next();
+        Assert.assertEquals("x", first.getListItem());
+        Assert.assertTrue(first.isFirstRow());
+        Assert.assertTrue(first.shouldMerge());
+        // Só o primeiro objeto foi consumido
+        Assert.assertEquals("b", source.next().id);
+
+        source = orders.iterator();
+        rows = RowExpander.expand(source, columns());
+        List<String> seen = new ArrayList<>();
+        while (rows.hasNext()) {
+            RowExpander.ExpandedRow<Order> row = rows.next();
+            seen.add(row.getOriginalItem().id + ":" + row.getListItem() + ":" + row.getListItemIndex() + "/"
+                    + row.getTotalListItems() + (row.isLastRow() ? ":last" : ""));
+        }
+        Assert.assertEquals(List.of("a:x:0/3", "a:y:1/3", "a:z:2/3:last", "b:null:0/1:last", "c:null:0/1:last"), seen);
+    }
+
+    @Test
+    public void reusesSameRowInstance() throws Exception {
+        Iterator<RowExpander.ExpandedRow<Order>> rows = RowExpander.expand(
+                List.of(new Order("a", List.of("x", "y")), new Order("b", List.of("z"))).iterator(), columns());
+
+        RowExpander.ExpandedRow<Order> row = rows.next();
+        Assert.assertSame(row, rows.next());
+        Assert.assertSame(row, rows.next());
+        Assert.assertFalse(rows.hasNext());
+    }
+
+    @Test
+    public void expandRowsReturnsIndependentRows() throws Exception {
+        List<RowExpander.ExpandedRow<Order>> rows = RowExpander.expandRows(
+                List.of(new Order("a", List.of("x", "y"))), columns());
+
+        Assert.assertEquals(2, rows.size());
+        Assert.assertNotSame(rows.get(0), rows.get(1));
+        Assert.assertEquals("x", rows.get(0).getListItem());
+        Assert.assertTrue(rows.get(1).isLastRow());
+    }
+}
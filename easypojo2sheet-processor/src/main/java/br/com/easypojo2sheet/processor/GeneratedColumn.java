@@ -0,0 +1,100 @@
+package br.com.easypojo2sheet.processor;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
+import br.com.easypojo2sheet.model.enums.ListRenderStrategy;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import br.com.easypojo2sheet.model.enums.VerticalAlignment;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * Dados de uma coluna resolvidos em tempo de compilação, com os mesmos defaults do MetadataExtractor.
+ */
+final class GeneratedColumn {
+    final String columnName;
+    final int order;
+    final int width;
+    final String propertyPath;
+    final String dateFormat;
+    final String numberFormat;
+    final HorizontalAlignment align;
+    final VerticalAlignment valign;
+    final ListRenderStrategy listStrategy;
+    final String separator;
+    final StringStorage stringStorage;
+    final String valueType;
+    final boolean method;
+    /** Lambda de leitura direta, ou null quando o membro só pode ser lido via reflection. */
+    final String accessor;
+    /** Expressão que obtém o Field/Method por reflection (usada apenas quando accessor é null). */
+    final String reflectiveMember;
+
+    private GeneratedColumn(String columnName, int order, int width, String propertyPath, String dateFormat,
+                            String numberFormat, HorizontalAlignment align, VerticalAlignment valign,
+                            ListRenderStrategy listStrategy, String separator, StringStorage stringStorage,
+                            String valueType, boolean method, String accessor, String reflectiveMember) {
+        this.columnName = columnName;
+        this.order = order;
+        this.width = width;
+        this.propertyPath = propertyPath;
+        this.dateFormat = dateFormat;
+        this.numberFormat = numberFormat;
+        this.align = align;
+        this.valign = valign;
+        this.listStrategy = listStrategy;
+        this.separator = separator;
+        this.stringStorage = stringStorage;
+        this.valueType = valueType;
+        this.method = method;
+        this.accessor = accessor;
+        this.reflectiveMember = reflectiveMember;
+    }
+
+    static GeneratedColumn forField(VariableElement field, SheetColumn column, String accessor,
+                                    String valueType, String entity) {
+        String name = field.getSimpleName().toString();
+        String reflective = accessor == null
+                ? SpreadsheetProcessor.PROVIDER_INTERFACE + ".declaredField(" + entity + ".class, \"" + name + "\")"
+                : null;
+
+        if (column == null) {
+            // Campos sem @SheetColumn são incluídos com valores padrão
+            return new GeneratedColumn(name, Integer.MAX_VALUE, -1, null, null, null,
+                    HorizontalAlignment.AUTO, VerticalAlignment.CENTER, ListRenderStrategy.AGGREGATE, null,
+                    StringStorage.AUTO, valueType, false, accessor, reflective);
+        }
+
+        return new GeneratedColumn(column.name().isEmpty() ? name : column.name(), column.order(), column.width(),
+                column.property(), column.dateFormat(), column.numberFormat(), column.align(), column.valign(),
+                column.listStrategy(), column.separator(), column.stringStorage(), valueType, false,
+                accessor, reflective);
+    }
+
+    static GeneratedColumn forMethod(ExecutableElement method, SheetColumn column, String accessor,
+                                     String valueType, String entity) {
+        String name = method.getSimpleName().toString();
+        String reflective = accessor == null
+                ? SpreadsheetProcessor.PROVIDER_INTERFACE + ".declaredMethod(" + entity + ".class, \"" + name + "\")"
+                : null;
+
+        return new GeneratedColumn(column.name().isEmpty() ? methodColumnName(name) : column.name(),
+                column.order(), column.width(), column.property(), column.dateFormat(), column.numberFormat(),
+                column.align(), column.valign(), column.listStrategy(), column.separator(), column.stringStorage(),
+                valueType, true, accessor, reflective);
+    }
+
+    /**
+     * Remove prefixo 'get' ou 'is' se for um getter padrão.
+     */
+    private static String methodColumnName(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2) {
+            return Character.toLowerCase(methodName.charAt(2)) + methodName.substring(3);
+        }
+        return methodName;
+    }
+}
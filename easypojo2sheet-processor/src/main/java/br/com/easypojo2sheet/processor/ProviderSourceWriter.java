@@ -0,0 +1,137 @@
+package br.com.easypojo2sheet.processor;
+
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+
+import java.util.List;
+
+/**
+ * Renderiza o código-fonte do SheetMetadataProvider de uma classe.
+ * Todos os tipos são referenciados pelo nome qualificado para evitar conflitos de import.
+ */
+final class ProviderSourceWriter {
+
+    private static final String METADATA_PACKAGE = "br.com.easypojo2sheet.core.metadata.";
+    private static final String ENUMS_PACKAGE = "br.com.easypojo2sheet.model.enums.";
+
+    private final String packageName;
+    private final String providerName;
+    private final String entity;
+    private final String sheetName;
+    private final Spreadsheet sheet;
+    private final List<GeneratedColumn> columns;
+    private final StringBuilder out = new StringBuilder();
+
+    ProviderSourceWriter(String packageName, String providerName, String entity, String sheetName,
+                         Spreadsheet sheet, List<GeneratedColumn> columns) {
+        this.packageName = packageName;
+        this.providerName = providerName;
+        this.entity = entity;
+        this.sheetName = sheetName;
+        this.sheet = sheet;
+        this.columns = columns;
+    }
+
+    String render() {
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        // Somente ASCII: o encoding do Filer depende da configuração do compilador
+        out.append("/**\n")
+                .append(" * SheetMetadataProvider de {@link ").append(entity).append("}.\n")
+                .append(" * Gerado pelo easypojo2sheet-processor a cada build.\n")
+                .append(" */\n")
+                .append("public final class ").append(providerName)
+                .append(" implements ").append(SpreadsheetProcessor.PROVIDER_INTERFACE).append(" {\n\n");
+
+        out.append("    @Override\n")
+                .append("    public Class<?> getEntityClass() {\n")
+                .append("        return ").append(entity).append(".class;\n")
+                .append("    }\n\n");
+
+        out.append("    @Override\n")
+                .append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("    public ").append(METADATA_PACKAGE).append("SheetMetadata createMetadata() {\n")
+                .append("        java.util.List<").append(METADATA_PACKAGE).append("ColumnMetadata> columns = java.util.List.of(");
+
+        for (int i = 0; i < columns.size(); i++) {
+            out.append(i == 0 ? "\n" : ",\n");
+            renderColumn(columns.get(i));
+        }
+
+        out.append(");\n")
+                .append("        return new ").append(METADATA_PACKAGE).append("SheetMetadata(")
+                .append(entity).append(".class, ")
+                .append(literal(sheetName)).append(", ")
+                .append(sheet.autoSizeColumns()).append(", ")
+                .append(sheet.freezeHeader()).append(", ")
+                .append(sheet.startRow()).append(", columns);\n")
+                .append("    }\n")
+                .append("}\n");
+        return out.toString();
+    }
+
+    private void renderColumn(GeneratedColumn column) {
+        String indent = "                ";
+        out.append("                ").append(METADATA_PACKAGE).append("ColumnMetadata.builder()\n");
+        if (column.accessor != null) {
+            out.append(indent).append("        .accessor(").append(column.accessor).append(")\n")
+                    .append(indent).append("        .valueType(").append(column.valueType).append(".class)\n")
+                    .append(indent).append("        .methodColumn(").append(column.method).append(")\n");
+            if (isNumericPrimitive(column.valueType) && (column.propertyPath == null || column.propertyPath.isEmpty())) {
+                // A mesma lambda, com retorno primitivo: a coluna é lida sem boxing
+                out.append(indent).append("        .doubleAccessor(").append(column.accessor).append(")\n");
+            }
+        } else {
+            out.append(indent).append("        .").append(column.method ? "method(" : "field(")
+                    .append(column.reflectiveMember).append(")\n");
+        }
+        out.append(indent).append("        .columnName(").append(literal(column.columnName)).append(")\n")
+                .append(indent).append("        .order(").append(column.order).append(")\n")
+                .append(indent).append("        .width(").append(column.width).append(")\n")
+                .append(indent).append("        .propertyPath(").append(literal(column.propertyPath)).append(")\n")
+                .append(indent).append("        .dateFormat(").append(literal(column.dateFormat)).append(")\n")
+                .append(indent).append("        .numberFormat(").append(literal(column.numberFormat)).append(")\n")
+                .append(indent).append("        .align(").append(ENUMS_PACKAGE).append("HorizontalAlignment.")
+                .append(column.align.name()).append(")\n")
+                .append(indent).append("        .valign(").append(ENUMS_PACKAGE).append("VerticalAlignment.")
+                .append(column.valign.name()).append(")\n")
+                .append(indent).append("        .listStrategy(").append(ENUMS_PACKAGE).append("ListRenderStrategy.")
+                .append(column.listStrategy.name()).append(")\n")
+                .append(indent).append("        .separator(").append(literal(column.separator)).append(")\n")
+                .append(indent).append("        .stringStorage(").append(ENUMS_PACKAGE).append("StringStorage.")
+                .append(column.stringStorage.name()).append(")\n")
+                .append(indent).append("        .build()");
+    }
+
+    private static boolean isNumericPrimitive(String type) {
+        return switch (type) {
+            case "double", "float", "long", "int", "short", "byte" -> true;
+            default -> false;
+        };
+    }
+
+    static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
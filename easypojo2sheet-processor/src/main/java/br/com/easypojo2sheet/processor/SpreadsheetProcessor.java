@@ -0,0 +1,288 @@
+package br.com.easypojo2sheet.processor;
+
+import br.com.easypojo2sheet.annotation.SheetColumn;
+import br.com.easypojo2sheet.annotation.SheetColumns;
+import br.com.easypojo2sheet.annotation.SheetIgnore;
+import br.com.easypojo2sheet.annotation.Spreadsheet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Gera, para cada classe anotada com {@link Spreadsheet}, um
+ * {@code br.com.easypojo2sheet.core.spi.SheetMetadataProvider} com os metadados das colunas e
+ * accessors tipados (lambdas com acesso direto ao campo/método), registrado em META-INF/services.
+ * <p>
+ * As regras de descoberta de colunas são as mesmas do {@code MetadataExtractor}: todos os campos
+ * de instância (exceto {@link SheetIgnore}), {@link SheetColumns} gerando uma coluna por anotação,
+ * e métodos anotados com {@link SheetColumn}; ordenação por order e depois por nome.
+ * <p>
+ * Campos privados são lidos via reflection direto no campo, como no {@code MetadataExtractor}, e
+ * nunca pelo getter: assim o valor exportado é o mesmo com ou sem o processor, mesmo quando o
+ * getter formata ou deriva o valor.
+ */
+@SupportedAnnotationTypes("br.com.easypojo2sheet.annotation.Spreadsheet")
+public class SpreadsheetProcessor extends AbstractProcessor {
+
+    static final String PROVIDER_INTERFACE = "br.com.easypojo2sheet.core.spi.SheetMetadataProvider";
+    static final String GENERATED_SUFFIX = "_SheetMetadata";
+
+    private final Set<String> generatedProviders = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Spreadsheet.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            if (!isAccessibleFromPackage(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Classe privada ou local; metadados serão extraídos por reflection", type);
+                continue;
+            }
+
+            try {
+                generateProvider(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Erro ao gerar metadados: " + e.getMessage(), type);
+            }
+        }
+
+        if (roundEnv.processingOver() && !generatedProviders.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private boolean isAccessibleFromPackage(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            NestingKind nesting = currentType.getNestingKind();
+            if (nesting != NestingKind.TOP_LEVEL && nesting != NestingKind.MEMBER) {
+                return false;
+            }
+            current = currentType.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void generateProvider(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String providerName = providerSimpleName(type);
+        String qualifiedProvider = packageName.isEmpty() ? providerName : packageName + "." + providerName;
+
+        List<GeneratedColumn> columns = collectColumns(type);
+        columns.sort(Comparator
+                .comparingInt((GeneratedColumn c) -> c.order)
+                .thenComparing(c -> c.columnName));
+
+        Spreadsheet sheet = type.getAnnotation(Spreadsheet.class);
+        String sheetName = sheet.name().isEmpty() ? type.getSimpleName().toString() : sheet.name();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedProvider, type);
+        try (Writer out = file.openWriter()) {
+            out.write(new ProviderSourceWriter(packageName, providerName, type.getQualifiedName().toString(),
+                    sheetName, sheet, columns).render());
+        }
+        generatedProviders.add(qualifiedProvider);
+    }
+
+    /**
+     * Nome do provider: nomes simples da classe e das classes externas separados por "_".
+     */
+    static String providerSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(GENERATED_SUFFIX).toString();
+    }
+
+    private List<GeneratedColumn> collectColumns(TypeElement type) {
+        List<GeneratedColumn> columns = new ArrayList<>();
+        String entity = type.getQualifiedName().toString();
+        List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getAnnotation(SheetIgnore.class) != null) {
+                continue;
+            }
+
+            String accessor = fieldAccessor(type, entity, field);
+            String valueType = erasure(field);
+            SheetColumns many = field.getAnnotation(SheetColumns.class);
+            if (many != null) {
+                for (SheetColumn column : many.value()) {
+                    columns.add(GeneratedColumn.forField(field, column, accessor, valueType, entity));
+                }
+            } else {
+                columns.add(GeneratedColumn.forField(field, field.getAnnotation(SheetColumn.class),
+                        accessor, valueType, entity));
+            }
+        }
+
+        for (ExecutableElement method : methods) {
+            SheetColumn column = method.getAnnotation(SheetColumn.class);
+            if (column == null || isRecordAccessor(type, method)) {
+                continue;
+            }
+            if (!method.getParameters().isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Método " + method.getSimpleName() + " não pode ter parâmetros", method);
+                continue;
+            }
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Método " + method.getSimpleName() + " deve retornar um valor", method);
+                continue;
+            }
+
+            String accessor;
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                accessor = null;
+            } else if (method.getModifiers().contains(Modifier.STATIC)) {
+                accessor = "item -> " + entity + "." + method.getSimpleName() + "()";
+            } else {
+                accessor = "item -> ((" + entity + ") item)." + method.getSimpleName() + "()";
+            }
+            String valueType = processingEnv.getTypeUtils().erasure(method.getReturnType()).toString();
+            columns.add(GeneratedColumn.forMethod(method, column, accessor, valueType, entity));
+        }
+        return columns;
+    }
+
+    /**
+     * Expressão lambda de leitura do campo, ou null quando só é possível ler via reflection.
+     */
+    private String fieldAccessor(TypeElement type, String entity, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (type.getKind() == ElementKind.RECORD) {
+            return "item -> ((" + entity + ") item)." + name + "()";
+        }
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return "item -> ((" + entity + ") item)." + name;
+        }
+        return null;
+    }
+
+    private boolean isRecordAccessor(TypeElement type, ExecutableElement method) {
+        if (type.getKind() != ElementKind.RECORD || !method.getParameters().isEmpty()) {
+            return false;
+        }
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            if (component.getSimpleName().contentEquals(method.getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String erasure(VariableElement field) {
+        return processingEnv.getTypeUtils().erasure(field.asType()).toString();
+    }
+
+    /**
+     * Escreve META-INF/services, preservando providers de compilações incrementais anteriores cuja
+     * entidade ainda existe e continua anotada; entradas de classes removidas ou renomeadas saem.
+     */
+    private void writeServiceFile() {
+        String resource = "META-INF/services/" + PROVIDER_INTERFACE;
+        Filer filer = processingEnv.getFiler();
+        Set<String> providers = new TreeSet<>(generatedProviders);
+
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String provider = line.trim();
+                    if (!provider.isEmpty() && !providers.contains(provider) && hasEntity(provider)) {
+                        providers.add(provider);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Arquivo ainda não existe
+        }
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (Writer out = file.openWriter()) {
+                for (String provider : providers) {
+                    out.write(provider);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Erro ao registrar providers em " + resource + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Se ainda existe, no pacote do provider, a classe {@link Spreadsheet} para a qual ele foi gerado.
+     */
+    private boolean hasEntity(String provider) {
+        int lastDot = provider.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : provider.substring(0, lastDot);
+        PackageElement pkg = processingEnv.getElementUtils().getPackageElement(packageName);
+        return pkg != null && hasEntity(pkg.getEnclosedElements(), provider.substring(lastDot + 1));
+    }
+
+    private boolean hasEntity(List<? extends Element> elements, String providerName) {
+        for (TypeElement type : ElementFilter.typesIn(elements)) {
+            if (type.getAnnotation(Spreadsheet.class) != null
+                    && isAccessibleFromPackage(type)
+                    && providerSimpleName(type).equals(providerName)) {
+                return true;
+            }
+            if (hasEntity(type.getEnclosedElements(), providerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.easypojo2sheet.processor;
+
+import br.com.easypojo2sheet.core.metadata.ColumnMetadata;
+import br.com.easypojo2sheet.core.metadata.SheetMetadata;
+import br.com.easypojo2sheet.core.processor.MetadataExtractor;
+import br.com.easypojo2sheet.core.spi.SheetMetadataProvider;
+import br.com.easypojo2sheet.model.enums.HorizontalAlignment;
+import br.com.easypojo2sheet.model.enums.StringStorage;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class SpreadsheetProcessorTest {
+
+    private static final String VENDA = String.join("\n",
+            "package exemplo;",
+            "import br.com.easypojo2sheet.annotation.*;",
+            "import br.com.easypojo2sheet.model.enums.HorizontalAlignment;",
+            "import br.com.easypojo2sheet.model.enums.StringStorage;",
+            "import java.util.List;",
+            "@Spreadsheet(name = \"Vendas\", freezeHeader = true)",
+            "public class Venda {",
+            "    public static final long serialVersionUID = 1L;",
+            "    @SheetColumn(name = \"ID\", order = 1) Long id;",
+            "    @SheetColumn(name = \"Cliente \\\"VIP\\\"\", order = 2, align = HorizontalAlignment.RIGHT,",
+            "                 stringStorage = StringStorage.SHARED)",
+            "    private String cliente;",
+            "    @SheetColumn(order = 4) private double total;",
+            "    @SheetIgnore private String interno;",
+            "    @SheetColumn(name = \"Primeiro\", order = 5, property = \"itens.first\")",
+            "    @SheetColumn(name = \"Qtd\", order = 6, property = \"itens.size\")",
+            "    List<String> itens;",
+            "    public Venda(Long id, String cliente, double total, List<String> itens) {",
+            "        this.id = id; this.cliente = cliente; this.total = total; this.itens = itens;",
+            "    }",
+            "    public String getCliente() { return \"Sr(a). \" + cliente; }",
+            "    @SheetColumn(name = \"Dobro\", order = 3) public double getDobro() { return total * 2; }",
+            "}");
+
+    private static final String PONTO = String.join("\n",
+            "package exemplo;",
+            "import br.com.easypojo2sheet.annotation.*;",
+            "@Spreadsheet",
+            "public record Ponto(@SheetColumn(name = \"X\", order = 1) int x, @SheetColumn(name = \"Y\", order = 2) int y) {",
+            "}");
+
+    private Path workDir;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("easypojo2sheet-processor");
+    }
+
+    @Test
+    public void generatesProviderEquivalentToReflection() throws Exception {
+        try (URLClassLoader loader = compile()) {
+            Class<?> venda = loader.loadClass("exemplo.Venda");
+            SheetMetadataProvider provider = (SheetMetadataProvider) loader
+                    .loadClass("exemplo.Venda_SheetMetadata").getDeclaredConstructor().newInstance();
+
+            Assert.assertSame(venda, provider.getEntityClass());
+
+            SheetMetadata generated = provider.createMetadata();
+            SheetMetadata reflected = MetadataExtractor.extractMetadataByReflection(venda);
+
+            Assert.assertEquals("Vendas", generated.getSheetName());
+            Assert.assertTrue(generated.isFreezeHeader());
+            Assert.assertEquals(reflected.getColumns().size(), generated.getColumns().size());
+
+            Object instance = venda.getConstructor(Long.class, String.class, double.class, List.class)
+                    .newInstance(7L, "Ana", 10.0, List.of("a", "b"));
+
+            for (int i = 0; i < generated.getColumns().size(); i++) {
+                ColumnMetadata expected = reflected.getColumns().get(i);
+                ColumnMetadata actual = generated.getColumns().get(i);
+
+                Assert.assertEquals(expected.getColumnName(), actual.getColumnName());
+                Assert.assertEquals(expected.getOrder(), actual.getOrder());
+                Assert.assertEquals(expected.getHorizontalAlignment(), actual.getHorizontalAlignment());
+                Assert.assertEquals(expected.getPropertyPath(), actual.getPropertyPath());
+                Assert.assertEquals(expected.getSeparator(), actual.getSeparator());
+                Assert.assertEquals(expected.getStringStorage(), actual.getStringStorage());
+                Assert.assertEquals(expected.isMethod(), actual.isMethod());
+                Assert.assertEquals(expected.getValueType(), actual.getValueType());
+                Assert.assertEquals(expected.hasDoubleAccessor(), actual.hasDoubleAccessor());
+                Assert.assertEquals(expected.extractValue(instance), actual.extractValue(instance));
+            }
+
+            // Campo privado é lido no campo, como na reflection, mesmo com um getter que deriva o valor
+            ColumnMetadata cliente = generated.getColumns().get(1);
+            Assert.assertEquals("Cliente \"VIP\"", cliente.getColumnName());
+            Assert.assertEquals(HorizontalAlignment.RIGHT, cliente.getHorizontalAlignment());
+            Assert.assertEquals(StringStorage.SHARED, cliente.getStringStorage());
+            Assert.assertNotNull(cliente.getField());
+            Assert.assertEquals("Ana", cliente.extractValue(instance));
+            Assert.assertNotNull(generated.getColumns().get(3).getField());
+
+            // Campo não privado e método anotado usam acesso direto, sem Field/Method
+            Assert.assertNull(generated.getColumns().get(0).getField());
+            Assert.assertTrue(generated.getColumns().get(2).isMethod());
+
+            // Provider registrado e encontrado via ServiceLoader
+            Assert.assertNotNull(loader.getResource(
+                    "META-INF/services/" + SpreadsheetProcessor.PROVIDER_INTERFACE));
+            Assert.assertNull(MetadataExtractor.extractMetadata(venda).getColumns().get(0).getField());
+        }
+    }
+
+    @Test
+    public void generatesProviderForRecords() throws Exception {
+        try (URLClassLoader loader = compile()) {
+            Class<?> ponto = loader.loadClass("exemplo.Ponto");
+            SheetMetadata metadata = MetadataExtractor.extractMetadata(ponto);
+
+            Assert.assertEquals(2, metadata.getColumns().size());
+            Object instance = ponto.getConstructor(int.class, int.class).newInstance(3, 4);
+            Assert.assertEquals(3, metadata.getColumns().get(0).extractValue(instance));
+            Assert.assertEquals(4, metadata.getColumns().get(1).extractValue(instance));
+            Assert.assertEquals(int.class, metadata.getColumns().get(0).getValueType());
+            Assert.assertEquals(4, metadata.getColumns().get(1).extractDouble(instance), 0.0);
+        }
+    }
+
+    @Test
+    public void dropsStaleServiceEntriesAndSkipsBrokenOnes() throws Exception {
+        // Entrada de uma compilação anterior, para uma classe que foi removida
+        Path services = workDir.resolve("classes/META-INF/services/" + SpreadsheetProcessor.PROVIDER_INTERFACE);
+        Files.createDirectories(services.getParent());
+        Files.writeString(services, "exemplo.Removida_SheetMetadata\n", StandardCharsets.UTF_8);
+
+        try (URLClassLoader loader = compile()) {
+            Assert.assertEquals(List.of("exemplo.Ponto_SheetMetadata", "exemplo.Venda_SheetMetadata"),
+                    Files.readAllLines(services, StandardCharsets.UTF_8));
+
+            // Uma entrada quebrada antes das válidas não impede que elas sejam usadas
+            Files.writeString(services, "exemplo.Removida_SheetMetadata\nexemplo.Venda_SheetMetadata\n",
+                    StandardCharsets.UTF_8);
+            Class<?> venda = loader.loadClass("exemplo.Venda");
+            Assert.assertNull(MetadataExtractor.extractMetadata(venda).getColumns().get(0).getField());
+        }
+    }
+
+    private URLClassLoader compile() throws Exception {
+        Path src = workDir.resolve("src/exemplo");
+        Path out = workDir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+        Path venda = Files.writeString(src.resolve("Venda.java"), VENDA, StandardCharsets.UTF_8);
+        Path ponto = Files.writeString(src.resolve("Ponto.java"), PONTO, StandardCharsets.UTF_8);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", out.toString(), "-s", out.toString(),
+                            "-classpath", System.getProperty("java.class.path")),
+                    null,
+                    fileManager.getJavaFileObjects(venda.toFile(), ponto.toFile()));
+            task.setProcessors(List.of(new SpreadsheetProcessor()));
+
+            Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+
+        Assert.assertTrue(new File(out.toFile(), "exemplo/Venda_SheetMetadata.java").exists());
+        return new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+    }
+}